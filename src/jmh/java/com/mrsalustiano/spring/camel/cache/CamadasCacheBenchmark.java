@@ -0,0 +1,101 @@
+package com.mrsalustiano.spring.camel.cache;
+
+import com.mrsalustiano.spring.camel.client.ViaCepSimulado;
+import com.mrsalustiano.spring.camel.config.CepCacheProperties;
+import com.mrsalustiano.spring.camel.config.EnderecoStoreProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.RespostaJson;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import com.mrsalustiano.spring.camel.store.EnderecoStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camadas consultadas antes do ViaCEP: {@link CepCache} (acerto e falta), {@link EnderecoStore}
+ * (decodificação do registro compacto), a {@link RespostaJson} guardada no cache e o {@link SingleFlight}
+ * que agrupa consultas iguais.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CamadasCacheBenchmark {
+
+    @Param({"10000"})
+    private int entradas;
+
+    private CepCache cepCache;
+    private EnderecoStore enderecoStore;
+    private SingleFlight<Integer, Endereco> singleFlight;
+    private int[] ceps;
+    private String[] cepsTexto;
+    private int proximo;
+
+    @Setup
+    public void setUp() {
+        cepCache = new CepCache(new CepCacheProperties());
+        enderecoStore = new EnderecoStore(new EnderecoStoreProperties());
+        singleFlight = new SingleFlight<>();
+        ceps = new int[entradas];
+        cepsTexto = new String[entradas];
+        for (int i = 0; i < entradas; i++) {
+            cepsTexto[i] = String.format("%08d", 1001000 + i * 7);
+            ceps[i] = CepNumerico.codificar(cepsTexto[i]);
+            Endereco endereco = ViaCepSimulado.endereco(cepsTexto[i]);
+            cepCache.guardar(ceps[i], endereco);
+            enderecoStore.guardar(ceps[i], endereco);
+        }
+    }
+
+    @Benchmark
+    public int codificarCep() {
+        return CepNumerico.codificar(cepsTexto[indice()]);
+    }
+
+    @Benchmark
+    public Endereco cacheAcerto() {
+        return cepCache.buscar(ceps[indice()]);
+    }
+
+    @Benchmark
+    public Endereco cacheFalta() {
+        return cepCache.buscar(ceps[indice()] + 1);
+    }
+
+    // Acerto com o corpo HTTP já serializado (compare com EnderecoJsonBenchmark.escreverEndereco)
+    @Benchmark
+    public RespostaJson respostaJsonAcerto() {
+        return cepCache.resposta(cepCache.buscar(ceps[indice()]));
+    }
+
+    @Benchmark
+    public Endereco storeAcerto() {
+        return enderecoStore.buscar(ceps[indice()]);
+    }
+
+    @Benchmark
+    public CompletableFuture<Endereco> singleFlightSemConcorrencia() {
+        int cep = ceps[indice()];
+        return singleFlight.executarAsync(cep, () -> CompletableFuture.completedFuture(null));
+    }
+
+    private int indice() {
+        int indice = proximo;
+        proximo = indice + 1 == ceps.length ? 0 : indice + 1;
+        return indice;
+    }
+}
@@ -0,0 +1,35 @@
+package com.mrsalustiano.spring.camel.client;
+
+import com.mrsalustiano.spring.camel.model.Endereco;
+import feign.Request;
+
+import java.util.List;
+
+// ViaCEP em memória para os benchmarks: responde na hora, sem rede
+public class ViaCepSimulado implements ViaCepClient {
+
+    @Override
+    public Endereco consultarCep(String cep, Request.Options opcoes) {
+        return endereco(cep);
+    }
+
+    @Override
+    public List<Endereco> consultarPorEndereco(String uf, String cidade, String logradouro, Request.Options opcoes) {
+        return List.of(endereco("01001000"));
+    }
+
+    public static Endereco endereco(String cep) {
+        Endereco endereco = new Endereco();
+        endereco.setCep(cep.substring(0, 5) + "-" + cep.substring(5));
+        endereco.setLogradouro("Praça da Sé");
+        endereco.setComplemento("lado ímpar");
+        endereco.setBairro("Sé");
+        endereco.setLocalidade("São Paulo");
+        endereco.setUf("SP");
+        endereco.setIbge("3550308");
+        endereco.setGia("1004");
+        endereco.setDdd("11");
+        endereco.setSiafi("7107");
+        return endereco;
+    }
+}
@@ -0,0 +1,105 @@
+package com.mrsalustiano.spring.camel.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mrsalustiano.spring.camel.client.ViaCepSimulado;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * (De)serialização Jackson de {@link Endereco} e {@code List<Endereco>}: leitura da resposta do ViaCEP
+ * (com campos que não mapeamos) e escrita da resposta da API.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnderecoJsonBenchmark {
+
+    private static final String RESPOSTA_VIACEP = """
+            {
+              "cep": "01001-000",
+              "logradouro": "Praça da Sé",
+              "complemento": "lado ímpar",
+              "unidade": "",
+              "bairro": "Sé",
+              "localidade": "São Paulo",
+              "uf": "SP",
+              "estado": "São Paulo",
+              "regiao": "Sudeste",
+              "ibge": "3550308",
+              "gia": "1004",
+              "ddd": "11",
+              "siafi": "7107"
+            }""";
+
+    // Tamanho típico de uma busca por endereço no ViaCEP (limitada a 50 resultados)
+    @Param({"50"})
+    private int tamanhoLista;
+
+    private ObjectWriter escritor;
+    private ObjectReader leitorEndereco;
+    private ObjectReader leitorLista;
+    private Endereco endereco;
+    private List<Endereco> enderecos;
+    private byte[] json;
+    private byte[] jsonLista;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        escritor = objectMapper.writer();
+        leitorEndereco = objectMapper.readerFor(Endereco.class);
+        leitorLista = objectMapper.readerFor(new TypeReference<List<Endereco>>() {
+        });
+
+        endereco = ViaCepSimulado.endereco("01001000");
+        enderecos = new ArrayList<>();
+        for (int i = 0; i < tamanhoLista; i++) {
+            enderecos.add(ViaCepSimulado.endereco(String.format("%08d", 1001000 + i)));
+        }
+        json = RESPOSTA_VIACEP.getBytes(StandardCharsets.UTF_8);
+        jsonLista = escritor.writeValueAsBytes(enderecos);
+    }
+
+    @Benchmark
+    public Endereco lerEndereco() throws IOException {
+        return leitorEndereco.readValue(json);
+    }
+
+    @Benchmark
+    public byte[] escreverEndereco() throws IOException {
+        return escritor.writeValueAsBytes(endereco);
+    }
+
+    @Benchmark
+    public List<Endereco> lerLista() throws IOException {
+        return leitorLista.readValue(jsonLista);
+    }
+
+    @Benchmark
+    public byte[] escreverLista() throws IOException {
+        return escritor.writeValueAsBytes(enderecos);
+    }
+}
@@ -0,0 +1,93 @@
+package com.mrsalustiano.spring.camel.route;
+
+import com.mrsalustiano.spring.camel.Application;
+import com.mrsalustiano.spring.camel.client.ViaCepClient;
+import com.mrsalustiano.spring.camel.client.ViaCepSimulado;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exchange completa em {@code direct:consultarCep} com a aplicação inteira no ar e o ViaCEP simulado:
+ * rota, prazo, processamento assíncrono, {@code CepService} e {@code ViaCepGateway}. {@code responderCep} inclui
+ * a escrita do corpo JSON usada pelo endpoint REST.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CepRouteBenchmark {
+
+    // "cache": responde do cache; "viacep": cache, armazenamento e cache em disco desligados, toda exchange vai ao ViaCEP simulado
+    @Param({"cache", "viacep"})
+    private String camada;
+
+    private ConfigurableApplicationContext contexto;
+    private ProducerTemplate producerTemplate;
+
+    @Setup
+    public void setUp() {
+        boolean cache = camada.equals("cache");
+        contexto = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                // Troca o proxy do Feign pelo ViaCEP em memória
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String nome) {
+                        return bean instanceof ViaCepClient ? new ViaCepSimulado() : bean;
+                    }
+                }))
+                .properties(
+                        "viacep.cache.habilitado=" + cache,
+                        "viacep.store.habilitado=" + cache,
+                        "viacep.arquivo.habilitado=false",
+                        "viacep.limite.habilitado=false",
+                        "camel.springboot.jmx-enabled=false",
+                        // logback-spring.xml liga DEBUG nestes pacotes
+                        "logging.level.root=WARN",
+                        "logging.level.com.mrsalustiano=WARN",
+                        "logging.level.org.apache.camel=WARN",
+                        "logging.level.org.springframework=WARN",
+                        "logging.level.feign=WARN")
+                .run();
+        producerTemplate = contexto.getBean(ProducerTemplate.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Object consultarCep() {
+        Exchange exchange = producerTemplate.request("direct:consultarCep",
+                troca -> troca.getIn().setHeader("cep", "01001-000"));
+        return exchange.getMessage().getBody();
+    }
+
+    @Benchmark
+    public Object responderCep() {
+        Exchange exchange = producerTemplate.request("direct:responderCep",
+                troca -> troca.getIn().setHeader("cep", "01001-000"));
+        return exchange.getMessage().getBody();
+    }
+}
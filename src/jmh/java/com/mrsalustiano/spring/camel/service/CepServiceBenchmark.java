@@ -0,0 +1,135 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.mrsalustiano.spring.camel.busca.IndiceEnderecos;
+import com.mrsalustiano.spring.camel.cache.CepCache;
+import com.mrsalustiano.spring.camel.cache.FiltroCeps;
+import com.mrsalustiano.spring.camel.client.ViaCepGateway;
+import com.mrsalustiano.spring.camel.client.ViaCepSimulado;
+import com.mrsalustiano.spring.camel.config.CepCacheProperties;
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties;
+import com.mrsalustiano.spring.camel.config.EnderecoArquivoProperties;
+import com.mrsalustiano.spring.camel.config.EnderecoStoreProperties;
+import com.mrsalustiano.spring.camel.config.FiltroCepsProperties;
+import com.mrsalustiano.spring.camel.config.IndiceEnderecosProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepAsyncProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepLimiteProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepPrazoProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepResilienciaProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepRetentativaProperties;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import com.mrsalustiano.spring.camel.store.EnderecoArquivo;
+import com.mrsalustiano.spring.camel.store.EnderecoStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminho quente do {@link CepService}: normalização/validação e consulta por camada
+ * (cache, armazenamento compacto, cache em disco e ViaCEP simulado, passando pelo {@link ViaCepGateway}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CepServiceBenchmark {
+
+    @Param({"01001000", "01001-000"})
+    private String cep;
+
+    // Referência: normalização antiga, com expressão regular e String intermediária
+    @Benchmark
+    public String normalizarComRegex() {
+        String cepLimpo = cep.replaceAll("\\D", "");
+        if (cepLimpo.length() != 8) {
+            throw new IllegalArgumentException("CEP deve conter exatamente 8 dígitos");
+        }
+        return cepLimpo;
+    }
+
+    @Benchmark
+    public int normalizarEValidar() {
+        return CepService.normalizarEValidar(cep);
+    }
+
+    @Benchmark
+    public int interpretar() {
+        return CepNumerico.interpretar(cep);
+    }
+
+    @Benchmark
+    public String rejeitarInvalido() {
+        try {
+            return String.valueOf(CepService.normalizarEValidar("0100-100"));
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Endereco buscarEnderecoPorCep(Camadas camadas) {
+        return camadas.cepService.buscarEnderecoPorCep(cep);
+    }
+
+    // Camada que responde a consulta: as anteriores ficam desligadas
+    @State(Scope.Benchmark)
+    public static class Camadas {
+
+        @Param({"cache", "store", "arquivo", "viacep"})
+        private String camada;
+
+        private CepService cepService;
+        private EnderecoArquivo enderecoArquivo;
+        private Path diretorio;
+
+        @Setup
+        public void setUp() throws IOException {
+            CepCacheProperties cache = new CepCacheProperties();
+            cache.setHabilitado(camada.equals("cache"));
+            EnderecoStoreProperties store = new EnderecoStoreProperties();
+            store.setHabilitado(camada.equals("cache") || camada.equals("store"));
+            diretorio = Files.createTempDirectory("cep-benchmark");
+            EnderecoArquivoProperties arquivo = new EnderecoArquivoProperties();
+            arquivo.setHabilitado(camada.equals("arquivo"));
+            arquivo.setCaminho(diretorio.resolve("enderecos.log").toString());
+            enderecoArquivo = new EnderecoArquivo(arquivo);
+            // Sem limitador de taxa: o ViaCEP simulado responde na hora e o benchmark mediria só a espera
+            ViaCepLimiteProperties limite = new ViaCepLimiteProperties();
+            limite.setHabilitado(false);
+            ViaCepGateway gateway = new ViaCepGateway(new ViaCepSimulado(), null, new ViaCepAsyncProperties(),
+                    new ViaCepPrazoProperties(), new ViaCepResilienciaProperties(), limite,
+                    new ViaCepRetentativaProperties(), new SimpleMeterRegistry());
+            cepService = new CepService(gateway, new CepCache(cache), new EnderecoStore(store),
+                    enderecoArquivo, new CepDataset(new CepDatasetProperties()),
+                    new IndiceEnderecos(new IndiceEnderecosProperties(), new CepDataset(new CepDatasetProperties())),
+                    new FiltroCeps(new FiltroCepsProperties(), new CepDataset(new CepDatasetProperties())),
+                    Runnable::run);
+            cepService.buscarEnderecoPorCep("01001000");
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            enderecoArquivo.close();
+            Files.deleteIfExists(diretorio.resolve("enderecos.log"));
+            Files.deleteIfExists(diretorio);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.mrsalustiano.spring.camel.benchmark;
+
+import com.mrsalustiano.spring.camel.Application;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compara a concorrência máxima sustentada do Tomcat em platform threads e em virtual threads.
+ * Sobe um ViaCEP falso com latência fixa e, para cada modo, dispara rodadas com cada vez mais requisições
+ * simultâneas. A rodada é sustentada quando todas respondem 200 em até 1,5x a latência do ViaCEP.
+ * Cliente, ViaCEP falso e aplicação dividem a mesma JVM: rode em máquina com vários núcleos, senão o
+ * próprio gerador de carga vira o gargalo.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.mrsalustiano.spring.camel.benchmark.ConcorrenciaBenchmark
+ * </pre>
+ */
+public class ConcorrenciaBenchmark {
+
+    private static final Duration LATENCIA_VIACEP = Duration.ofSeconds(2);
+    private static final int[] RODADAS = {50, 100, 200, 400, 800, 1600, 3200};
+
+    // CEPs diferentes a cada requisição para nenhuma ser respondida por cache ou single-flight
+    private static final AtomicInteger PROXIMO_CEP = new AtomicInteger(10_000_000);
+
+    public static void main(String[] args) throws Exception {
+        HttpServer viaCep = iniciarViaCepFalso();
+        try {
+            int platform = medir(false, viaCep.getAddress().getPort());
+            int virtual = medir(true, viaCep.getAddress().getPort());
+            System.out.printf("%nConcorrência máxima sustentada: platform threads = %d, virtual threads = %d%n",
+                    platform, virtual);
+        } finally {
+            viaCep.stop(0);
+        }
+    }
+
+    private static int medir(boolean virtual, int portaViaCep) throws Exception {
+        System.out.printf("%n== %s threads ==%n", virtual ? "virtual" : "platform");
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(Application.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--viacep.api.url=http://localhost:" + portaViaCep + "/ws",
+                "--viacep.cache.habilitado=false",
+                "--viacep.store.habilitado=false",
+                "--viacep.dataset.modo=remote",
+                // Sem cache em disco: toda requisição vai ao ViaCEP falso
+                "--viacep.arquivo.habilitado=false",
+                // Sem aquecimento: só as rodadas geram tráfego
+                "--viacep.aquecimento.habilitado=false",
+                // Limitador e bulkhead recusariam as rodadas maiores: aqui o que se mede são as threads do Tomcat
+                "--viacep.limite.habilitado=false",
+                "--viacep.resiliencia.max-concorrentes=100000",
+                "--camel.springboot.main-run-controller=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.mrsalustiano.spring.camel=WARN",
+                "--logging.level.org.apache.camel=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.feign=WARN");
+        try {
+            int porta = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            for (int i = 0; i < 3; i++) {
+                rodada(porta, 50);  // aquecimento (JIT, conexões)
+            }
+            System.out.println("--");
+            int sustentada = 0;
+            for (int simultaneas : RODADAS) {
+                if (!rodada(porta, simultaneas)) {
+                    break;
+                }
+                sustentada = simultaneas;
+            }
+            return sustentada;
+        } finally {
+            app.close();
+        }
+    }
+
+    private static boolean rodada(int porta, int simultaneas) throws Exception {
+        long limite = LATENCIA_VIACEP.toNanos() * 3 / 2;
+        List<Future<Long>> respostas = new ArrayList<>(simultaneas);
+        // Cliente bloqueante simples em virtual threads: barato o suficiente para não competir pela CPU com a aplicação
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < simultaneas; i++) {
+                URL url = URI.create("http://localhost:" + porta + "/api/cep/" + PROXIMO_CEP.incrementAndGet()).toURL();
+                respostas.add(clientes.submit(() -> consultar(url)));
+            }
+        }
+
+        long[] tempos = new long[simultaneas];
+        for (int i = 0; i < simultaneas; i++) {
+            tempos[i] = respostas.get(i).get();
+        }
+        Arrays.sort(tempos);
+        long dentroDoLimite = Arrays.stream(tempos).filter(t -> t <= limite).count();
+        System.out.printf("%5d simultâneas: %5d ok em até %d ms | p50 %s | p99 %s | máx %s%n",
+                simultaneas, dentroDoLimite, limite / 1_000_000,
+                ms(tempos[tempos.length / 2]), ms(tempos[(int) (tempos.length * 0.99)]), ms(tempos[tempos.length - 1]));
+        return dentroDoLimite == simultaneas;
+    }
+
+    private static long consultar(URL url) {
+        long inicio = System.nanoTime();
+        try {
+            HttpURLConnection conexao = (HttpURLConnection) url.openConnection();
+            conexao.setReadTimeout(60_000);
+            try (InputStream corpo = conexao.getInputStream()) {
+                corpo.readAllBytes();
+            }
+            return conexao.getResponseCode() == 200 ? System.nanoTime() - inicio : Long.MAX_VALUE;
+        } catch (Exception e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static String ms(long nanos) {
+        return nanos == Long.MAX_VALUE ? "erro" : nanos / 1_000_000 + " ms";
+    }
+
+    private static HttpServer iniciarViaCepFalso() throws Exception {
+        HttpServer servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 8192);
+        // Platform threads para o ViaCEP falso não disputar as carrier threads com a aplicação medida
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.createContext("/ws/", troca -> {
+            try {
+                Thread.sleep(LATENCIA_VIACEP);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String cep = troca.getRequestURI().getPath().split("/")[2];
+            byte[] corpo = ("{\"cep\":\"" + cep + "\",\"logradouro\":\"Rua Teste\",\"localidade\":\"São Paulo\","
+                    + "\"uf\":\"SP\"}").getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        });
+        servidor.start();
+        return servidor;
+    }
+}
@@ -0,0 +1,146 @@
+package com.mrsalustiano.spring.camel.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarFile;
+
+/**
+ * Mede o tempo de inicialização de cada modo de execução: do início do processo até o primeiro 200 em
+ * {@code /api/health}. Só entram os modos cujos artefatos existem em {@code target/}:
+ * <ul>
+ *   <li>{@code jar} — {@code mvn package};</li>
+ *   <li>{@code aot} — o mesmo jar gerado com {@code mvn -Paot package}, rodando com {@code spring.aot.enabled};</li>
+ *   <li>{@code cds} — {@code mvn -Pcds package} (ou {@code -Paot,cds -Dcds.aot=true} para os dois juntos);</li>
+ *   <li>{@code native} — {@code mvn -Pnative package}, com GraalVM.</li>
+ * </ul>
+ * Cada modo roda {@code repeticoes} vezes (padrão 5) e o resultado mostra mediana, mínimo e máximo.
+ * O log de cada execução fica em {@code target/inicializacao-<modo>.log}.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.mrsalustiano.spring.camel.benchmark.InicializacaoBenchmark -Dexec.args=5
+ * </pre>
+ */
+public class InicializacaoBenchmark {
+
+    private static final Path TARGET = Path.of("target");
+    private static final String ARTEFATO = "spring.camel-0.0.1-SNAPSHOT";
+    private static final String INICIALIZADOR_AOT =
+            "com/mrsalustiano/spring/camel/Application__ApplicationContextInitializer.class";
+    private static final Duration LIMITE = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        int repeticoes = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        Map<String, List<String>> modos = new LinkedHashMap<>();
+        Path jar = TARGET.resolve(ARTEFATO + ".jar");
+        if (Files.exists(jar)) {
+            modos.put("jar", List.of(java, "-jar", jar.toString()));
+            if (contem(jar, "BOOT-INF/classes/" + INICIALIZADOR_AOT)) {
+                modos.put("aot", List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString()));
+            }
+        }
+        Path cds = TARGET.resolve("cds");
+        Path jarCds = cds.resolve(ARTEFATO + "-cds.jar");
+        if (Files.exists(cds.resolve("application.jsa")) && Files.exists(jarCds)) {
+            boolean aot = contem(jarCds, INICIALIZADOR_AOT);
+            modos.put(aot ? "cds+aot" : "cds", List.of(java,
+                    "-XX:SharedArchiveFile=" + cds.resolve("application.jsa"),
+                    "-Dspring.aot.enabled=" + aot, "-jar", jarCds.toString()));
+        }
+        Path nativo = TARGET.resolve("spring.camel");
+        if (Files.isExecutable(nativo)) {
+            modos.put("native", List.of(nativo.toString()));
+        }
+        if (modos.isEmpty()) {
+            System.out.println("Nenhum artefato em target/: rode mvn package (e -Paot, -Pcds ou -Pnative)");
+            return;
+        }
+
+        Map<String, long[]> resultados = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> modo : modos.entrySet()) {
+            long[] tempos = new long[repeticoes];
+            for (int i = 0; i < repeticoes; i++) {
+                tempos[i] = medir(modo.getKey(), modo.getValue());
+                System.out.printf("%-8s #%d: %s%n", modo.getKey(), i + 1, ms(tempos[i]));
+            }
+            Arrays.sort(tempos);
+            resultados.put(modo.getKey(), tempos);
+        }
+
+        System.out.printf("%nTempo até o primeiro /api/health 200 (%d execuções)%n", repeticoes);
+        System.out.printf("%-8s %10s %10s %10s%n", "modo", "mediana", "mínimo", "máximo");
+        resultados.forEach((modo, tempos) -> System.out.printf("%-8s %10s %10s %10s%n", modo,
+                ms(tempos[tempos.length / 2]), ms(tempos[0]), ms(tempos[tempos.length - 1])));
+    }
+
+    private static long medir(String modo, List<String> comando) throws Exception {
+        int porta = portaLivre();
+        List<String> completo = new ArrayList<>(comando);
+        completo.addAll(List.of(
+                "--server.port=" + porta,
+                // Sem estado em disco: cada execução começa igual
+                "--viacep.arquivo.habilitado=false",
+                "--viacep.aquecimento.habilitado=false"));
+        File log = TARGET.resolve("inicializacao-" + modo + ".log").toFile();
+
+        long inicio = System.nanoTime();
+        Process processo = new ProcessBuilder(completo).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            URL health = URI.create("http://localhost:" + porta + "/api/health").toURL();
+            while (System.nanoTime() - inicio < LIMITE.toNanos()) {
+                if (!processo.isAlive()) {
+                    throw new IllegalStateException(modo + " terminou antes de responder; veja " + log);
+                }
+                if (saudavel(health)) {
+                    return System.nanoTime() - inicio;
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException(modo + " não respondeu em " + LIMITE + "; veja " + log);
+        } finally {
+            processo.destroy();
+            processo.waitFor();
+        }
+    }
+
+    private static boolean saudavel(URL health) {
+        try {
+            HttpURLConnection conexao = (HttpURLConnection) health.openConnection();
+            conexao.setConnectTimeout(200);
+            conexao.setReadTimeout(1000);
+            return conexao.getResponseCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean contem(Path jar, String entrada) throws IOException {
+        try (JarFile arquivo = new JarFile(jar.toFile())) {
+            return arquivo.getEntry(entrada) != null;
+        }
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String ms(long nanos) {
+        return nanos / 1_000_000 + " ms";
+    }
+}
@@ -0,0 +1,59 @@
+package com.mrsalustiano.spring.camel.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Argumentos de linha de comando no formato {@code chave=valor}. Os que começam com {@code --} não são lidos aqui:
+ * seguem como estão para a aplicação medida ({@code --viacep.limite.habilitado=false}, por exemplo).
+ */
+final class Argumentos {
+
+    private final Map<String, String> valores = new HashMap<>();
+    private final List<String> aplicacao = new ArrayList<>();
+
+    Argumentos(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                aplicacao.add(arg);
+                continue;
+            }
+            int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Argumento inválido: " + arg + " (use chave=valor)");
+            }
+            valores.put(arg.substring(0, igual).trim(), arg.substring(igual + 1).trim());
+        }
+    }
+
+    String texto(String chave, String padrao) {
+        return valores.getOrDefault(chave, padrao);
+    }
+
+    int inteiro(String chave, int padrao) {
+        String valor = valores.get(chave);
+        return valor == null ? padrao : Integer.parseInt(valor);
+    }
+
+    double decimal(String chave, double padrao) {
+        String valor = valores.get(chave);
+        return valor == null ? padrao : Double.parseDouble(valor);
+    }
+
+    Duration duracao(String chave, String padrao) {
+        return DurationStyle.detectAndParse(valores.getOrDefault(chave, padrao));
+    }
+
+    List<String> lista(String chave, String padrao) {
+        return List.of(valores.getOrDefault(chave, padrao).split("\\s*,\\s*"));
+    }
+
+    List<String> aplicacao() {
+        return aplicacao;
+    }
+}
@@ -0,0 +1,153 @@
+package com.mrsalustiano.spring.camel.carga;
+
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Gerador de carga HTTP com as latências em um HdrHistogram (microssegundos, 3 dígitos significativos).
+ * <ul>
+ *   <li>{@code fechada:<clientes>} — cada cliente manda a próxima requisição assim que recebe a anterior: mede a
+ *   vazão que a aplicação sustenta com aquela concorrência;</li>
+ *   <li>{@code aberta:<req/s>} — as requisições saem em ritmo fixo, respondam ou não. A latência conta do instante em
+ *   que a requisição deveria ter saído, para um atraso do próprio gerador (coordinated omission) não esconder a
+ *   fila; acima de {@code MAX_EM_VOO} requisições pendentes as seguintes são contadas como não enviadas.</li>
+ * </ul>
+ * Só entram no resultado as requisições que começam depois do aquecimento.
+ */
+final class GeradorCarga {
+
+    private static final int MAX_EM_VOO = 20_000;
+
+    private final HttpClient cliente;
+    private final Duration timeout;
+
+    GeradorCarga(Duration timeout) {
+        this.timeout = timeout;
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    record Carga(boolean aberta, int valor) {
+
+        static Carga interpretar(String especificacao) {
+            String[] partes = especificacao.split(":");
+            if (partes.length != 2 || !(partes[0].equals("aberta") || partes[0].equals("fechada"))) {
+                throw new IllegalArgumentException("Carga inválida: " + especificacao
+                        + " (use fechada:<clientes> ou aberta:<req/s>)");
+            }
+            return new Carga(partes[0].equals("aberta"), Integer.parseInt(partes[1]));
+        }
+
+        @Override
+        public String toString() {
+            return aberta ? valor + " req/s" : valor + " clientes";
+        }
+    }
+
+    ResultadoCarga executar(String cenario, Carga carga, Supplier<URI> requisicoes, Duration aquecimento,
+                            Duration duracao) {
+        Medicao medicao = new Medicao(System.nanoTime() + aquecimento.toNanos(), duracao.toNanos());
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (carga.aberta()) {
+                abrir(carga.valor(), requisicoes, medicao, clientes);
+            } else {
+                for (int i = 0; i < carga.valor(); i++) {
+                    clientes.execute(() -> {
+                        while (System.nanoTime() < medicao.fim) {
+                            long inicio = System.nanoTime();
+                            medicao.registrar(inicio, enviar(requisicoes.get()));
+                        }
+                    });
+                }
+            }
+        }
+        Map<Integer, Long> status = new TreeMap<>();
+        medicao.status.forEach((codigo, quantidade) -> status.put(codigo, quantidade.sum()));
+        return new ResultadoCarga(cenario, carga, medicao.latencias.getIntervalHistogram(), status,
+                medicao.naoEnviadas.sum(), duracao);
+    }
+
+    private void abrir(int taxa, Supplier<URI> requisicoes, Medicao medicao, ExecutorService clientes) {
+        AtomicInteger emVoo = new AtomicInteger();
+        double intervalo = 1_000_000_000.0 / taxa;
+        long partida = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long previsto = partida + (long) (i * intervalo);
+            if (previsto >= medicao.fim) {
+                return;
+            }
+            long espera = previsto - System.nanoTime();
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+            if (emVoo.incrementAndGet() > MAX_EM_VOO) {
+                emVoo.decrementAndGet();
+                if (previsto >= medicao.inicio) {
+                    medicao.naoEnviadas.increment();
+                }
+                continue;
+            }
+            URI uri = requisicoes.get();
+            clientes.execute(() -> {
+                try {
+                    medicao.registrar(previsto, enviar(uri));
+                } finally {
+                    emVoo.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    // Status HTTP, ou 0 quando a requisição falha sem resposta (conexão, timeout)
+    private int enviar(URI uri) {
+        try {
+            HttpRequest requisicao = HttpRequest.newBuilder(uri).timeout(timeout).GET().build();
+            return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+
+    private static final class Medicao {
+
+        final long inicio;
+        final long fim;
+        final Recorder latencias = new Recorder(3);
+        final Map<Integer, LongAdder> status = new ConcurrentHashMap<>();
+        final LongAdder naoEnviadas = new LongAdder();
+
+        Medicao(long inicio, long duracao) {
+            this.inicio = inicio;
+            this.fim = inicio + duracao;
+        }
+
+        void registrar(long inicioRequisicao, int codigo) {
+            if (inicioRequisicao < inicio) {
+                return;
+            }
+            latencias.recordValue(Math.max(1, (System.nanoTime() - inicioRequisicao) / 1_000));
+            status.computeIfAbsent(codigo, c -> new LongAdder()).increment();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mrsalustiano.spring.camel.carga;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Latência do ViaCEP simulado, sorteada a cada resposta. Durações no formato do Spring ({@code 50ms}, {@code 2s}):
+ * <ul>
+ *   <li>{@code fixa:50ms};</li>
+ *   <li>{@code uniforme:20ms:200ms} — entre os dois valores;</li>
+ *   <li>{@code lognormal:40ms:400ms} — mediana e p99, com a cauda longa de um serviço real.</li>
+ * </ul>
+ */
+final class LatenciaSimulada {
+
+    // Quantil 0,99 da normal padrão
+    private static final double Z_P99 = 2.3263;
+    private static final long MAXIMA = Duration.ofMinutes(1).toNanos();
+
+    private final String descricao;
+    private final LongSupplier sorteio;
+
+    private LatenciaSimulada(String descricao, LongSupplier sorteio) {
+        this.descricao = descricao;
+        this.sorteio = sorteio;
+    }
+
+    static LatenciaSimulada interpretar(String especificacao) {
+        String[] partes = especificacao.trim().split(":");
+        try {
+            switch (partes[0]) {
+                case "fixa" -> {
+                    long nanos = nanos(partes[1]);
+                    return new LatenciaSimulada(especificacao, () -> nanos);
+                }
+                case "uniforme" -> {
+                    long minimo = nanos(partes[1]);
+                    long maximo = nanos(partes[2]);
+                    if (maximo < minimo) {
+                        throw new IllegalArgumentException("máximo menor que o mínimo");
+                    }
+                    return new LatenciaSimulada(especificacao,
+                            () -> ThreadLocalRandom.current().nextLong(minimo, maximo + 1));
+                }
+                case "lognormal" -> {
+                    long mediana = nanos(partes[1]);
+                    long p99 = nanos(partes[2]);
+                    if (mediana <= 0 || p99 < mediana) {
+                        throw new IllegalArgumentException("p99 deve ser maior ou igual à mediana, e ela maior que zero");
+                    }
+                    double mu = Math.log(mediana);
+                    double sigma = Math.log((double) p99 / mediana) / Z_P99;
+                    return new LatenciaSimulada(especificacao, () -> Math.min(MAXIMA,
+                            (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian())));
+                }
+                default -> throw new IllegalArgumentException("distribuição desconhecida");
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Latência inválida: " + especificacao
+                    + " (use fixa:50ms, uniforme:20ms:200ms ou lognormal:40ms:400ms)");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Latência inválida: " + especificacao + " (" + e.getMessage() + ")");
+        }
+    }
+
+    long sortearNanos() {
+        return sorteio.getAsLong();
+    }
+
+    @Override
+    public String toString() {
+        return descricao;
+    }
+
+    private static long nanos(String duracao) {
+        return DurationStyle.detectAndParse(duracao).toNanos();
+    }
+}
@@ -0,0 +1,53 @@
+package com.mrsalustiano.spring.camel.carga;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Resultado de um cenário: vazão, percentis de latência e respostas por status HTTP ({@code 0} = sem resposta).
+ * A vazão conta as requisições iniciadas na janela de medição e concluídas, com resposta ou com falha.
+ */
+record ResultadoCarga(String cenario, GeradorCarga.Carga carga, Histogram latencias, Map<Integer, Long> status,
+                      long naoEnviadas, Duration duracao) {
+
+    static String cabecalho() {
+        return String.format("%-26s %-14s %10s %9s %9s %9s %9s  %s",
+                "cenário", "carga", "req/s", "p50", "p99", "p999", "máx", "status");
+    }
+
+    String linha() {
+        String respostas = status.entrySet().stream()
+                .map(e -> (e.getKey() == 0 ? "falha" : e.getKey()) + "=" + e.getValue())
+                .collect(Collectors.joining(" "));
+        if (naoEnviadas > 0) {
+            respostas += " não-enviadas=" + naoEnviadas;
+        }
+        return String.format("%-26s %-14s %10.1f %9s %9s %9s %9s  %s", cenario, carga, vazao(),
+                ms(latencias.getValueAtPercentile(50)), ms(latencias.getValueAtPercentile(99)),
+                ms(latencias.getValueAtPercentile(99.9)), ms(latencias.getMaxValue()), respostas);
+    }
+
+    double vazao() {
+        return latencias.getTotalCount() / (duracao.toNanos() / 1e9);
+    }
+
+    // Distribuição completa em milissegundos, no formato .hgrm do HdrHistogram (HdrHistogram Plotter)
+    void gravarDistribuicao(Path diretorio) throws IOException {
+        Files.createDirectories(diretorio);
+        Path arquivo = diretorio.resolve(cenario.replaceAll("[^A-Za-z0-9.-]+", "-") + ".hgrm");
+        try (PrintStream saida = new PrintStream(Files.newOutputStream(arquivo))) {
+            latencias.outputPercentileDistribution(saida, 1000.0);
+        }
+    }
+
+    private static String ms(long micros) {
+        return micros == 0 ? "-" : String.format("%.1f ms", micros / 1000.0);
+    }
+}
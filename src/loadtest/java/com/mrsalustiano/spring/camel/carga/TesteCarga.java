@@ -0,0 +1,136 @@
+package com.mrsalustiano.spring.camel.carga;
+
+import com.mrsalustiano.spring.camel.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Teste de carga de {@code /api/cep/{cep}} e {@code /api/endereco/{uf}/{cidade}/{logradouro}} contra o
+ * {@link ViaCepStub}. Para cada modo de concorrência sobe a aplicação na mesma JVM, roda cada cenário com aquecimento
+ * e imprime vazão e p50/p99/p999; a distribuição completa de cada cenário fica em {@code target/carga/*.hgrm}.
+ * <p>
+ * Argumentos ({@code chave=valor}; os que começam com {@code --} vão para a aplicação):
+ * <ul>
+ *   <li>{@code modos} — {@code platform}, {@code virtual}, {@code platform-async}, {@code virtual-async}
+ *   (padrão {@code platform,virtual}); {@code -async} usa o cliente HTTP não bloqueante em vez do Feign;</li>
+ *   <li>{@code cenarios} — {@code cep,endereco};</li>
+ *   <li>{@code carga} — {@code fechada:<clientes>} ou {@code aberta:<req/s>} (padrão {@code fechada:100});</li>
+ *   <li>{@code aquecimento} e {@code duracao} — padrão {@code 10s} e {@code 30s};</li>
+ *   <li>{@code ceps} — CEPs (e logradouros) distintos sorteados; com menos deles o cache responde mais;</li>
+ *   <li>{@code alvo} — URL de uma aplicação já no ar (ex.: {@code http://localhost:8080}); os modos são ignorados;</li>
+ *   <li>{@code latencia}, {@code limitados}, {@code erros}, {@code inexistentes}, {@code enderecos} — ViaCEP simulado.</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -Ploadtest verify -Dcarga.args="modos=platform,virtual carga=aberta:500 latencia=lognormal:40ms:400ms"
+ * </pre>
+ */
+public class TesteCarga {
+
+    private static final Map<String, List<String>> MODOS = Map.of(
+            "platform", List.of("--spring.threads.virtual.enabled=false", "--viacep.async.habilitado=false"),
+            "virtual", List.of("--spring.threads.virtual.enabled=true", "--viacep.async.habilitado=false"),
+            "platform-async", List.of("--spring.threads.virtual.enabled=false", "--viacep.async.habilitado=true"),
+            "virtual-async", List.of("--spring.threads.virtual.enabled=true", "--viacep.async.habilitado=true"));
+
+    private static final Path DISTRIBUICOES = Path.of("target", "carga");
+
+    public static void main(String[] args) throws Exception {
+        Argumentos argumentos = new Argumentos(args);
+        List<String> modos = argumentos.lista("modos", "platform,virtual");
+        for (String modo : modos) {
+            if (!MODOS.containsKey(modo)) {
+                throw new IllegalArgumentException("Modo desconhecido: " + modo + " (use " + MODOS.keySet() + ")");
+            }
+        }
+        List<String> cenarios = argumentos.lista("cenarios", "cep,endereco");
+        GeradorCarga.Carga carga = GeradorCarga.Carga.interpretar(argumentos.texto("carga", "fechada:100"));
+        Duration aquecimento = argumentos.duracao("aquecimento", "10s");
+        Duration duracao = argumentos.duracao("duracao", "30s");
+        int ceps = argumentos.inteiro("ceps", 100_000);
+        String alvo = argumentos.texto("alvo", null);
+
+        GeradorCarga gerador = new GeradorCarga(argumentos.duracao("timeout", "30s"));
+        List<ResultadoCarga> resultados = new ArrayList<>();
+        try (ViaCepStub viaCep = new ViaCepStub(argumentos)) {
+            System.out.println(viaCep.descricao());
+            if (alvo != null) {
+                System.out.printf("Aplicação em %s; aponte viacep.api.url para %s ou para o ViaCEP%n", alvo, viaCep.url());
+                resultados.addAll(medir("externo", alvo, cenarios, gerador, carga, aquecimento, duracao, ceps));
+            }
+            for (String modo : alvo == null ? modos : List.<String>of()) {
+                try (ConfigurableApplicationContext app = iniciar(modo, viaCep.url(), argumentos.aplicacao())) {
+                    int porta = app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+                    resultados.addAll(medir(modo, "http://localhost:" + porta, cenarios, gerador, carga,
+                            aquecimento, duracao, ceps));
+                }
+            }
+            System.out.printf("%n%s%n", viaCep.resumo());
+        }
+
+        System.out.printf("%nCarga %s, %ds de aquecimento e %ds de medição, %d CEPs distintos%n",
+                carga, aquecimento.toSeconds(), duracao.toSeconds(), ceps);
+        System.out.println(ResultadoCarga.cabecalho());
+        for (ResultadoCarga resultado : resultados) {
+            System.out.println(resultado.linha());
+            resultado.gravarDistribuicao(DISTRIBUICOES);
+        }
+        System.out.printf("Distribuições completas em %s%n", DISTRIBUICOES.toAbsolutePath());
+    }
+
+    private static List<ResultadoCarga> medir(String modo, String base, List<String> cenarios, GeradorCarga gerador,
+                                              GeradorCarga.Carga carga, Duration aquecimento, Duration duracao,
+                                              int ceps) {
+        List<ResultadoCarga> resultados = new ArrayList<>();
+        for (String cenario : cenarios) {
+            Supplier<URI> requisicoes = switch (cenario) {
+                case "cep" -> () -> URI.create(base + "/api/cep/" + String.format("%08d", cep(ceps)));
+                case "endereco" -> () -> URI.create(base + "/api/endereco/SP/Sao%20Paulo/Rua%20Carga%20" + sortear(ceps));
+                default -> throw new IllegalArgumentException("Cenário desconhecido: " + cenario + " (use cep ou endereco)");
+            };
+            System.out.printf("%s / %s: %s por %ss...%n", modo, cenario, carga, aquecimento.plus(duracao).toSeconds());
+            ResultadoCarga resultado = gerador.executar(modo + " " + cenario, carga, requisicoes, aquecimento, duracao);
+            System.out.println(resultado.linha());
+            resultados.add(resultado);
+        }
+        return resultados;
+    }
+
+    private static ConfigurableApplicationContext iniciar(String modo, String urlViaCep, List<String> extras) {
+        List<String> propriedades = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--viacep.api.url=" + urlViaCep,
+                "--camel.springboot.main-run-controller=false",
+                // Sem estado em disco: cada modo começa com o cache frio
+                "--viacep.arquivo.habilitado=false",
+                "--viacep.aquecimento.habilitado=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.mrsalustiano.spring.camel=WARN",
+                "--logging.level.org.apache.camel=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.feign=WARN",
+                "--spring.cloud.openfeign.client.config.viaCepClient.loggerLevel=none"));
+        propriedades.addAll(MODOS.get(modo));
+        // Por último, para o que vier na linha de comando prevalecer
+        propriedades.addAll(extras);
+        return new SpringApplicationBuilder(Application.class).run(propriedades.toArray(String[]::new));
+    }
+
+    // CEPs espalhados pela faixa válida, sempre os mesmos para o mesmo número de CEPs distintos
+    private static int cep(int distintos) {
+        return 1_000_000 + (int) ((long) sortear(distintos) * 98_000_000 / distintos);
+    }
+
+    private static int sortear(int distintos) {
+        return ThreadLocalRandom.current().nextInt(distintos);
+    }
+}
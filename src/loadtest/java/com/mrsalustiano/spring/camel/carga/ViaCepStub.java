@@ -0,0 +1,160 @@
+package com.mrsalustiano.spring.camel.carga;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ViaCEP simulado para testes de carga, com os dois caminhos que a aplicação usa:
+ * {@code /ws/{cep}/json/} e {@code /ws/{uf}/{cidade}/{logradouro}/json/}.
+ * <p>
+ * Cada resposta sorteia, nesta ordem: {@code 429} com {@code Retry-After: 1} na hora (fração {@code limitados}),
+ * {@code 500} depois da latência ({@code erros}) e {@code {"erro": true}} depois da latência ({@code inexistentes},
+ * só na consulta por CEP). O restante é um endereço (ou {@code enderecos} endereços na busca) depois da latência.
+ * Roda sozinho para testar uma aplicação já no ar:
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.mrsalustiano.spring.camel.carga.ViaCepStub \
+ *   -Dexec.args="porta=9999 latencia=lognormal:40ms:400ms limitados=0.02 erros=0.01"
+ * </pre>
+ */
+public class ViaCepStub implements AutoCloseable {
+
+    private final HttpServer servidor;
+    private final ExecutorService threads;
+    private final LatenciaSimulada latencia;
+    private final double limitados;
+    private final double erros;
+    private final double inexistentes;
+    private final int enderecos;
+
+    private final LongAdder respostas = new LongAdder();
+    private final LongAdder respostasLimitadas = new LongAdder();
+    private final LongAdder respostasComErro = new LongAdder();
+    private final LongAdder respostasInexistentes = new LongAdder();
+
+    ViaCepStub(Argumentos argumentos) throws IOException {
+        this.latencia = LatenciaSimulada.interpretar(argumentos.texto("latencia", "lognormal:40ms:400ms"));
+        this.limitados = argumentos.decimal("limitados", 0);
+        this.erros = argumentos.decimal("erros", 0);
+        this.inexistentes = argumentos.decimal("inexistentes", 0.05);
+        this.enderecos = argumentos.inteiro("enderecos", 10);
+
+        servidor = HttpServer.create(new InetSocketAddress("localhost", argumentos.inteiro("porta", 0)), 8192);
+        // Platform threads para o ViaCEP simulado não disputar as carrier threads com a aplicação medida
+        threads = Executors.newCachedThreadPool();
+        servidor.setExecutor(threads);
+        servidor.createContext("/ws/", this::responder);
+        servidor.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        ViaCepStub stub = new ViaCepStub(new Argumentos(args));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stub.close();
+            System.out.println(stub.resumo());
+        }));
+        System.out.printf("%s em %s (Ctrl+C para encerrar)%n", stub.descricao(), stub.url());
+        Thread.currentThread().join();
+    }
+
+    String url() {
+        return "http://localhost:" + servidor.getAddress().getPort() + "/ws";
+    }
+
+    String descricao() {
+        return String.format("ViaCEP simulado: latência %s, %.1f%% 429, %.1f%% 500, %.1f%% CEPs inexistentes",
+                latencia, limitados * 100, erros * 100, inexistentes * 100);
+    }
+
+    String resumo() {
+        return String.format("ViaCEP simulado: %d respostas (%d 429, %d 500, %d CEPs inexistentes)",
+                respostas.sum(), respostasLimitadas.sum(), respostasComErro.sum(), respostasInexistentes.sum());
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        threads.shutdownNow();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        try (troca) {
+            respostas.increment();
+            // "/ws/01001000/json/" ou "/ws/SP/São Paulo/Paulista/json/"
+            String[] partes = troca.getRequestURI().getPath().split("/");
+            boolean porCep = partes.length == 4;
+            if ((!porCep && partes.length != 6) || !"json".equals(partes[partes.length - 1])) {
+                troca.sendResponseHeaders(400, -1);
+                return;
+            }
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            double sorteio = aleatorio.nextDouble();
+            if (sorteio < limitados) {
+                respostasLimitadas.increment();
+                troca.getResponseHeaders().add("Retry-After", "1");
+                troca.sendResponseHeaders(429, -1);
+                return;
+            }
+            esperar(latencia.sortearNanos());
+            if (sorteio < limitados + erros) {
+                respostasComErro.increment();
+                troca.sendResponseHeaders(500, -1);
+                return;
+            }
+            String corpo;
+            if (!porCep) {
+                corpo = enderecos(partes[2], partes[3], partes[4]);
+            } else if (sorteio < limitados + erros + inexistentes) {
+                respostasInexistentes.increment();
+                corpo = "{\"erro\": true}";
+            } else {
+                corpo = endereco(partes[2], "Rua Simulada " + partes[2], "São Paulo", "SP");
+            }
+            byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().add("Content-Type", "application/json; charset=utf-8");
+            troca.sendResponseHeaders(200, bytes.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(bytes);
+            }
+        }
+    }
+
+    // CEPs derivados da busca, para a mesma busca devolver sempre os mesmos endereços
+    private String enderecos(String uf, String cidade, String logradouro) {
+        int base = Math.floorMod((uf + cidade + logradouro).hashCode(), 90_000_000) + 1_000_000;
+        StringBuilder lista = new StringBuilder("[");
+        for (int i = 0; i < enderecos; i++) {
+            if (i > 0) {
+                lista.append(',');
+            }
+            lista.append(endereco(String.format("%08d", base + i), logradouro, cidade, uf));
+        }
+        return lista.append(']').toString();
+    }
+
+    private static String endereco(String cep, String logradouro, String cidade, String uf) {
+        String formatado = cep.length() == 8 ? cep.substring(0, 5) + "-" + cep.substring(5) : cep;
+        return "{\"cep\": \"" + formatado + "\", \"logradouro\": \"" + logradouro + "\", \"complemento\": \"\", "
+                + "\"bairro\": \"Centro\", \"localidade\": \"" + cidade + "\", \"uf\": \"" + uf + "\", "
+                + "\"ibge\": \"3550308\", \"gia\": \"1004\", \"ddd\": \"11\", \"siafi\": \"7107\"}";
+    }
+
+    private static void esperar(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
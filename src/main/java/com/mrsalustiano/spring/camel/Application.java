@@ -1,12 +1,17 @@
 package com.mrsalustiano.spring.camel;
 
+import com.mrsalustiano.spring.camel.config.AplicacaoRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 
 @SpringBootApplication
 @EnableFeignClients
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(AplicacaoRuntimeHints.class)
 public class Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,323 @@
+package com.mrsalustiano.spring.camel.busca;
+
+import com.mrsalustiano.spring.camel.config.IndiceEnderecosProperties;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória para a busca por UF, cidade e logradouro.
+ * <p>
+ * Os endereços ficam agrupados por UF e cidade. Dentro de cada cidade, os logradouros distintos, sem acento e em
+ * minúsculas, são indexados por trigramas. A busca parte da menor lista de trigramas da consulta e confere cada
+ * palavra no logradouro. Só responde pelas cidades da base local, que é a única fonte completa; as demais seguem
+ * no ViaCEP. Endereços vindos do ViaCEP só entram nas cidades já cobertas: nas demais nunca seriam lidos.
+ */
+@Slf4j
+@Component
+public class IndiceEnderecos implements SmartInitializingSingleton, MeterBinder {
+
+    private final boolean habilitado;
+    private final int limite;
+    private final CepDataset cepDataset;
+
+    private final Map<String, Cidade> cidades = new ConcurrentHashMap<>();
+    private final AtomicInteger enderecos = new AtomicInteger();
+    private final LongAdder buscasLocais = new LongAdder();
+
+    private volatile boolean baseLocalCarregada;
+
+    public IndiceEnderecos(IndiceEnderecosProperties properties, CepDataset cepDataset) {
+        this.habilitado = properties.isHabilitado();
+        this.limite = properties.getLimite();
+        this.cepDataset = cepDataset;
+    }
+
+    // A base local é percorrida em segundo plano; até terminar, todas as buscas seguem no ViaCEP
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (habilitado && cepDataset.consultaLocal()) {
+            Thread.ofVirtual().name("indice-enderecos").start(this::carregarBaseLocal);
+        }
+    }
+
+    public void carregarBaseLocal() {
+        long inicio = System.nanoTime();
+        cepDataset.percorrer(endereco -> adicionar(endereco, true));
+        baseLocalCarregada = true;
+        log.info("Índice de endereços montado em {} ms: {} cidades cobertas, {} CEPs",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio), cidadesCobertas(), enderecos.get());
+    }
+
+    // Endereços do ViaCEP, só nas cidades da base local; respostas de erro e registros sem logradouro ficam de fora
+    public void indexar(Endereco endereco) {
+        if (habilitado && cepDataset.consultaLocal() && endereco != null
+                && !Boolean.TRUE.equals(endereco.getErro())) {
+            adicionar(endereco, false);
+        }
+    }
+
+    public boolean cobre(String uf, String cidade) {
+        Cidade encontrada = baseLocalCarregada ? cidades.get(chave(uf, cidade)) : null;
+        return encontrada != null && encontrada.baseLocal;
+    }
+
+    /**
+     * Endereços da cidade cujo logradouro contém todas as palavras da consulta, em ordem de CEP e até o limite
+     * configurado. Devolve {@code null} quando a cidade não é coberta pelo índice e a busca deve ir ao ViaCEP.
+     */
+    public List<Endereco> buscar(String uf, String cidade, String logradouro) {
+        if (!habilitado || !baseLocalCarregada) {
+            return null;
+        }
+        Cidade encontrada = cidades.get(chave(uf, cidade));
+        if (encontrada == null || !encontrada.baseLocal) {
+            return null;
+        }
+        buscasLocais.increment();
+        String[] palavras = dobrar(logradouro).split(" ");
+        if (palavras[0].isEmpty()) {
+            return List.of();
+        }
+        return encontrada.buscar(palavras, limite, cepDataset);
+    }
+
+    public int tamanho() {
+        return enderecos.get();
+    }
+
+    public int cidadesCobertas() {
+        int cobertas = 0;
+        for (Cidade cidade : cidades.values()) {
+            if (cidade.baseLocal) {
+                cobertas++;
+            }
+        }
+        return cobertas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("viacep.indice.buscas", buscasLocais, LongAdder::sum)
+                .description("Buscas por endereço respondidas pelo índice local, sem ida ao ViaCEP")
+                .register(registry);
+        Gauge.builder("viacep.indice.cidades", this, IndiceEnderecos::cidadesCobertas)
+                .description("Cidades da base local respondidas pelo índice")
+                .register(registry);
+        Gauge.builder("viacep.indice.enderecos", this, IndiceEnderecos::tamanho)
+                .description("CEPs no índice de endereços")
+                .register(registry);
+    }
+
+    private void adicionar(Endereco endereco, boolean daBaseLocal) {
+        int cep = CepNumerico.interpretar(endereco.getCep());
+        String logradouro = endereco.getLogradouro() == null ? "" : dobrar(endereco.getLogradouro());
+        if (cep == CepNumerico.INVALIDO || logradouro.isEmpty()
+                || endereco.getUf() == null || endereco.getLocalidade() == null) {
+            return;
+        }
+        String chave = chave(endereco.getUf(), endereco.getLocalidade());
+        Cidade cidade = daBaseLocal ? cidades.computeIfAbsent(chave, k -> new Cidade()) : cidades.get(chave);
+        // Fora da base local o heap não guarda nada: a cidade seria buscada no ViaCEP de qualquer forma
+        if (cidade == null || (!daBaseLocal && !cidade.baseLocal)) {
+            return;
+        }
+        // Os da base local são decodificados de novo na busca; só os demais ficam guardados no heap
+        if (cidade.adicionar(cep, logradouro, daBaseLocal ? null : endereco)) {
+            enderecos.incrementAndGet();
+        }
+        if (daBaseLocal) {
+            cidade.baseLocal = true;
+        }
+    }
+
+    private static String chave(String uf, String cidade) {
+        return uf.trim().toUpperCase(Locale.ROOT) + '|' + dobrar(cidade);
+    }
+
+    // "Praça da Sé, 2 (Centro)" -> "praca da se 2 centro": sem acento, minúsculas, pontuação vira um único espaço
+    static String dobrar(String texto) {
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder saida = new StringBuilder(decomposto.length());
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                saida.append(Character.toLowerCase(c));
+            } else if (!saida.isEmpty() && saida.charAt(saida.length() - 1) != ' ') {
+                saida.append(' ');
+            }
+        }
+        if (!saida.isEmpty() && saida.charAt(saida.length() - 1) == ' ') {
+            saida.setLength(saida.length() - 1);
+        }
+        return saida.toString();
+    }
+
+    private static long trigrama(String palavra, int inicio) {
+        return ((long) palavra.charAt(inicio) << 32) | ((long) palavra.charAt(inicio + 1) << 16)
+                | palavra.charAt(inicio + 2);
+    }
+
+    private static final class Cidade {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // Logradouros distintos (já dobrados); o id é a posição na lista
+        private final List<String> logradouros = new ArrayList<>();
+        private final Map<String, Integer> idPorLogradouro = new HashMap<>();
+        private final List<Inteiros> cepsPorLogradouro = new ArrayList<>();
+        private final Map<Integer, Integer> logradouroPorCep = new HashMap<>();
+        // Trigrama -> ids dos logradouros, em ordem crescente
+        private final Map<Long, Inteiros> trigramas = new HashMap<>();
+        // Endereços fora da base local
+        private final Map<Integer, Endereco> guardados = new HashMap<>();
+
+        private volatile boolean baseLocal;
+
+        // Devolve true quando o CEP ainda não estava na cidade
+        boolean adicionar(int cep, String logradouro, Endereco endereco) {
+            lock.writeLock().lock();
+            try {
+                if (endereco != null) {
+                    guardados.put(cep, endereco);
+                }
+                int id = idPorLogradouro.computeIfAbsent(logradouro, this::novoLogradouro);
+                Integer anterior = logradouroPorCep.put(cep, id);
+                if (anterior != null && anterior == id) {
+                    return false;
+                }
+                if (anterior != null) {
+                    cepsPorLogradouro.get(anterior).remover(cep);
+                }
+                cepsPorLogradouro.get(id).adicionar(cep);
+                return anterior == null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private int novoLogradouro(String logradouro) {
+            int id = logradouros.size();
+            logradouros.add(logradouro);
+            cepsPorLogradouro.add(new Inteiros());
+            for (String palavra : logradouro.split(" ")) {
+                for (int i = 0; i + 3 <= palavra.length(); i++) {
+                    Inteiros ids = trigramas.computeIfAbsent(trigrama(palavra, i), t -> new Inteiros());
+                    // Ids crescem a cada logradouro novo; o mesmo trigrama repetido no nome entra uma vez só
+                    if (ids.tamanho == 0 || ids.valores[ids.tamanho - 1] != id) {
+                        ids.adicionar(id);
+                    }
+                }
+            }
+            return id;
+        }
+
+        List<Endereco> buscar(String[] palavras, int limite, CepDataset cepDataset) {
+            int[] ceps;
+            int encontrados = 0;
+            lock.readLock().lock();
+            try {
+                Inteiros candidatos = menorLista(palavras);
+                if (candidatos != null && candidatos.tamanho == 0) {
+                    return List.of();
+                }
+                int total = candidatos == null ? logradouros.size() : candidatos.tamanho;
+                ceps = new int[16];
+                for (int i = 0; i < total; i++) {
+                    int id = candidatos == null ? i : candidatos.valores[i];
+                    if (!contemTodas(logradouros.get(id), palavras)) {
+                        continue;
+                    }
+                    Inteiros doLogradouro = cepsPorLogradouro.get(id);
+                    if (encontrados + doLogradouro.tamanho > ceps.length) {
+                        ceps = Arrays.copyOf(ceps, Math.max(ceps.length * 2, encontrados + doLogradouro.tamanho));
+                    }
+                    System.arraycopy(doLogradouro.valores, 0, ceps, encontrados, doLogradouro.tamanho);
+                    encontrados += doLogradouro.tamanho;
+                }
+                Arrays.sort(ceps, 0, encontrados);
+                int quantidade = Math.min(encontrados, limite);
+                List<Endereco> resultado = new ArrayList<>(quantidade);
+                for (int i = 0; i < quantidade; i++) {
+                    Endereco endereco = guardados.get(ceps[i]);
+                    resultado.add(endereco != null ? endereco : cepDataset.buscar(ceps[i]));
+                }
+                return resultado;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // Menor lista entre os trigramas das palavras; vazia se algum não existe, null se nenhuma palavra tem 3 letras
+        private Inteiros menorLista(String[] palavras) {
+            Inteiros menor = null;
+            for (String palavra : palavras) {
+                for (int i = 0; i + 3 <= palavra.length(); i++) {
+                    Inteiros ids = trigramas.get(trigrama(palavra, i));
+                    if (ids == null) {
+                        return new Inteiros();
+                    }
+                    if (menor == null || ids.tamanho < menor.tamanho) {
+                        menor = ids;
+                    }
+                }
+            }
+            return menor;
+        }
+
+        private static boolean contemTodas(String logradouro, String[] palavras) {
+            for (String palavra : palavras) {
+                if (!logradouro.contains(palavra)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Inteiros {
+
+        private int[] valores = new int[2];
+        private int tamanho;
+
+        void adicionar(int valor) {
+            if (tamanho == valores.length) {
+                valores = Arrays.copyOf(valores, tamanho * 2);
+            }
+            valores[tamanho++] = valor;
+        }
+
+        void remover(int valor) {
+            for (int i = 0; i < tamanho; i++) {
+                if (valores[i] == valor) {
+                    System.arraycopy(valores, i + 1, valores, i, tamanho - i - 1);
+                    tamanho--;
+                    return;
+                }
+            }
+        }
+    }
+}
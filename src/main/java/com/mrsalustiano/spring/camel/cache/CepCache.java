@@ -0,0 +1,232 @@
+package com.mrsalustiano.spring.camel.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mrsalustiano.spring.camel.config.CepCacheProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.EnderecoObsoleto;
+import com.mrsalustiano.spring.camel.model.RespostaJson;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado das consultas ao ViaCEP, indexado pelo CEP numérico (ver {@link com.mrsalustiano.spring.camel.store.CepNumerico}).
+ * A remoção fica a cargo do Caffeine (W-TinyLFU) e respostas negativas expiram antes.
+ * Endereços encontrados continuam guardados por uma janela após o TTL para serem servidos como obsoletos.
+ * Publica acertos, faltas, remoções e tamanho com os nomes {@code cache.*} usados pelos binders do Micrometer.
+ * Opcionalmente guarda também a {@link RespostaJson} de cada endereço encontrado.
+ * Cada entrada conta os próprios acessos, de onde sai a lista dos CEPs mais acessados.
+ */
+@Component
+public class CepCache implements MeterBinder {
+
+    private final boolean habilitado;
+    private final boolean respostaJson;
+    private final boolean respostaGzip;
+    private final long ttlNanos;
+    private final Ticker ticker;
+    private final Cache<Integer, Entrada> cache;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+    private final LongAdder obsoletos = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+
+    @Autowired
+    public CepCache(CepCacheProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    CepCache(CepCacheProperties properties, Ticker ticker) {
+        this.habilitado = properties.isHabilitado();
+        this.respostaJson = properties.isRespostaJson();
+        this.respostaGzip = properties.isRespostaGzip();
+        this.ttlNanos = properties.getTtl().toNanos();
+        this.ticker = ticker;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntradas())
+                .expireAfter(new ExpiracaoPorResultado(
+                        ttlNanos + properties.getJanelaObsoleta().toNanos(),
+                        properties.getTtlNegativo().toNanos()))
+                .ticker(ticker)
+                .evictionListener((cep, entrada, causa) -> remocoes.increment())
+                .build();
+    }
+
+    // Somente entradas dentro do TTL
+    public Endereco buscar(int cep) {
+        Endereco endereco = vigente(cep, true);
+        (endereco != null ? acertos : faltas).increment();
+        return endereco;
+    }
+
+    // Como buscar, mas sem contar nas métricas (verificações que antecedem uma busca de verdade)
+    public boolean contem(int cep) {
+        return vigente(cep, false) != null;
+    }
+
+    // Endereço encontrado cujo TTL já passou, mas ainda dentro da janela de obsolescência
+    public EnderecoObsoleto buscarObsoleto(int cep) {
+        Entrada entrada = habilitado ? cache.getIfPresent(cep) : null;
+        if (entrada == null || isNegativo(entrada.endereco()) || idade(entrada) <= ttlNanos) {
+            return null;
+        }
+        obsoletos.increment();
+        entrada.acessos().increment();
+        return new EnderecoObsoleto(entrada.endereco(), Duration.ofNanos(idade(entrada)));
+    }
+
+    public void guardar(int cep, Endereco endereco) {
+        inserir(cep, endereco, ticker.read());
+    }
+
+    // Endereço de uma camada inferior (armazenamento compacto, disco) entra com a idade que já tem, para o TTL do
+    // cache contar da gravação original. Passado o TTL, volta como EnderecoObsoleto, para ser revalidado
+    public Endereco guardar(int cep, Endereco endereco, Duration idade) {
+        inserir(cep, endereco, ticker.read() - idade.toNanos());
+        if (idade.toNanos() <= ttlNanos) {
+            return endereco;
+        }
+        obsoletos.increment();
+        return new EnderecoObsoleto(endereco, idade);
+    }
+
+    private void inserir(int cep, Endereco endereco, long gravadoEm) {
+        if (!habilitado) {
+            return;
+        }
+        // Retorno nulo do ViaCEP é tratado como "não encontrado"
+        if (endereco == null || isNegativo(endereco)) {
+            cache.put(cep, new Entrada(endereco != null ? endereco : naoEncontrado(), gravadoEm, null,
+                    new LongAdder()));
+            return;
+        }
+        // Serializa uma vez, na gravação; os acertos seguintes reaproveitam os bytes
+        RespostaJson resposta = respostaJson ? RespostaJson.de(endereco, respostaGzip) : null;
+        // Uma revalidação mantém a contagem de acessos do CEP
+        Entrada anterior = cache.policy().getIfPresentQuietly(cep);
+        cache.put(cep, new Entrada(endereco, gravadoEm, resposta,
+                anterior != null ? anterior.acessos() : new LongAdder()));
+    }
+
+    // Bytes da resposta HTTP: os da entrada quando o endereço é o próprio objeto guardado
+    // (acertos e consultas recém-gravadas), senão serializa na hora (obsoletos, cache desligado)
+    public RespostaJson resposta(Endereco endereco) {
+        int cep = CepNumerico.interpretar(endereco.getCep());
+        Entrada entrada = habilitado && cep != CepNumerico.INVALIDO
+                ? cache.policy().getIfPresentQuietly(cep) : null;
+        if (entrada != null && entrada.endereco() == endereco && entrada.resposta() != null) {
+            return entrada.resposta();
+        }
+        return RespostaJson.de(endereco, respostaGzip);
+    }
+
+    // CEPs encontrados com mais acessos, do mais para o menos acessado (snapshot do aquecimento)
+    public int[] maisAcessados(int limite) {
+        if (!habilitado || limite <= 0) {
+            return new int[0];
+        }
+        PriorityQueue<Map.Entry<Integer, Long>> quentes = new PriorityQueue<>(limite + 1, Map.Entry.comparingByValue());
+        cache.asMap().forEach((cep, entrada) -> {
+            if (!isNegativo(entrada.endereco())) {
+                quentes.add(Map.entry(cep, entrada.acessos().sum()));
+                if (quentes.size() > limite) {
+                    quentes.poll();
+                }
+            }
+        });
+        int[] ceps = new int[quentes.size()];
+        for (int i = ceps.length - 1; i >= 0; i--) {
+            ceps[i] = quentes.poll().getKey();
+        }
+        return ceps;
+    }
+
+    public long tamanho() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", acertos, LongAdder::sum)
+                .tags("cache", "cep", "result", "hit")
+                .description("Consultas respondidas pelo cache dentro do TTL")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", faltas, LongAdder::sum)
+                .tags("cache", "cep", "result", "miss")
+                .description("Consultas que não estavam no cache ou já tinham passado do TTL")
+                .register(registry);
+        FunctionCounter.builder("cache.stale", obsoletos, LongAdder::sum)
+                .tags("cache", "cep")
+                .description("Endereços servidos após o TTL enquanto o ViaCEP é reconsultado")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", remocoes, LongAdder::sum)
+                .tags("cache", "cep")
+                .description("Entradas removidas por tamanho ou expiração")
+                .register(registry);
+        Gauge.builder("cache.size", cache, Cache::estimatedSize)
+                .tags("cache", "cep")
+                .register(registry);
+    }
+
+    public static boolean isNegativo(Endereco endereco) {
+        return Boolean.TRUE.equals(endereco.getErro());
+    }
+
+    private static Endereco naoEncontrado() {
+        Endereco endereco = new Endereco();
+        endereco.setErro(true);
+        return endereco;
+    }
+
+    private Endereco vigente(int cep, boolean contar) {
+        Entrada entrada = habilitado ? cache.getIfPresent(cep) : null;
+        if (entrada == null || (!isNegativo(entrada.endereco()) && idade(entrada) > ttlNanos)) {
+            return null;
+        }
+        if (contar) {
+            entrada.acessos().increment();
+        }
+        return entrada.endereco();
+    }
+
+    private long idade(Entrada entrada) {
+        return ticker.read() - entrada.gravadoEm();
+    }
+
+    private record Entrada(Endereco endereco, long gravadoEm, RespostaJson resposta, LongAdder acessos) {
+    }
+
+    private record ExpiracaoPorResultado(long retencaoNanos, long ttlNegativoNanos) implements Expiry<Integer, Entrada> {
+
+        @Override
+        public long expireAfterCreate(Integer cep, Entrada entrada, long currentTime) {
+            // Entradas vindas de outra camada já chegam com idade
+            return isNegativo(entrada.endereco())
+                    ? ttlNegativoNanos
+                    : Math.max(0, retencaoNanos - (currentTime - entrada.gravadoEm()));
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer cep, Entrada entrada, long currentTime, long currentDuration) {
+            return expireAfterCreate(cep, entrada, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Integer cep, Entrada entrada, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
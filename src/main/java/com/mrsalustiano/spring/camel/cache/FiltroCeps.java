@@ -0,0 +1,118 @@
+package com.mrsalustiano.spring.camel.cache;
+
+import com.mrsalustiano.spring.camel.config.FiltroCepsProperties;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom dos CEPs conhecidos: os da base local na inicialização e os que o cache aprende depois.
+ * <p>
+ * Sem falsos negativos: se o filtro diz que o CEP não está lá, ele não foi visto. Isso só vale como "CEP inexistente"
+ * quando o conjunto de origem é completo, então o filtro só descarta CEPs montado a partir da base local no modo
+ * {@code local} (ou com {@code viacep.filtro.base-completa}).
+ * Os bits ficam em um {@link AtomicLongArray} (tamanho potência de 2) e os {@code k} índices saem de dois hashes
+ * do CEP (Kirsch-Mitzenmacher): a consulta não aloca nem trava.
+ */
+@Slf4j
+@Component
+public class FiltroCeps implements MeterBinder {
+
+    private final boolean autoritativo;
+    private final AtomicLongArray bits;
+    private final long mascara;
+    private final int funcoes;
+    private final LongAdder descartes = new LongAdder();
+
+    public FiltroCeps(FiltroCepsProperties properties, CepDataset cepDataset) {
+        this.autoritativo = properties.isHabilitado() && cepDataset.consultaLocal()
+                && (!cepDataset.consultaRemota() || properties.isBaseCompleta());
+        // Sem base completa nenhum negativo é aproveitado: o filtro fica com uma palavra só e não aprende
+        long esperados = Math.max(1, Math.max(properties.getCapacidade(), (long) (cepDataset.tamanho() * 1.2)));
+        // m = -n ln p / (ln 2)^2, arredondado para potência de 2; k = m/n ln 2
+        double ln2 = Math.log(2);
+        long quantidadeBits = (long) Math.ceil(-esperados * Math.log(properties.getTaxaFalsoPositivo()) / (ln2 * ln2));
+        quantidadeBits = autoritativo ? Math.max(64, Long.highestOneBit(quantidadeBits - 1) << 1) : 64;
+        this.mascara = quantidadeBits - 1;
+        this.funcoes = (int) Math.max(1, Math.round((double) quantidadeBits / esperados * ln2));
+        this.bits = new AtomicLongArray((int) (quantidadeBits >>> 6));
+
+        if (autoritativo) {
+            cepDataset.percorrerCeps(this::adicionar);
+            log.info("Filtro de CEPs montado com {} CEPs da base local ({} KB, {} funções de hash)",
+                    cepDataset.tamanho(), bits.length() * Long.BYTES / 1024, funcoes);
+        }
+    }
+
+    public void adicionar(int cep) {
+        if (!autoritativo) {
+            return;
+        }
+        long hash = misturar(cep);
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long bit = (h1 + i * h2) & mascara;
+            long mascaraBit = 1L << bit;
+            int palavra = (int) (bit >>> 6);
+            if ((bits.get(palavra) & mascaraBit) == 0) {
+                bits.getAndAccumulate(palavra, mascaraBit, (atual, novo) -> atual | novo);
+            }
+        }
+    }
+
+    // false: o CEP certamente não foi adicionado; true: talvez tenha sido
+    public boolean talvezContenha(int cep) {
+        long hash = misturar(cep);
+        long h1 = (int) hash;
+        long h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long bit = (h1 + i * h2) & mascara;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // true só quando o CEP certamente não existe: fora do filtro montado a partir de uma base local completa
+    public boolean descarta(int cep) {
+        if (!autoritativo || talvezContenha(cep)) {
+            return false;
+        }
+        descartes.increment();
+        return true;
+    }
+
+    public boolean isAutoritativo() {
+        return autoritativo;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("viacep.filtro.descartes", descartes, LongAdder::sum)
+                .description("CEPs dados como inexistentes pelo filtro, sem consulta")
+                .register(registry);
+        Gauge.builder("viacep.filtro.bytes", bits, b -> (double) b.length() * Long.BYTES)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    // Finalizador de 64 bits do MurmurHash3: espalha CEPs vizinhos por todo o filtro
+    private static long misturar(int cep) {
+        long h = cep;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,64 @@
+package com.mrsalustiano.spring.camel.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes para a mesma chave: apenas a primeira executa a consulta,
+ * as demais aguardam e recebem o mesmo resultado (ou a mesma exceção).
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    public V executar(K chave, Supplier<V> consulta) {
+        return aguardar(executarAsync(chave, () -> CompletableFuture.completedFuture(consulta.get())));
+    }
+
+    // Versão assíncrona: quem chega durante a consulta recebe o mesmo resultado sem bloquear nenhuma thread
+    public CompletableFuture<V> executarAsync(K chave, Supplier<CompletableFuture<V>> consulta) {
+        CompletableFuture<V> nova = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, nova);
+        if (existente != null) {
+            return existente.copy();
+        }
+
+        CompletableFuture<V> resultado;
+        try {
+            resultado = consulta.get();
+        } catch (RuntimeException | Error e) {
+            resultado = CompletableFuture.failedFuture(e);
+        }
+        resultado.whenComplete((valor, erro) -> {
+            emAndamento.remove(chave, nova);
+            if (erro != null) {
+                nova.completeExceptionally(erro instanceof CompletionException && erro.getCause() != null
+                        ? erro.getCause() : erro);
+            } else {
+                nova.complete(valor);
+            }
+        });
+        return nova.copy();
+    }
+
+    public int emAndamento() {
+        return emAndamento.size();
+    }
+
+    private V aguardar(CompletableFuture<V> consulta) {
+        try {
+            return consulta.join();
+        } catch (CompletionException e) {
+            // Propaga a exceção original para manter o tratamento de erros das rotas
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.mrsalustiano.spring.camel.client;
+
+import com.mrsalustiano.spring.camel.config.ViaCepLimiteProperties;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Limitador de taxa AIMD para o ViaCEP. A taxa sobe devagar enquanto as respostas chegam bem (aumento aditivo de
+ * {@code incremento} req/s a cada segundo) e cai pelo {@code fatorReducao} quando o ViaCEP responde 429 ou 5xx.
+ * As liberações são espaçadas como num GCRA: até {@code rajada} chamadas saem juntas, as demais esperam a vez.
+ */
+public class LimitadorAdaptativo {
+
+    private final boolean habilitado;
+    private final double taxaMinima;
+    private final double taxaMaxima;
+    private final double incremento;
+    private final double fatorReducao;
+    private final int rajada;
+    private final long intervaloReducaoNanos;
+    private final LongSupplier relogio;
+
+    private double taxa;
+    // Instante teórico da próxima liberação; à frente do relógio quando há chamadas aguardando
+    private long proximaLiberacao;
+    private long ultimaReducao;
+
+    public LimitadorAdaptativo(ViaCepLimiteProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LimitadorAdaptativo(ViaCepLimiteProperties properties, LongSupplier relogio) {
+        this.habilitado = properties.isHabilitado();
+        this.taxaMinima = properties.getTaxaMinima();
+        this.taxaMaxima = properties.getTaxaMaxima();
+        this.incremento = properties.getIncremento();
+        this.fatorReducao = properties.getFatorReducao();
+        this.rajada = properties.getRajada();
+        this.intervaloReducaoNanos = properties.getIntervaloReducao().toNanos();
+        this.relogio = relogio;
+        this.taxa = Math.min(Math.max(properties.getTaxaInicial(), taxaMinima), taxaMaxima);
+        this.proximaLiberacao = relogio.getAsLong();
+        this.ultimaReducao = proximaLiberacao - intervaloReducaoNanos;
+    }
+
+    /**
+     * Reserva a vez de uma chamada. Devolve quantos nanos ela deve esperar antes de sair, ou -1 (sem reservar)
+     * quando a espera passaria de {@code esperaMaximaNanos}.
+     */
+    public synchronized long reservar(long esperaMaximaNanos) {
+        if (!habilitado) {
+            return 0;
+        }
+        long agora = relogio.getAsLong();
+        long intervalo = intervalo();
+        long liberacao = Math.max(proximaLiberacao, agora);
+        long espera = Math.max(0, liberacao - agora - (rajada - 1) * intervalo);
+        if (espera > esperaMaximaNanos) {
+            return -1;
+        }
+        proximaLiberacao = liberacao + intervalo;
+        return espera;
+    }
+
+    public synchronized void registrarSucesso() {
+        taxa = Math.min(taxaMaxima, taxa + incremento / taxa);
+    }
+
+    // Os 429 das chamadas que já estavam em voo contam como um único sinal de sobrecarga por intervaloReducao
+    public synchronized void registrarSobrecarga() {
+        long agora = relogio.getAsLong();
+        if (agora - ultimaReducao < intervaloReducaoNanos) {
+            return;
+        }
+        ultimaReducao = agora;
+        taxa = Math.max(taxaMinima, taxa * fatorReducao);
+    }
+
+    public synchronized double getTaxa() {
+        return taxa;
+    }
+
+    private long intervalo() {
+        return (long) (1_000_000_000L / taxa);
+    }
+}
@@ -0,0 +1,33 @@
+package com.mrsalustiano.spring.camel.client;
+
+import com.mrsalustiano.spring.camel.config.ViaCepRetentativaProperties;
+
+/**
+ * Orçamento de retentativas: cada consulta deposita {@code percentualOrcamento / 100} de uma retentativa e cada
+ * retentativa gasta uma inteira. Com o ViaCEP fora do ar as retentativas somam no máximo esse percentual das
+ * consultas (mais a reserva), em vez de multiplicar a carga por {@code maxTentativas}.
+ */
+public class OrcamentoRetentativas {
+
+    private final double deposito;
+    private final double saldoMaximo;
+    private double saldo;
+
+    public OrcamentoRetentativas(ViaCepRetentativaProperties properties) {
+        this.deposito = properties.getPercentualOrcamento() / 100;
+        this.saldoMaximo = properties.getReservaOrcamento();
+        this.saldo = saldoMaximo;
+    }
+
+    public synchronized void depositar() {
+        saldo = Math.min(saldoMaximo, saldo + deposito);
+    }
+
+    public synchronized boolean sacar() {
+        if (saldo < 1) {
+            return false;
+        }
+        saldo -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,27 @@
+package com.mrsalustiano.spring.camel.client;
+
+import java.time.Duration;
+
+/**
+ * Prazo total de uma requisição. Cada chamada ao ViaCEP recebe o próprio orçamento de timeout, limitado ao
+ * que ainda resta do prazo; esgotado o prazo, a chamada nem é feita.
+ */
+public record Prazo(long limiteNanos) {
+
+    public static Prazo em(Duration duracao) {
+        return new Prazo(System.nanoTime() + duracao.toNanos());
+    }
+
+    public Duration restante() {
+        return Duration.ofNanos(limiteNanos - System.nanoTime());
+    }
+
+    // Timeout de uma chamada: o orçamento dela ou o restante do prazo, o que for menor
+    public Duration limitar(Duration orcamento) {
+        Duration restante = restante();
+        if (restante.isNegative() || restante.isZero()) {
+            throw new PrazoEsgotadoException("Prazo da requisição esgotado antes da consulta ao ViaCEP");
+        }
+        return restante.compareTo(orcamento) < 0 ? restante : orcamento;
+    }
+}
@@ -0,0 +1,13 @@
+package com.mrsalustiano.spring.camel.client;
+
+// O ViaCEP não respondeu dentro do orçamento da chamada ou o prazo da requisição acabou antes dela
+public class PrazoEsgotadoException extends RuntimeException {
+
+    public PrazoEsgotadoException(String mensagem) {
+        super(mensagem);
+    }
+
+    public PrazoEsgotadoException(String mensagem, Throwable causa) {
+        super(mensagem, causa);
+    }
+}
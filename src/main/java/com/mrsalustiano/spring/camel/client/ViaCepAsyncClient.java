@@ -0,0 +1,112 @@
+package com.mrsalustiano.spring.camel.client;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.config.ViaCepAsyncProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Variante não bloqueante do {@link ViaCepClient}, sobre o {@link HttpClient} do JDK (HTTP/2 quando o servidor
+ * aceita). As requisições ficam pendentes no seletor do cliente; as threads só são usadas para tratar respostas.
+ */
+@Component
+public class ViaCepAsyncClient {
+
+    private static final TypeReference<Endereco> ENDERECO = new TypeReference<>() {
+    };
+    private static final TypeReference<List<Endereco>> ENDERECOS = new TypeReference<>() {
+    };
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String url;
+
+    public ViaCepAsyncClient(@Value("${viacep.api.url}") String url, ViaCepAsyncProperties properties,
+                             ObjectMapper objectMapper, @Qualifier("viaCepAsyncExecutor") ExecutorService executor) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(properties.getTimeoutConexao())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
+                .build();
+        this.objectMapper = objectMapper;
+        this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public CompletableFuture<Endereco> consultarCep(String cep, Duration timeout) {
+        return consultar("/" + segmento(cep) + "/json/", ENDERECO, timeout);
+    }
+
+    public CompletableFuture<List<Endereco>> consultarPorEndereco(String uf, String cidade, String logradouro,
+                                                                  Duration timeout) {
+        return consultar("/" + segmento(uf) + "/" + segmento(cidade) + "/" + segmento(logradouro) + "/json/",
+                ENDERECOS, timeout);
+    }
+
+    @PreDestroy
+    void fechar() {
+        httpClient.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> consultar(String caminho, TypeReference<T> tipo, Duration timeout) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + caminho))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(resposta -> {
+                    if (resposta.statusCode() / 100 != 2) {
+                        throw new ViaCepException(resposta.statusCode(),
+                                "ViaCEP respondeu HTTP " + resposta.statusCode(),
+                                resposta.headers().firstValue("Retry-After")
+                                        .map(valor -> retryAfter(valor, System.currentTimeMillis()))
+                                        .orElse(null));
+                    }
+                    try {
+                        return objectMapper.readValue(resposta.body(), tipo);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    // Retry-After em segundos ou como data HTTP, convertido no instante (epoch ms) a partir do qual repetir
+    static Long retryAfter(String valor, long agora) {
+        String texto = valor.trim();
+        if (!texto.isEmpty() && texto.chars().allMatch(Character::isDigit)) {
+            return agora + TimeUnit.SECONDS.toMillis(Long.parseLong(texto));
+        }
+        try {
+            return ZonedDateTime.parse(texto, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    // Mesma codificação de path variables do Feign: espaço vira %20, não '+'
+    private static String segmento(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -1,22 +1,25 @@
 package com.mrsalustiano.spring.camel.client;
 
 import com.mrsalustiano.spring.camel.model.Endereco;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
 import java.util.List;
 
+// O parâmetro Request.Options substitui, por chamada, os timeouts de spring.cloud.openfeign.client.config.viaCepClient
 @FeignClient(name = "viaCepClient", url = "${viacep.api.url}")
 public interface ViaCepClient {
 
     @GetMapping("/{cep}/json/")
-    Endereco consultarCep(@PathVariable("cep") String cep);
+    Endereco consultarCep(@PathVariable("cep") String cep, Request.Options opcoes);
 
     // 👇 Novo método para consulta por endereço
     @GetMapping("/{uf}/{cidade}/{logradouro}/json/")
     List<Endereco> consultarPorEndereco(
             @PathVariable("uf") String uf,
             @PathVariable("cidade") String cidade,
-            @PathVariable("logradouro") String logradouro);
+            @PathVariable("logradouro") String logradouro,
+            Request.Options opcoes);
 }
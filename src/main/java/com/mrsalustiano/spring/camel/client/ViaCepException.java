@@ -0,0 +1,22 @@
+package com.mrsalustiano.spring.camel.client;
+
+import lombok.Getter;
+
+// Resposta de erro do ViaCEP recebida pelo cliente assíncrono
+@Getter
+public class ViaCepException extends RuntimeException {
+
+    private final int status;
+    // Instante (epoch ms) do Retry-After, como no RetryableException do Feign; null quando a resposta não traz
+    private final Long retryAfter;
+
+    public ViaCepException(int status, String mensagem) {
+        this(status, mensagem, null);
+    }
+
+    public ViaCepException(int status, String mensagem, Long retryAfter) {
+        super(mensagem);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,346 @@
+package com.mrsalustiano.spring.camel.client;
+
+import com.mrsalustiano.spring.camel.config.ViaCepAsyncProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepLimiteProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepPrazoProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepResilienciaProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepRetentativaProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Ponto único de acesso ao ViaCEP. Com {@code viacep.async.habilitado} usa o cliente não bloqueante;
+ * caso contrário chama o Feign na própria thread e devolve o resultado já completo.
+ * Cada chamada usa o orçamento de timeout do seu endpoint, limitado ao que resta do {@link Prazo},
+ * e passa por um bulkhead e um circuit breaker compartilhados pelos dois endpoints.
+ * Liberada por eles, cada tentativa espera a vez no {@link LimitadorAdaptativo}; 429, 5xx e falhas de conexão são
+ * repetidos com backoff exponencial e jitter enquanto houver prazo e {@link OrcamentoRetentativas}.
+ * A latência de cada tentativa vai para o timer {@code viacep.chamadas}, por método, resultado e status HTTP.
+ */
+@Slf4j
+@Component
+public class ViaCepGateway {
+
+    private static final String CONSULTAR_CEP = "consultarCep";
+    private static final String CONSULTAR_POR_ENDERECO = "consultarPorEndereco";
+
+    private final ViaCepClient viaCepClient;
+    private final ViaCepAsyncClient viaCepAsyncClient;
+    private final boolean assincrono;
+    private final ViaCepPrazoProperties prazos;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final LimitadorAdaptativo limitador;
+    private final long esperaMaximaLimitador;
+    private final ViaCepRetentativaProperties retentativas;
+    private final OrcamentoRetentativas orcamentoRetentativas;
+    private final MeterRegistry registry;
+    // Contadores e timers registrados uma vez, fora do caminho de cada chamada
+    private final Map<String, Counter> retentativasPorMetodo;
+    private final Map<String, Counter> recusasPorMotivo;
+    private final Map<ChaveTimer, Timer> chamadas = new ConcurrentHashMap<>();
+
+    public ViaCepGateway(ViaCepClient viaCepClient, ViaCepAsyncClient viaCepAsyncClient,
+                         ViaCepAsyncProperties properties, ViaCepPrazoProperties prazos,
+                         ViaCepResilienciaProperties resiliencia, ViaCepLimiteProperties limite,
+                         ViaCepRetentativaProperties retentativas, MeterRegistry registry) {
+        this.viaCepClient = viaCepClient;
+        this.viaCepAsyncClient = viaCepAsyncClient;
+        this.assincrono = properties.isHabilitado();
+        this.prazos = prazos;
+        this.circuitBreaker = CircuitBreaker.of("viacep", CircuitBreakerConfig.custom()
+                .failureRateThreshold(resiliencia.getTaxaFalhas())
+                .slidingWindowSize(resiliencia.getJanela())
+                .minimumNumberOfCalls(resiliencia.getMinimoChamadas())
+                .waitDurationInOpenState(resiliencia.getTempoAberto())
+                .permittedNumberOfCallsInHalfOpenState(resiliencia.getChamadasMeioAberto())
+                .recordException(ViaCepGateway::falhaDoViaCep)
+                .build());
+        this.bulkhead = Bulkhead.of("viacep", BulkheadConfig.custom()
+                .maxConcurrentCalls(resiliencia.getMaxConcorrentes())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        this.limitador = new LimitadorAdaptativo(limite);
+        this.esperaMaximaLimitador = limite.getEsperaMaxima().toNanos();
+        this.retentativas = retentativas;
+        this.orcamentoRetentativas = new OrcamentoRetentativas(retentativas);
+        this.registry = registry;
+
+        int maxConcorrentes = resiliencia.getMaxConcorrentes();
+        Gauge.builder("viacep.chamadas.ativas", bulkhead,
+                        b -> maxConcorrentes - b.getMetrics().getAvailableConcurrentCalls())
+                .description("Chamadas ao ViaCEP em andamento, incluindo as que aguardam a vez no limitador")
+                .register(registry);
+        Gauge.builder("viacep.limite.taxa", limitador, LimitadorAdaptativo::getTaxa)
+                .description("Taxa (req/s) aprendida pelo limitador adaptativo")
+                .register(registry);
+        Gauge.builder("viacep.circuito.estado", circuitBreaker, cb -> cb.getState().getOrder())
+                .description("Estado do circuit breaker: 0 fechado, 1 aberto, 2 meio aberto")
+                .register(registry);
+        this.retentativasPorMetodo = Stream.of(CONSULTAR_CEP, CONSULTAR_POR_ENDERECO)
+                .collect(Collectors.toUnmodifiableMap(Function.identity(),
+                        metodo -> Counter.builder("viacep.retentativas").tag("metodo", metodo).register(registry)));
+        this.recusasPorMotivo = Stream.of("limite", "bulkhead", "circuito")
+                .collect(Collectors.toUnmodifiableMap(Function.identity(),
+                        motivo -> Counter.builder("viacep.recusas").tag("motivo", motivo).register(registry)));
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public LimitadorAdaptativo getLimitador() {
+        return limitador;
+    }
+
+    // Prazo para quem não recebeu um da exchange (lotes, validação de arquivos)
+    public Prazo novoPrazo() {
+        return Prazo.em(prazos.getTotal());
+    }
+
+    public CompletableFuture<Endereco> consultarCep(String cep, Prazo prazo) {
+        return chamar(CONSULTAR_CEP, prazo, prazos.getConsultaCep(),
+                timeout -> viaCepAsyncClient.consultarCep(cep, timeout),
+                opcoes -> viaCepClient.consultarCep(cep, opcoes));
+    }
+
+    public CompletableFuture<List<Endereco>> consultarPorEndereco(String uf, String cidade, String logradouro,
+                                                                  Prazo prazo) {
+        return chamar(CONSULTAR_POR_ENDERECO, prazo, prazos.getConsultaEndereco(),
+                timeout -> viaCepAsyncClient.consultarPorEndereco(uf, cidade, logradouro, timeout),
+                opcoes -> viaCepClient.consultarPorEndereco(uf, cidade, logradouro, opcoes));
+    }
+
+    private <T> CompletableFuture<T> chamar(String metodo, Prazo prazo, Duration orcamento,
+                                            Function<Duration, CompletableFuture<T>> chamadaAssincrona,
+                                            Function<Request.Options, T> chamadaFeign) {
+        orcamentoRetentativas.depositar();
+        return tentar(1, metodo, prazo, orcamento, chamadaAssincrona, chamadaFeign);
+    }
+
+    // Os dois endpoints do ViaCEP são GETs idempotentes, então qualquer tentativa pode ser repetida
+    private <T> CompletableFuture<T> tentar(int tentativa, String metodo, Prazo prazo, Duration orcamento,
+                                            Function<Duration, CompletableFuture<T>> chamadaAssincrona,
+                                            Function<Request.Options, T> chamadaFeign) {
+        if (!bulkhead.tryAcquirePermission()) {
+            return recusar("bulkhead", "Limite de consultas simultâneas ao ViaCEP atingido");
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            return recusar("circuito", "ViaCEP indisponível no momento, tente novamente em instantes");
+        }
+        // Só chamadas que o bulkhead e o circuito deixaram passar consomem a vez no limitador
+        long restante = prazo.restante().toNanos();
+        long vez = limitador.reservar(Math.min(esperaMaximaLimitador, Math.max(0, restante)));
+        if (vez < 0) {
+            liberar();
+            if (esperaMaximaLimitador >= restante) {
+                return CompletableFuture.failedFuture(new PrazoEsgotadoException(
+                        "Prazo da requisição esgotado aguardando a vez de consultar o ViaCEP"));
+            }
+            return recusar("limite", "Limite de consultas por segundo ao ViaCEP atingido");
+        }
+        return depois(vez, () -> executar(metodo, prazo, orcamento, chamadaAssincrona, chamadaFeign), this::liberar)
+                .exceptionallyCompose(erro -> {
+                    Throwable causa = desembrulhar(erro);
+                    long espera = tentativa < retentativas.getMaxTentativas() && retentavel(causa)
+                            ? espera(tentativa, causa) : -1;
+                    if (espera < 0 || espera >= prazo.restante().toNanos() || !orcamentoRetentativas.sacar()) {
+                        return CompletableFuture.failedFuture(causa);
+                    }
+                    log.debug("Tentativa {} ao ViaCEP falhou ({}), repetindo em {} ms", tentativa, causa.getMessage(),
+                            TimeUnit.NANOSECONDS.toMillis(espera));
+                    retentativasPorMetodo.get(metodo).increment();
+                    return depois(espera, () -> tentar(tentativa + 1, metodo, prazo, orcamento, chamadaAssincrona,
+                            chamadaFeign), () -> {
+                    });
+                });
+    }
+
+    private <T> CompletableFuture<T> executar(String metodo, Prazo prazo, Duration orcamento,
+                                              Function<Duration, CompletableFuture<T>> chamadaAssincrona,
+                                              Function<Request.Options, T> chamadaFeign) {
+        Duration timeout;
+        try {
+            timeout = prazo.limitar(orcamento);
+        } catch (PrazoEsgotadoException e) {
+            liberar();
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long inicio = System.nanoTime();
+        CompletableFuture<T> chamada = assincrono
+                ? chamadaAssincrona.apply(timeout)
+                : naThreadAtual(() -> chamadaFeign.apply(new Request.Options(timeout, timeout, true)));
+        return chamada.exceptionallyCompose(erro -> {
+            Throwable causa = desembrulhar(erro);
+            return CompletableFuture.failedFuture(estourouTimeout(causa)
+                    ? new PrazoEsgotadoException("ViaCEP não respondeu em " + timeout.toMillis() + " ms", causa)
+                    : causa);
+        }).whenComplete((resultado, erro) -> {
+            bulkhead.onComplete();
+            long duracao = System.nanoTime() - inicio;
+            Throwable causa = erro != null ? desembrulhar(erro) : null;
+            chamadas.computeIfAbsent(new ChaveTimer(metodo, resultado(causa), causa == null ? 200 : status(causa)),
+                            this::registrarTimer)
+                    .record(duracao, TimeUnit.NANOSECONDS);
+            if (causa == null) {
+                circuitBreaker.onSuccess(duracao, TimeUnit.NANOSECONDS);
+                limitador.registrarSucesso();
+            } else {
+                circuitBreaker.onError(duracao, TimeUnit.NANOSECONDS, causa);
+                if (sobrecarga(causa)) {
+                    limitador.registrarSobrecarga();
+                }
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> recusar(String motivo, String mensagem) {
+        recusasPorMotivo.get(motivo).increment();
+        return CompletableFuture.failedFuture(new ViaCepIndisponivelException(mensagem));
+    }
+
+    private Timer registrarTimer(ChaveTimer chave) {
+        return Timer.builder("viacep.chamadas")
+                .description("Latência das chamadas ao ViaCEP")
+                .tags("metodo", chave.metodo(), "resultado", chave.resultado(), "status", String.valueOf(chave.status()))
+                .register(registry);
+    }
+
+    // Os status HTTP possíveis são poucos, então os timers por combinação também são
+    private record ChaveTimer(String metodo, String resultado, int status) {
+    }
+
+    static String resultado(Throwable causa) {
+        if (causa == null) {
+            return "sucesso";
+        }
+        if (causa instanceof PrazoEsgotadoException) {
+            return "timeout";
+        }
+        int status = status(causa);
+        return status == 429 ? "limitado"
+                : status >= 500 ? "erro_servidor"
+                : status >= 400 ? "erro_cliente"
+                : "falha_conexao";
+    }
+
+    // Backoff exponencial com jitter completo; um Retry-After maior do ViaCEP prevalece
+    private long espera(int tentativa, Throwable causa) {
+        long teto = Math.min(retentativas.getEsperaMaxima().toNanos(),
+                retentativas.getEsperaInicial().toNanos() << Math.min(tentativa - 1, 30));
+        long espera = ThreadLocalRandom.current().nextLong(teto + 1);
+        Long retryAfter = causa instanceof RetryableException retryable ? retryable.retryAfter()
+                : causa instanceof ViaCepException viaCep ? viaCep.getRetryAfter() : null;
+        if (retryAfter != null) {
+            espera = Math.max(espera, TimeUnit.MILLISECONDS.toNanos(retryAfter - System.currentTimeMillis()));
+        }
+        return espera;
+    }
+
+    // Espera sem prender thread no modo assíncrono; no modo Feign a chamada já ocupa a thread da requisição
+    // desistir roda quando a espera é interrompida e a ação não chega a rodar
+    private <T> CompletableFuture<T> depois(long esperaNanos, Supplier<CompletableFuture<T>> acao, Runnable desistir) {
+        if (esperaNanos <= 0) {
+            return acao.get();
+        }
+        if (assincrono) {
+            return CompletableFuture.runAsync(() -> {
+            }, CompletableFuture.delayedExecutor(esperaNanos, TimeUnit.NANOSECONDS)).thenCompose(nada -> acao.get());
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(esperaNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            desistir.run();
+            return CompletableFuture.failedFuture(e);
+        }
+        return acao.get();
+    }
+
+    // Devolve as permissões do bulkhead e do circuito de uma tentativa que não chegou a chamar o ViaCEP
+    private void liberar() {
+        bulkhead.onComplete();
+        circuitBreaker.releasePermission();
+    }
+
+    // Só conta para o circuito o que indica ViaCEP degradado; 4xx (exceto 429) é problema da consulta
+    static boolean falhaDoViaCep(Throwable erro) {
+        int status = status(erro);
+        return status < 400 || status >= 500 || status == 429;
+    }
+
+    // Respostas com que o ViaCEP pede para diminuir o ritmo
+    static boolean sobrecarga(Throwable erro) {
+        int status = status(erro);
+        return status == 429 || status >= 500;
+    }
+
+    // 429, 5xx e falhas de conexão; timeouts não, porque já consumiram o orçamento da chamada
+    static boolean retentavel(Throwable erro) {
+        if (erro instanceof PrazoEsgotadoException || erro instanceof ViaCepIndisponivelException) {
+            return false;
+        }
+        return sobrecarga(erro) || erro instanceof RetryableException || erro instanceof IOException;
+    }
+
+    private static int status(Throwable erro) {
+        return erro instanceof FeignException feign ? feign.status()
+                : erro instanceof ViaCepException viaCep ? viaCep.getStatus() : -1;
+    }
+
+    // Feign embrulha o timeout do socket em RetryableException; o cliente do JDK lança HttpTimeoutException
+    static boolean estourouTimeout(Throwable erro) {
+        for (Throwable atual = erro; atual != null; atual = atual.getCause()) {
+            if (atual instanceof SocketTimeoutException || atual instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable desembrulhar(Throwable erro) {
+        return erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+    }
+
+    private static <T> CompletableFuture<T> naThreadAtual(Supplier<T> chamada) {
+        try {
+            return CompletableFuture.completedFuture(chamada.get());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
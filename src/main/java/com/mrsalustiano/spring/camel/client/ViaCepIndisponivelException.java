@@ -0,0 +1,9 @@
+package com.mrsalustiano.spring.camel.client;
+
+// Chamada recusada sem ir ao ViaCEP: circuito aberto ou limite de chamadas simultâneas atingido
+public class ViaCepIndisponivelException extends RuntimeException {
+
+    public ViaCepIndisponivelException(String mensagem) {
+        super(mensagem);
+    }
+}
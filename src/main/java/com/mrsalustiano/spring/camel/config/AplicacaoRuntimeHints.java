@@ -0,0 +1,41 @@
+package com.mrsalustiano.spring.camel.config;
+
+import com.mrsalustiano.spring.camel.client.ViaCepClient;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.EnderecoObsoleto;
+import com.mrsalustiano.spring.camel.model.ResultadoConsultaCep;
+import com.mrsalustiano.spring.camel.route.RespostaHttpBinding;
+import org.apache.camel.component.servlet.ServletComponent;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Dicas de reflexão, proxy e recursos para a imagem nativa ({@code mvn -Pnative package}): o que Jackson, Feign e o
+ * REST DSL do Camel resolvem em tempo de execução e a análise estática do GraalVM não enxerga.
+ */
+public class AplicacaoRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // Corpos JSON do ViaCEP e das respostas da API
+        for (Class<?> tipo : new Class<?>[]{Endereco.class, EnderecoObsoleto.class, ResultadoConsultaCep.class}) {
+            hints.reflection().registerType(tipo, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+        hints.reflection().registerType(Endereco[].class);
+        hints.reflection().registerType(String[].class);
+
+        // O Feign cria o cliente como proxy JDK e lê as anotações dos métodos
+        hints.proxies().registerJdkProxy(ViaCepClient.class);
+        hints.reflection().registerType(ViaCepClient.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+        // REST DSL: o Camel descobre componentes, configurers e linguagens por arquivos em META-INF/services
+        hints.resources().registerPattern("META-INF/services/org/apache/camel/*");
+        hints.resources().registerPattern("META-INF/services/org/apache/camel/*/*");
+        hints.reflection().registerType(ServletComponent.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(RespostaHttpBinding.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
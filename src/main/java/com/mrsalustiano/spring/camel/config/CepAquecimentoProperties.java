@@ -0,0 +1,31 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.aquecimento")
+public class CepAquecimentoProperties {
+
+    // Desligado por padrão, como o cache em disco, em cujo diretório o snapshot fica
+    private boolean habilitado = false;
+
+    // CEPs mais acessados, um por linha, do mais para o menos acessado; lido na inicialização.
+    // Vazio: ceps-quentes.txt no diretório do cache em disco (viacep.arquivo.caminho)
+    private String snapshot;
+
+    // Quantos CEPs entram no snapshot e são carregados no aquecimento
+    private int quantidade = 1000;
+
+    private Duration intervaloSnapshot = Duration.ofMinutes(5);
+
+    // Consultas simultâneas durante o aquecimento, para não disputar o limite do ViaCEP com o tráfego real
+    private int concorrencia = 8;
+
+    // Passado esse tempo a aplicação fica pronta mesmo com o aquecimento incompleto
+    private Duration prazo = Duration.ofSeconds(30);
+}
@@ -0,0 +1,37 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.cache")
+public class CepCacheProperties {
+
+    private boolean habilitado = true;
+
+    // Tempo de vida dos endereços encontrados
+    private Duration ttl = Duration.ofHours(24);
+
+    // Tempo de vida curto para as respostas {"erro": true} do ViaCEP
+    private Duration ttlNegativo = Duration.ofMinutes(10);
+
+    private long maxEntradas = 100_000;
+
+    // Depois do TTL o endereço ainda pode ser servido como obsoleto por esse tempo, enquanto é revalidado
+    private Duration janelaObsoleta = Duration.ofDays(7);
+
+    // Revalidações em segundo plano: threads e fila; com a fila cheia a revalidação fica para a próxima consulta
+    private int threadsRevalidacao = 2;
+
+    private int filaRevalidacao = 1000;
+
+    // Guarda junto do endereço o JSON compacto já codificado, escrito direto na resposta HTTP sem passar pelo Jackson
+    private boolean respostaJson = true;
+
+    // Guarda também a versão gzip do JSON, enviada a quem aceita Accept-Encoding: gzip
+    private boolean respostaGzip = false;
+}
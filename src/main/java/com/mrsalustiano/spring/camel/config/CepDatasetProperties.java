@@ -0,0 +1,25 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.dataset")
+public class CepDatasetProperties {
+
+    // Arquivo binário gerado pelo CepDatasetImporter; vazio desabilita a base local
+    private String arquivo;
+
+    private ModoConsulta modo = ModoConsulta.LOCAL_THEN_REMOTE;
+
+    public enum ModoConsulta {
+        // Somente ViaCEP
+        REMOTE,
+        // Somente a base local; CEPs ausentes são tratados como não encontrados
+        LOCAL,
+        // Base local primeiro, ViaCEP para os CEPs ausentes
+        LOCAL_THEN_REMOTE
+    }
+}
@@ -0,0 +1,17 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.faixa")
+public class CepFaixaProperties {
+
+    // Endereços por página nas consultas por prefixo e faixa quando a requisição não informa o limite
+    private int limitePadrao = 100;
+
+    // Maior limite aceito por página
+    private int limiteMaximo = 1000;
+}
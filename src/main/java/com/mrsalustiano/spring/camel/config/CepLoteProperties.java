@@ -0,0 +1,17 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.lote")
+public class CepLoteProperties {
+
+    // Quantidade máxima de CEPs aceitos em uma única requisição de lote
+    private int tamanhoMaximo = 1000;
+
+    // Consultas simultâneas ao ViaCEP disparadas pelos lotes (somando todos os lotes em andamento)
+    private int paralelismo = 16;
+}
@@ -0,0 +1,27 @@
+package com.mrsalustiano.spring.camel.config;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "viacep.validacao")
+public class CepValidacaoProperties {
+
+    // Linhas validadas em paralelo durante a leitura do arquivo
+    private int workers = 16;
+
+    // Linhas lidas e ainda não processadas; com a fila cheia a leitura pausa até um worker liberar
+    private int fila = 256;
+
+    // Diretório monitorado para validação de arquivos; vazio desabilita a rota de arquivos
+    private String diretorioEntrada;
+
+    // Onde os resultados (<arquivo>.resultado.ndjson) são gravados; validado na inicialização
+    @NotBlank
+    private String diretorioSaida;
+}
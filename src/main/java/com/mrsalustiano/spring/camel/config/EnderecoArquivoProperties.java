@@ -0,0 +1,31 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.arquivo")
+public class EnderecoArquivoProperties {
+
+    // Desligado por padrão: ao ligar, aponte o caminho para um volume persistente
+    private boolean habilitado = false;
+
+    // Log append-only com os endereços consultados; sobrevive a reinícios
+    private String caminho = "data/cache/enderecos.log";
+
+    private Duration ttl = Duration.ofDays(30);
+
+    // Acima disso novos CEPs deixam de ser gravados
+    private DataSize tamanhoMaximo = DataSize.ofGigabytes(1);
+
+    // Reescreve o arquivo só com os registros vigentes quando o espaço obsoleto passa deste percentual...
+    private int percentualObsoleto = 50;
+
+    // ...e o arquivo tem pelo menos este tamanho
+    private DataSize tamanhoMinimoCompactacao = DataSize.ofMegabytes(16);
+}
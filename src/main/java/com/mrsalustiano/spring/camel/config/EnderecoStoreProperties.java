@@ -0,0 +1,24 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.store")
+public class EnderecoStoreProperties {
+
+    private boolean habilitado = true;
+
+    // Dados de CEP quase nunca mudam, então o armazenamento compacto pode viver mais que o cache
+    private Duration ttl = Duration.ofDays(30);
+
+    private DataSize capacidadeInicial = DataSize.ofMegabytes(4);
+
+    // Limite da área off-heap onde os registros são guardados
+    private DataSize capacidadeMaxima = DataSize.ofMegabytes(512);
+}
@@ -0,0 +1,71 @@
+package com.mrsalustiano.spring.camel.config;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Uma virtual thread por tarefa, com no máximo {@code limite} tarefas em execução. Quem submete além do
+ * limite espera uma vaga, o que preserva o controle de concorrência (e de leitura) dos pools fixos.
+ */
+class ExecutorVirtualLimitado extends AbstractExecutorService {
+
+    private final ExecutorService threads;
+    private final Semaphore vagas;
+
+    ExecutorVirtualLimitado(String prefixo, int limite) {
+        this.threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefixo, 1).factory());
+        this.vagas = new Semaphore(limite);
+    }
+
+    @Override
+    public void execute(Runnable tarefa) {
+        try {
+            vagas.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrompido aguardando vaga no executor", e);
+        }
+        try {
+            threads.execute(() -> {
+                try {
+                    tarefa.run();
+                } finally {
+                    vagas.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            vagas.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        threads.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return threads.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return threads.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return threads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return threads.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,54 @@
+package com.mrsalustiano.spring.camel.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Com spring.threads.virtual.enabled os pools viram virtual threads, mantendo o mesmo limite de concorrência
+@Configuration
+public class ExecutoresConfig {
+
+    // Pool compartilhado pelos lotes: o tamanho do pool é o limite de consultas simultâneas
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cepLoteExecutor(CepLoteProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new ExecutorVirtualLimitado("cep-lote-", properties.getParalelismo());
+        }
+        return Executors.newFixedThreadPool(properties.getParalelismo(), new CustomizableThreadFactory("cep-lote-"));
+    }
+
+    // Fila limitada + CallerRuns: quando os workers não dão conta, quem lê o arquivo processa a linha
+    // e para de ler, mantendo a memória constante independente do tamanho da entrada.
+    // Em virtual threads o mesmo efeito vem do leitor esperando uma vaga.
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cepValidacaoExecutor(CepValidacaoProperties properties, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            return new ExecutorVirtualLimitado("cep-validacao-", properties.getWorkers());
+        }
+        return new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getFila()), new CustomizableThreadFactory("cep-validacao-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // Revalidação de endereços obsoletos: nunca bloqueia quem pediu; com a fila cheia a tarefa é recusada
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cepRevalidacaoExecutor(CepCacheProperties properties) {
+        return new ThreadPoolExecutor(properties.getThreadsRevalidacao(), properties.getThreadsRevalidacao(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getFilaRevalidacao()),
+                new CustomizableThreadFactory("cep-revalidacao-"), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Recebe as respostas do cliente HTTP assíncrono; poucas threads atendem milhares de chamadas pendentes
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService viaCepAsyncExecutor(ViaCepAsyncProperties properties) {
+        return Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("viacep-async-"));
+    }
+}
@@ -0,0 +1,24 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.filtro")
+public class FiltroCepsProperties {
+
+    // Filtro de Bloom com os CEPs conhecidos; só descarta CEPs quando montado a partir de uma base local completa
+    private boolean habilitado = true;
+
+    // Trata a base local como completa também no modo local-then-remote: CEPs fora dela não vão ao ViaCEP
+    // (no modo local ela já é a única fonte)
+    private boolean baseCompleta = false;
+
+    // CEPs esperados no filtro (a base local maior que isso aumenta o filtro)
+    private int capacidade = 2_000_000;
+
+    // Taxa de falsos positivos na capacidade; falsos negativos não existem
+    private double taxaFalsoPositivo = 0.01;
+}
@@ -0,0 +1,17 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.indice")
+public class IndiceEnderecosProperties {
+
+    // Índice em memória para a busca por UF/cidade/logradouro; só responde pelas cidades da base local
+    private boolean habilitado = true;
+
+    // Máximo de endereços por busca (o ViaCEP devolve até 50)
+    private int limite = 50;
+}
@@ -0,0 +1,14 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.log")
+public class LogProperties {
+
+    // Fração das consultas bem-sucedidas que vão para o log (1.0 = todas, 0.01 = uma em cada cem, 0 = nenhuma)
+    private double amostragemSucesso = 1.0;
+}
@@ -0,0 +1,20 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.resposta")
+public class RespostaHttpProperties {
+
+    // Cache-Control das buscas por endereço, que não passam pelo cache do serviço (as de CEP usam viacep.cache.ttl)
+    private Duration maxAgeEndereco = Duration.ofHours(1);
+
+    // Listas de endereços a partir deste tamanho saem em gzip para quem aceita
+    private DataSize gzipTamanhoMinimo = DataSize.ofKilobytes(1);
+}
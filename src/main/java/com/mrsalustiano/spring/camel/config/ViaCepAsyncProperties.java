@@ -0,0 +1,21 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.async")
+public class ViaCepAsyncProperties {
+
+    // Consulta o ViaCEP com o cliente HTTP não bloqueante em vez do Feign
+    private boolean habilitado = false;
+
+    // Threads que recebem as respostas; as requisições em andamento não ocupam thread nenhuma
+    private int threads = 4;
+
+    private Duration timeoutConexao = Duration.ofSeconds(3);
+}
@@ -0,0 +1,52 @@
+package com.mrsalustiano.spring.camel.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Transporte do Feign: Apache HttpClient 5 com pool de conexões persistentes, evitando um handshake TLS
+// com o ViaCEP a cada consulta. O cliente em si continua sendo montado pelo spring-cloud-openfeign.
+@Configuration
+public class ViaCepHttpConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager viaCepConnectionManager(ViaCepHttpProperties properties) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(properties.getMaxConexoes())
+                .setMaxConnPerRoute(properties.getMaxConexoesPorRota())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.of(properties.getTempoDeVida()))
+                        .setValidateAfterInactivity(TimeValue.of(properties.getValidarAposInatividade()))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    public HttpClientBuilderCustomizer viaCepHttpClientCustomizer(ViaCepHttpProperties properties) {
+        return builder -> builder
+                .evictIdleConnections(TimeValue.of(properties.getOciosidadeMaxima()))
+                .setKeepAliveStrategy(keepAlive(TimeValue.of(properties.getKeepAlive())));
+    }
+
+    // Expõe httpcomponents.httpclient.pool.* (leased, pending, available, max) com a tag httpclient=viacep
+    @Bean
+    public MeterBinder viaCepConnectionPoolMetrics(PoolingHttpClientConnectionManager viaCepConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(viaCepConnectionManager, "viacep");
+    }
+
+    // Respeita o Keep-Alive do servidor, limitado ao máximo configurado
+    static ConnectionKeepAliveStrategy keepAlive(TimeValue maximo) {
+        return (resposta, contexto) -> {
+            TimeValue servidor = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(resposta, contexto);
+            return TimeValue.isPositive(servidor) && servidor.compareTo(maximo) < 0 ? servidor : maximo;
+        };
+    }
+}
@@ -0,0 +1,30 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.http.pool")
+public class ViaCepHttpProperties {
+
+    // Conexões abertas no total e por host; o ViaCEP é uma rota só, então os dois limites andam juntos
+    private int maxConexoes = 200;
+
+    private int maxConexoesPorRota = 100;
+
+    // Conexões paradas há mais tempo que isso são fechadas em segundo plano
+    private Duration ociosidadeMaxima = Duration.ofSeconds(30);
+
+    // Tempo máximo de reuso quando o servidor não informa Keep-Alive (ou informa um valor maior)
+    private Duration keepAlive = Duration.ofMinutes(1);
+
+    // Idade máxima de uma conexão, mesmo em uso contínuo (renova DNS/balanceamento)
+    private Duration tempoDeVida = Duration.ofMinutes(5);
+
+    // Conexão reaproveitada depois desse intervalo parada é validada antes do envio
+    private Duration validarAposInatividade = Duration.ofSeconds(2);
+}
@@ -0,0 +1,37 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.limite")
+public class ViaCepLimiteProperties {
+
+    private boolean habilitado = true;
+
+    // Taxa (req/s) de partida e faixa em que o limitador pode ajustá-la
+    private double taxaInicial = 50;
+
+    private double taxaMinima = 1;
+
+    private double taxaMaxima = 500;
+
+    // Aumento da taxa (req/s) a cada segundo de respostas bem-sucedidas
+    private double incremento = 5;
+
+    // Multiplicador aplicado à taxa quando o ViaCEP responde 429 ou 5xx
+    private double fatorReducao = 0.5;
+
+    // Intervalo mínimo entre duas reduções, para uma rajada de 429 não derrubar a taxa várias vezes
+    private Duration intervaloReducao = Duration.ofSeconds(1);
+
+    // Chamadas que podem sair juntas quando o limitador estava ocioso
+    private int rajada = 10;
+
+    // Espera máxima pela vez; acima disso a consulta falha com 503 em vez de enfileirar
+    private Duration esperaMaxima = Duration.ofMillis(500);
+}
@@ -0,0 +1,21 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.prazo")
+public class ViaCepPrazoProperties {
+
+    // Prazo total de uma requisição, contado desde a criação da exchange
+    private Duration total = Duration.ofSeconds(6);
+
+    // Orçamento de cada chamada ao ViaCEP (conexão e leitura), sempre limitado ao que resta do prazo total
+    private Duration consultaCep = Duration.ofSeconds(3);
+
+    private Duration consultaEndereco = Duration.ofSeconds(5);
+}
@@ -0,0 +1,29 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.resiliencia")
+public class ViaCepResilienciaProperties {
+
+    // Percentual de falhas (timeouts, 5xx, erros de rede) nas últimas chamadas que abre o circuito
+    private float taxaFalhas = 50;
+
+    // Quantidade de chamadas observadas e mínimo antes de calcular a taxa
+    private int janela = 50;
+
+    private int minimoChamadas = 20;
+
+    // Tempo com o circuito aberto antes de deixar passar chamadas de teste
+    private Duration tempoAberto = Duration.ofSeconds(30);
+
+    private int chamadasMeioAberto = 5;
+
+    // Chamadas simultâneas ao ViaCEP; acima disso a consulta falha na hora em vez de esperar
+    private int maxConcorrentes = 100;
+}
@@ -0,0 +1,27 @@
+package com.mrsalustiano.spring.camel.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "viacep.retentativa")
+public class ViaCepRetentativaProperties {
+
+    // Tentativas por consulta, contando a primeira; 1 desliga as retentativas
+    private int maxTentativas = 3;
+
+    // Backoff exponencial com jitter completo: espera sorteada entre zero e esperaInicial * 2^(tentativa - 1)
+    private Duration esperaInicial = Duration.ofMillis(100);
+
+    private Duration esperaMaxima = Duration.ofSeconds(2);
+
+    // Retentativas permitidas, em % das consultas; limita quanto as retentativas aumentam a carga no ViaCEP
+    private double percentualOrcamento = 10;
+
+    // Retentativas guardadas para períodos de pouco tráfego
+    private int reservaOrcamento = 10;
+}
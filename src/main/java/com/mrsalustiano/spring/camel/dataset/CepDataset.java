@@ -0,0 +1,168 @@
+package com.mrsalustiano.spring.camel.dataset;
+
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties;
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties.ModoConsulta;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Base local de CEPs, lida do arquivo gerado pelo {@link CepDatasetImporter}.
+ * O arquivo é mapeado em memória e a busca binária acontece direto sobre o índice mapeado,
+ * sem copiar dados para o heap; apenas o registro encontrado é decodificado.
+ */
+@Slf4j
+@Component
+public class CepDataset {
+
+    private final ModoConsulta modo;
+    private final ByteBuffer indice;
+    private final ByteBuffer dados;
+    private final int quantidade;
+
+    public CepDataset(CepDatasetProperties properties) {
+        this.modo = properties.getModo();
+        String arquivo = properties.getArquivo();
+        if (modo == ModoConsulta.REMOTE || !StringUtils.hasText(arquivo)) {
+            if (modo == ModoConsulta.LOCAL) {
+                log.warn("Modo de consulta LOCAL sem viacep.dataset.arquivo configurado: nenhum CEP será encontrado");
+            }
+            this.indice = null;
+            this.dados = null;
+            this.quantidade = 0;
+            return;
+        }
+
+        MappedByteBuffer mapeado = mapear(Path.of(arquivo));
+        if (mapeado.getInt(0) != CepDatasetFormato.MAGICO || mapeado.getInt(Integer.BYTES) != CepDatasetFormato.VERSAO) {
+            throw new IllegalStateException("Arquivo da base local de CEPs inválido: " + arquivo);
+        }
+        this.quantidade = mapeado.getInt(2 * Integer.BYTES);
+        int tamanhoIndice = quantidade * CepDatasetFormato.TAMANHO_ENTRADA_INDICE;
+        this.indice = mapeado.slice(CepDatasetFormato.TAMANHO_CABECALHO, tamanhoIndice);
+        int inicioDados = CepDatasetFormato.TAMANHO_CABECALHO + tamanhoIndice;
+        this.dados = mapeado.slice(inicioDados, mapeado.capacity() - inicioDados);
+        log.info("Base local de CEPs carregada de {} com {} registros (modo {})", arquivo, quantidade, modo);
+    }
+
+    public boolean isDisponivel() {
+        return indice != null;
+    }
+
+    // Indica se a base local deve ser consultada antes do ViaCEP
+    public boolean consultaLocal() {
+        return modo != ModoConsulta.REMOTE && isDisponivel();
+    }
+
+    // Indica se CEPs ausentes na base local ainda podem ser buscados no ViaCEP
+    public boolean consultaRemota() {
+        return modo != ModoConsulta.LOCAL;
+    }
+
+    public int tamanho() {
+        return quantidade;
+    }
+
+    public Endereco buscar(int cep) {
+        if (!isDisponivel()) {
+            return null;
+        }
+        int posicao = posicao(cep);
+        if (posicao < 0) {
+            return null;
+        }
+        return CepDatasetFormato.decodificar(dados, deslocamento(posicao), cep);
+    }
+
+    public boolean contem(int cep) {
+        return isDisponivel() && posicao(cep) >= 0;
+    }
+
+    // Até limite registros com CEP em [inicio, fim], em ordem: busca binária pelo primeiro e leitura sequencial
+    // do índice a partir dele, O(log n + k)
+    public List<Endereco> faixa(int inicio, int fim, int limite) {
+        if (!isDisponivel() || inicio > fim || limite <= 0) {
+            return List.of();
+        }
+        int posicao = posicao(inicio);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+        }
+        List<Endereco> enderecos = new ArrayList<>(Math.min(limite, 64));
+        for (; posicao < quantidade && enderecos.size() < limite; posicao++) {
+            int cep = cepNaPosicao(posicao);
+            if (cep > fim) {
+                break;
+            }
+            enderecos.add(CepDatasetFormato.decodificar(dados, deslocamento(posicao), cep));
+        }
+        return enderecos;
+    }
+
+    // Só os CEPs, lidos do índice sem decodificar os registros
+    public void percorrerCeps(IntConsumer consumidor) {
+        for (int posicao = 0; posicao < quantidade; posicao++) {
+            consumidor.accept(cepNaPosicao(posicao));
+        }
+    }
+
+    // Decodifica todos os registros em ordem de CEP; usado para montar índices em memória
+    public void percorrer(Consumer<Endereco> consumidor) {
+        for (int posicao = 0; posicao < quantidade; posicao++) {
+            consumidor.accept(CepDatasetFormato.decodificar(dados, deslocamento(posicao), cepNaPosicao(posicao)));
+        }
+    }
+
+    // Busca binária no índice mapeado; retorna -(ponto de inserção + 1) quando o CEP não existe
+    int posicao(int cep) {
+        int inicio = 0;
+        int fim = quantidade - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int atual = cepNaPosicao(meio);
+            if (atual < cep) {
+                inicio = meio + 1;
+            } else if (atual > cep) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(inicio + 1);
+    }
+
+    int cepNaPosicao(int posicao) {
+        return indice.getInt(posicao * CepDatasetFormato.TAMANHO_ENTRADA_INDICE);
+    }
+
+    private int deslocamento(int posicao) {
+        return indice.getInt(posicao * CepDatasetFormato.TAMANHO_ENTRADA_INDICE + Integer.BYTES);
+    }
+
+    private static MappedByteBuffer mapear(Path arquivo) {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = Files.size(arquivo);
+            if (tamanho > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Base local de CEPs maior que 2 GB não é suportada: " + arquivo);
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir a base local de CEPs: " + arquivo, e);
+        }
+    }
+}
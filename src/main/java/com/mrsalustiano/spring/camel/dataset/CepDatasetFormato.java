@@ -0,0 +1,87 @@
+package com.mrsalustiano.spring.camel.dataset;
+
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout do arquivo da base local de CEPs (big-endian):
+ * <pre>
+ * cabeçalho: int MAGICO | int VERSAO | int quantidade | int reservado
+ * índice:    quantidade x (int cep | int deslocamento), ordenado por CEP
+ * dados:     registros com os campos do endereço (u16 tamanho + UTF-8, 0xFFFF = nulo)
+ * </pre>
+ * O índice tem largura fixa, o que permite a busca binária direto no arquivo mapeado.
+ */
+final class CepDatasetFormato {
+
+    static final int MAGICO = 0x43455044; // "CEPD"
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 4 * Integer.BYTES;
+    static final int TAMANHO_ENTRADA_INDICE = 2 * Integer.BYTES;
+
+    private static final int NULO = 0xFFFF;
+
+    private CepDatasetFormato() {
+    }
+
+    static byte[] codificar(Endereco endereco) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            escreverCampo(saida, endereco.getLogradouro());
+            escreverCampo(saida, endereco.getComplemento());
+            escreverCampo(saida, endereco.getBairro());
+            escreverCampo(saida, endereco.getLocalidade());
+            escreverCampo(saida, endereco.getUf());
+            escreverCampo(saida, endereco.getIbge());
+            escreverCampo(saida, endereco.getGia());
+            escreverCampo(saida, endereco.getDdd());
+            escreverCampo(saida, endereco.getSiafi());
+        }
+        return bytes.toByteArray();
+    }
+
+    static Endereco decodificar(ByteBuffer dados, int posicao, int cep) {
+        int[] cursor = {posicao};
+        Endereco endereco = new Endereco();
+        endereco.setCep(CepNumerico.formatarComHifen(cep));
+        endereco.setLogradouro(lerCampo(dados, cursor));
+        endereco.setComplemento(lerCampo(dados, cursor));
+        endereco.setBairro(lerCampo(dados, cursor));
+        endereco.setLocalidade(lerCampo(dados, cursor));
+        endereco.setUf(lerCampo(dados, cursor));
+        endereco.setIbge(lerCampo(dados, cursor));
+        endereco.setGia(lerCampo(dados, cursor));
+        endereco.setDdd(lerCampo(dados, cursor));
+        endereco.setSiafi(lerCampo(dados, cursor));
+        return endereco;
+    }
+
+    private static void escreverCampo(DataOutputStream saida, String valor) throws IOException {
+        if (valor == null) {
+            saida.writeShort(NULO);
+            return;
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        int tamanho = Math.min(bytes.length, NULO - 1);
+        saida.writeShort(tamanho);
+        saida.write(bytes, 0, tamanho);
+    }
+
+    private static String lerCampo(ByteBuffer dados, int[] cursor) {
+        int tamanho = dados.getChar(cursor[0]);
+        cursor[0] += Character.BYTES;
+        if (tamanho == NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanho];
+        dados.get(cursor[0], bytes);
+        cursor[0] += tamanho;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
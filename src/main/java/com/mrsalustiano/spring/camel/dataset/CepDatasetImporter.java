@@ -0,0 +1,197 @@
+package com.mrsalustiano.spring.camel.dataset;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converte um dump de endereços (CSV com cabeçalho, array JSON ou NDJSON) no arquivo binário
+ * ordenado por CEP lido pelo {@link CepDataset}.
+ * <p>
+ * Uso: {@code CepDatasetImporter <origem.csv|.json|.ndjson> <destino.bin>}
+ */
+@Slf4j
+public class CepDatasetImporter {
+
+    private final ObjectMapper objectMapper;
+
+    public CepDatasetImporter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CepDatasetImporter <origem.csv|.json|.ndjson> <destino.bin>");
+            System.exit(1);
+        }
+        // Dumps do ViaCEP podem trazer campos que o modelo não conhece (estado, regiao, ...)
+        ObjectMapper objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        int quantidade = new CepDatasetImporter(objectMapper).importar(Path.of(args[0]), Path.of(args[1]));
+        System.out.println(quantidade + " CEPs importados para " + args[1]);
+    }
+
+    public int importar(Path origem, Path destino) throws IOException {
+        List<Registro> registros = origem.toString().toLowerCase(Locale.ROOT).endsWith(".csv")
+                ? lerCsv(origem)
+                : lerJson(origem);
+
+        // Ordenação estável: para CEPs repetidos prevalece a última ocorrência do dump
+        registros.sort(Comparator.comparingInt(Registro::cep));
+        List<Registro> unicos = new ArrayList<>(registros.size());
+        for (Registro registro : registros) {
+            if (!unicos.isEmpty() && unicos.get(unicos.size() - 1).cep() == registro.cep()) {
+                unicos.set(unicos.size() - 1, registro);
+            } else {
+                unicos.add(registro);
+            }
+        }
+
+        // Escreve em um arquivo temporário para não expor um arquivo parcial a quem estiver lendo
+        Path temporario = Files.createTempFile(destino.toAbsolutePath().getParent(), "cep-dataset", ".tmp");
+        try (OutputStream arquivo = Files.newOutputStream(temporario);
+             DataOutputStream saida = new DataOutputStream(new BufferedOutputStream(arquivo, 1 << 16))) {
+            saida.writeInt(CepDatasetFormato.MAGICO);
+            saida.writeInt(CepDatasetFormato.VERSAO);
+            saida.writeInt(unicos.size());
+            saida.writeInt(0);
+
+            long deslocamento = 0;
+            for (Registro registro : unicos) {
+                if (deslocamento > Integer.MAX_VALUE) {
+                    throw new IOException("Base de CEPs excede o limite de 2 GB de dados");
+                }
+                saida.writeInt(registro.cep());
+                saida.writeInt((int) deslocamento);
+                deslocamento += registro.dados().length;
+            }
+            for (Registro registro : unicos) {
+                saida.write(registro.dados());
+            }
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Base local de CEPs gerada em {} com {} registros", destino, unicos.size());
+        return unicos.size();
+    }
+
+    private List<Registro> lerJson(Path origem) throws IOException {
+        List<Registro> registros = new ArrayList<>();
+        // Aceita tanto um array JSON quanto objetos separados por linha (NDJSON)
+        try (InputStream entrada = Files.newInputStream(origem);
+             MappingIterator<Endereco> enderecos = objectMapper.readerFor(Endereco.class).readValues(entrada)) {
+            while (enderecos.hasNext()) {
+                adicionar(registros, enderecos.next());
+            }
+        }
+        return registros;
+    }
+
+    private List<Registro> lerCsv(Path origem) throws IOException {
+        List<Registro> registros = new ArrayList<>();
+        try (BufferedReader leitor = Files.newBufferedReader(origem, StandardCharsets.UTF_8)) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) {
+                return registros;
+            }
+            if (cabecalho.startsWith("\uFEFF")) {
+                cabecalho = cabecalho.substring(1);
+            }
+            char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+            List<String> colunas = separarCsv(cabecalho, separador);
+
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                List<String> valores = separarCsv(linha, separador);
+                Endereco endereco = new Endereco();
+                for (int i = 0; i < colunas.size() && i < valores.size(); i++) {
+                    atribuir(endereco, colunas.get(i).trim().toLowerCase(Locale.ROOT), valores.get(i));
+                }
+                adicionar(registros, endereco);
+            }
+        }
+        return registros;
+    }
+
+    private void adicionar(List<Registro> registros, Endereco endereco) throws IOException {
+        if (endereco.getCep() == null || Boolean.TRUE.equals(endereco.getErro())) {
+            return;
+        }
+        int cep = CepNumerico.interpretar(endereco.getCep());
+        if (cep == CepNumerico.INVALIDO) {
+            log.warn("CEP inválido ignorado na importação: {}", endereco.getCep());
+            return;
+        }
+        registros.add(new Registro(cep, CepDatasetFormato.codificar(endereco)));
+    }
+
+    private static void atribuir(Endereco endereco, String coluna, String valor) {
+        String conteudo = valor.isEmpty() ? null : valor;
+        switch (coluna) {
+            case "cep" -> endereco.setCep(conteudo);
+            case "logradouro" -> endereco.setLogradouro(conteudo);
+            case "complemento" -> endereco.setComplemento(conteudo);
+            case "bairro" -> endereco.setBairro(conteudo);
+            case "localidade" -> endereco.setLocalidade(conteudo);
+            case "uf" -> endereco.setUf(conteudo);
+            case "ibge" -> endereco.setIbge(conteudo);
+            case "gia" -> endereco.setGia(conteudo);
+            case "ddd" -> endereco.setDdd(conteudo);
+            case "siafi" -> endereco.setSiafi(conteudo);
+            default -> {
+                // Colunas desconhecidas são ignoradas
+            }
+        }
+    }
+
+    // Separação simples de CSV com suporte a campos entre aspas ("" representa uma aspa)
+    static List<String> separarCsv(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private record Registro(int cep, byte[] dados) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.mrsalustiano.spring.camel.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.time.Duration;
+
+// Endereço servido do cache depois do TTL, enquanto é revalidado em segundo plano. O JSON é o mesmo do Endereco;
+// a idade vai para os cabeçalhos da resposta.
+@Getter
+public class EnderecoObsoleto extends Endereco {
+
+    @JsonIgnore
+    private final Duration idade;
+
+    public EnderecoObsoleto(Endereco endereco, Duration idade) {
+        super(endereco.getCep(), endereco.getLogradouro(), endereco.getComplemento(), endereco.getBairro(),
+                endereco.getLocalidade(), endereco.getUf(), endereco.getIbge(), endereco.getGia(),
+                endereco.getDdd(), endereco.getSiafi(), endereco.getErro());
+        this.idade = idade;
+    }
+}
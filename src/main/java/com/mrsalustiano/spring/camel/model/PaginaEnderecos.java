@@ -0,0 +1,28 @@
+package com.mrsalustiano.spring.camel.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+
+@NoArgsConstructor
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PaginaEnderecos {
+
+    @JsonProperty("enderecos")
+    private List<Endereco> enderecos;
+
+    // Cursor da próxima página (parâmetro cursor); ausente na última
+    @JsonProperty("proximo")
+    private String proximo;
+}
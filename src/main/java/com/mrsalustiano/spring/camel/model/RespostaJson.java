@@ -0,0 +1,86 @@
+package com.mrsalustiano.spring.camel.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Corpo HTTP já codificado: JSON compacto em UTF-8, opcionalmente também em gzip, e o ETag de cada versão.
+ * O de um {@link Endereco} fica no cache junto do endereço para que um acerto não passe pelo Jackson.
+ */
+@Getter
+public final class RespostaJson {
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writer();
+
+    private final byte[] json;
+
+    // null sem gzip (desligado ou corpo abaixo do tamanho mínimo)
+    private final byte[] gzip;
+
+    // ETags fortes derivados do conteúdo; a versão gzip é outra representação e tem o seu próprio
+    private final String etag;
+
+    private final String etagGzip;
+
+    private RespostaJson(byte[] json, byte[] gzip, String hash) {
+        this.json = json;
+        this.gzip = gzip;
+        this.etag = "\"" + hash + "\"";
+        this.etagGzip = gzip != null ? "\"" + hash + "-gzip\"" : null;
+    }
+
+    public static RespostaJson de(Endereco endereco, boolean comGzip) {
+        return de(endereco, comGzip ? 0 : Long.MAX_VALUE);
+    }
+
+    // Comprime só a partir de gzipAPartirDe bytes: abaixo disso o cabeçalho do gzip come o ganho
+    public static RespostaJson de(Object valor, long gzipAPartirDe) {
+        byte[] json;
+        try {
+            json = WRITER.writeValueAsBytes(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar resposta", e);
+        }
+        return new RespostaJson(json, json.length >= gzipAPartirDe ? comprimir(json) : null, hash(json));
+    }
+
+    // Escolhe a versão gzip quando existe e o cliente aceita
+    public byte[] corpo(boolean gzipAceito) {
+        return gzipAceito && gzip != null ? gzip : json;
+    }
+
+    public String etag(boolean gzipAceito) {
+        return gzipAceito && gzip != null ? etagGzip : etag;
+    }
+
+    private static byte[] comprimir(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    // 96 bits do SHA-256 do JSON
+    private static String hash(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(hash, 12));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
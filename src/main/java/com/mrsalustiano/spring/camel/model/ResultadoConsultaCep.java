@@ -0,0 +1,58 @@
+package com.mrsalustiano.spring.camel.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mrsalustiano.spring.camel.client.PrazoEsgotadoException;
+import com.mrsalustiano.spring.camel.client.ViaCepIndisponivelException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+
+@NoArgsConstructor
+@Getter
+@Setter
+@AllArgsConstructor
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResultadoConsultaCep {
+
+    @JsonProperty("cep")
+    private String cep;
+
+    @JsonProperty("status")
+    private int status;
+
+    @JsonProperty("endereco")
+    private Endereco endereco;
+
+    @JsonProperty("erro")
+    private String erro;
+
+    public static ResultadoConsultaCep encontrado(String cep, Endereco endereco) {
+        return new ResultadoConsultaCep(cep, 200, endereco, null);
+    }
+
+    public static ResultadoConsultaCep falha(String cep, int status, String erro) {
+        return new ResultadoConsultaCep(cep, status, null, erro);
+    }
+
+    // Mesmo mapeamento de exceções para status HTTP usado na rota de consulta individual
+    public static ResultadoConsultaCep falha(String cep, Throwable erro) {
+        if (erro instanceof IllegalArgumentException) {
+            return falha(cep, 400, erro.getMessage());
+        }
+        if (erro instanceof ViaCepIndisponivelException) {
+            return falha(cep, 503, erro.getMessage());
+        }
+        if (erro instanceof PrazoEsgotadoException) {
+            return falha(cep, 504, erro.getMessage());
+        }
+        if (erro.getMessage() != null && erro.getMessage().contains("não encontrado")) {
+            return falha(cep, 404, erro.getMessage());
+        }
+        return falha(cep, 500, "Erro interno do servidor");
+    }
+}
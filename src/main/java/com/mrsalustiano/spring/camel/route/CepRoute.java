@@ -1,12 +1,52 @@
 package com.mrsalustiano.spring.camel.route;
 
+import com.mrsalustiano.spring.camel.client.Prazo;
+import com.mrsalustiano.spring.camel.client.PrazoEsgotadoException;
+import com.mrsalustiano.spring.camel.client.ViaCepIndisponivelException;
+import com.mrsalustiano.spring.camel.config.CepCacheProperties;
+import com.mrsalustiano.spring.camel.config.CepValidacaoProperties;
+import com.mrsalustiano.spring.camel.config.LogProperties;
+import com.mrsalustiano.spring.camel.config.RespostaHttpProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepPrazoProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.EnderecoObsoleto;
+import com.mrsalustiano.spring.camel.model.PaginaEnderecos;
+import com.mrsalustiano.spring.camel.model.RespostaJson;
+import com.mrsalustiano.spring.camel.model.ResultadoConsultaCep;
+import com.mrsalustiano.spring.camel.service.CepAquecimentoService;
+import com.mrsalustiano.spring.camel.service.CepFaixaService;
+import com.mrsalustiano.spring.camel.service.CepLoteService;
 import com.mrsalustiano.spring.camel.service.CepService;
+import com.mrsalustiano.spring.camel.service.CepValidacaoService;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.Message;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.http.common.HttpMessage;
 import org.apache.camel.model.rest.RestParamType;
+import org.apache.camel.support.AsyncProcessorSupport;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.apache.camel.model.rest.RestBindingMode;
-import com.mrsalustiano.spring.camel.model.Endereco;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 
 @Component
@@ -15,20 +55,64 @@ public class CepRoute extends RouteBuilder {
     @Autowired
     private CepService cepService;
 
+    @Autowired
+    private CepLoteService cepLoteService;
+
+    @Autowired
+    private CepFaixaService cepFaixaService;
+
+    @Autowired
+    private CepValidacaoService cepValidacaoService;
+
+    @Autowired
+    private CepAquecimentoService cepAquecimentoService;
+
+    @Autowired
+    private CepValidacaoProperties cepValidacaoProperties;
+
+    @Autowired
+    private ViaCepPrazoProperties viaCepPrazoProperties;
+
+    @Autowired
+    private CepCacheProperties cepCacheProperties;
+
+    @Autowired
+    private RespostaHttpProperties respostaHttpProperties;
+
+    @Autowired
+    private LogProperties logProperties;
+
+    @Autowired
+    @Qualifier("cepValidacaoExecutor")
+    private ExecutorService cepValidacaoExecutor;
+
+    static final String SAIDA_NDJSON = "saidaNdjson";
+    static final String ARQUIVO_RESULTADO = "arquivoResultado";
+    static final String DESTINO_NDJSON = "destinoNdjson";
+    static final String LINHAS_VALIDADAS = "linhasValidadas";
+    static final String PRAZO = "prazoViaCep";
+    static final String CONTENT_TYPE_JSON = "application/json; charset=UTF-8";
+
+    private LogAmostrado logSucesso;
+
+    // Os .log() das rotas usam o logger desta classe (e não um por routeId) para o nível valer para todos; com o
+    // nível desligado o Camel nem avalia a expressão
     @Override
     public void configure() throws Exception {
+        logSucesso = new LogAmostrado(log, logProperties.getAmostragemSucesso());
 
         onException(Exception.class)
                 .handled(true)
-                .log("Erro genérico capturado: ${exception.message}")
+                .log(LoggingLevel.ERROR, log, "Erro genérico capturado: ${exception.message}")
                 .setHeader("CamelHttpResponseCode", constant(500))
                 .setBody(constant("{\"erro\": \"Erro interno do servidor\"}"));
 
-        // Configuração do REST DSL
+        // Configuração do REST DSL (cada verbo com routeId próprio, que também nomeia as métricas camel.route.policy)
         restConfiguration()
                 .component("servlet")
                 .bindingMode(RestBindingMode.json)
                 .dataFormatProperty("prettyPrint", "true")
+                .endpointProperty("httpBinding", "#respostaHttpBinding")
                 .port(8080)
                 .contextPath("/api")
                 .apiProperty("api.title", "ViaCEP API")
@@ -45,25 +129,43 @@ public class CepRoute extends RouteBuilder {
                 .responseMessage().code(400).message("CEP inválido").endResponseMessage()
                 .responseMessage().code(404).message("CEP não encontrado").endResponseMessage()
                 .responseMessage().code(500).message("Erro interno do servidor").endResponseMessage()
-                .to("direct:consultarCep");
+                .responseMessage().code(503).message("ViaCEP indisponível (circuito aberto)").endResponseMessage()
+                .responseMessage().code(504).message("ViaCEP não respondeu dentro do prazo").endResponseMessage()
+                .responseMessage().code(304).message("Não modificado (If-None-Match)").endResponseMessage()
+                // O corpo sai pronto em bytes (com ETag e Cache-Control), sem o binding JSON do Camel
+                .bindingMode(RestBindingMode.off)
+                .routeId("restConsultarCep")
+                .to("direct:responderCep");
+
+        from("direct:responderCep")
+                .routeId("responderCepRoute")
+                .to("direct:consultarCep")
+                .process(this::responderCep);
 
         // Rota para processar a consulta de CEP
         from("direct:consultarCep")
                 .routeId("consultarCepRoute")
-                .log("Consultando CEP: ${header.cep}")
+                .log(LoggingLevel.DEBUG, log, "Consultando CEP: ${header.cep}")
                 .doTry()
-                .process(exchange -> {
-                    String cep = exchange.getIn().getHeader("cep", String.class);
-                    Endereco endereco = cepService.buscarEnderecoPorCep(cep);
-                    exchange.getIn().setBody(endereco);
-                })
-                .log("CEP consultado com sucesso: ${body}")
+                .process(assincrono(exchange ->
+                        cepService.buscarEnderecoPorCepAsync(exchange.getIn().getHeader("cep", String.class),
+                                prazo(exchange))))
+                .process(CepRoute::sinalizarObsoleto)
+                .process(exchange -> logSucesso.info("CEP consultado com sucesso: {}", exchange.getMessage()::getBody))
                 .doCatch(IllegalArgumentException.class)
-                .log("CEP inválido: ${exception.message}")
+                .log(LoggingLevel.DEBUG, log, "CEP inválido: ${exception.message}")
                 .setHeader("CamelHttpResponseCode", constant(400))
                 .setBody(simple("{\"erro\": \"${exception.message}\"}"))
+                .doCatch(PrazoEsgotadoException.class)
+                .log(LoggingLevel.WARN, log, "Prazo esgotado ao consultar CEP: ${exception.message}")
+                .setHeader("CamelHttpResponseCode", constant(504))
+                .setBody(simple("{\"erro\": \"${exception.message}\"}"))
+                .doCatch(ViaCepIndisponivelException.class)
+                .log(LoggingLevel.WARN, log, "ViaCEP indisponível: ${exception.message}")
+                .setHeader("CamelHttpResponseCode", constant(503))
+                .setBody(simple("{\"erro\": \"${exception.message}\"}"))
                 .doCatch(RuntimeException.class)
-                .log("Erro ao consultar CEP: ${exception.message}")
+                .log(LoggingLevel.WARN, log, "Erro ao consultar CEP: ${exception.message}")
                 .choice()
                 .when(simple("${exception.message} contains 'não encontrado'"))
                 .setHeader("CamelHttpResponseCode", constant(404))
@@ -73,6 +175,179 @@ public class CepRoute extends RouteBuilder {
                 .setBody(simple("{\"erro\": \"Erro interno do servidor\"}"))
                 .end();
 
+        // Endpoint REST para consulta de vários CEPs em uma única requisição
+        rest("/cep")
+                .post("/batch")
+                .description("Consulta vários CEPs de uma vez")
+                .type(String[].class)
+                .param().name("body").type(RestParamType.body).description("Lista de CEPs").endParam()
+                .responseMessage().code(200).message("Resultado por CEP, com erros individuais no próprio item").endResponseMessage()
+                .responseMessage().code(400).message("Lote vazio ou acima do tamanho máximo").endResponseMessage()
+                .routeId("restConsultarCepLote")
+                .to("direct:consultarCepLote");
+
+        from("direct:consultarCepLote")
+                .routeId("consultarCepLoteRoute")
+                .doTry()
+                .process(exchange -> {
+                    // Arrays.asList e não List.of: itens nulos no JSON viram falha do próprio item, não NPE
+                    String[] ceps = exchange.getIn().getBody(String[].class);
+                    exchange.getIn().setBody(cepLoteService.buscarEmLote(
+                            ceps == null ? null : Arrays.asList(ceps), prazo(exchange)));
+                })
+                .log(LoggingLevel.DEBUG, log, "Lote de CEPs consultado: ${body.size()} itens")
+                .doCatch(IllegalArgumentException.class)
+                .log(LoggingLevel.DEBUG, log, "Lote inválido: ${exception.message}")
+                .setHeader("CamelHttpResponseCode", constant(400))
+                .setBody(simple("{\"erro\": \"${exception.message}\"}"))
+                .end();
+
+        // Consulta por prefixo ou faixa de CEPs, paginada por cursor; só a base local, nunca o ViaCEP
+        rest("/cep")
+                .get("/prefix/{prefixo}")
+                .description("Lista os endereços da base local cujo CEP começa com o prefixo")
+                .param().name("prefixo").type(RestParamType.path).description("De 1 a 8 dígitos do CEP").dataType("string").endParam()
+                .param().name("limite").type(RestParamType.query).description("Endereços por página").dataType("integer").required(false).endParam()
+                .param().name("cursor").type(RestParamType.query).description("Valor de 'proximo' da página anterior").dataType("string").required(false).endParam()
+                .responseMessage().code(200).message("Página de endereços, com 'proximo' quando há mais").endResponseMessage()
+                .responseMessage().code(400).message("Prefixo, limite ou cursor inválido").endResponseMessage()
+                .responseMessage().code(503).message("Base local de CEPs não configurada").endResponseMessage()
+                .bindingMode(RestBindingMode.off)
+                .routeId("restConsultarPrefixo")
+                .to("direct:responderFaixaCep")
+                .get("/range/{inicio}/{fim}")
+                .description("Lista os endereços da base local com CEP entre inicio e fim (inclusive)")
+                .param().name("inicio").type(RestParamType.path).description("CEP inicial").dataType("string").endParam()
+                .param().name("fim").type(RestParamType.path).description("CEP final").dataType("string").endParam()
+                .param().name("limite").type(RestParamType.query).description("Endereços por página").dataType("integer").required(false).endParam()
+                .param().name("cursor").type(RestParamType.query).description("Valor de 'proximo' da página anterior").dataType("string").required(false).endParam()
+                .responseMessage().code(200).message("Página de endereços, com 'proximo' quando há mais").endResponseMessage()
+                .responseMessage().code(400).message("CEP, limite ou cursor inválido").endResponseMessage()
+                .responseMessage().code(503).message("Base local de CEPs não configurada").endResponseMessage()
+                .bindingMode(RestBindingMode.off)
+                .routeId("restConsultarFaixa")
+                .to("direct:responderFaixaCep");
+
+        from("direct:responderFaixaCep")
+                .routeId("responderFaixaCepRoute")
+                .to("direct:consultarFaixaCep")
+                .process(this::responderEnderecos);
+
+        from("direct:consultarFaixaCep")
+                .routeId("consultarFaixaCepRoute")
+                .doTry()
+                .process(exchange -> {
+                    Message mensagem = exchange.getIn();
+                    String cursor = mensagem.getHeader("cursor", String.class);
+                    String limite = mensagem.getHeader("limite", String.class);
+                    String prefixo = mensagem.getHeader("prefixo", String.class);
+                    mensagem.setBody(prefixo != null
+                            ? cepFaixaService.buscarPorPrefixo(prefixo, cursor, limite)
+                            : cepFaixaService.buscarPorFaixa(mensagem.getHeader("inicio", String.class),
+                            mensagem.getHeader("fim", String.class), cursor, limite));
+                })
+                .doCatch(IllegalArgumentException.class)
+                .log(LoggingLevel.DEBUG, log, "Consulta por faixa inválida: ${exception.message}")
+                .setHeader("CamelHttpResponseCode", constant(400))
+                .setBody(simple("{\"erro\": \"${exception.message}\"}"))
+                .doCatch(IllegalStateException.class)
+                .setHeader("CamelHttpResponseCode", constant(503))
+                .setBody(simple("{\"erro\": \"${exception.message}\"}"))
+                .end();
+
+        // Existência do CEP: HEAD sem corpo e GET com {"cep", "existe"}. CEPs descartados pelo filtro de CEPs
+        // conhecidos nem saem do serviço; os demais passam pela consulta normal
+        rest("/cep")
+                .head("/{cep}")
+                .description("Verifica se o CEP existe, sem corpo na resposta")
+                .param().name("cep").type(RestParamType.path).description("CEP a ser verificado").dataType("string").endParam()
+                .responseMessage().code(200).message("CEP existe").endResponseMessage()
+                .responseMessage().code(400).message("CEP inválido").endResponseMessage()
+                .responseMessage().code(404).message("CEP não existe").endResponseMessage()
+                .responseMessage().code(500).message("Erro interno do servidor").endResponseMessage()
+                .responseMessage().code(503).message("ViaCEP indisponível (circuito aberto)").endResponseMessage()
+                .responseMessage().code(504).message("ViaCEP não respondeu dentro do prazo").endResponseMessage()
+                .bindingMode(RestBindingMode.off)
+                .routeId("restVerificarCep")
+                .to("direct:existeCep")
+                .get("/{cep}/exists")
+                .description("Verifica se o CEP existe")
+                .param().name("cep").type(RestParamType.path).description("CEP a ser verificado").dataType("string").endParam()
+                .responseMessage().code(200).message("CEP existe").endResponseMessage()
+                .responseMessage().code(400).message("CEP inválido").endResponseMessage()
+                .responseMessage().code(404).message("CEP não existe").endResponseMessage()
+                .responseMessage().code(500).message("Erro interno do servidor").endResponseMessage()
+                .responseMessage().code(503).message("ViaCEP indisponível (circuito aberto)").endResponseMessage()
+                .responseMessage().code(504).message("ViaCEP não respondeu dentro do prazo").endResponseMessage()
+                .bindingMode(RestBindingMode.off)
+                .routeId("restExisteCep")
+                .to("direct:existeCep");
+
+        from("direct:existeCep")
+                .routeId("existeCepRoute")
+                .doTry()
+                .process(assincrono(exchange ->
+                        cepService.existeAsync(exchange.getIn().getHeader("cep", String.class), prazo(exchange))))
+                .process(CepRoute::responderExistencia)
+                .doCatch(IllegalArgumentException.class)
+                .log(LoggingLevel.DEBUG, log, "CEP inválido: ${exception.message}")
+                .setHeader("CamelHttpResponseCode", constant(400))
+                .setBody(simple("{\"erro\": \"${exception.message}\"}"))
+                .doCatch(PrazoEsgotadoException.class)
+                .log(LoggingLevel.WARN, log, "Prazo esgotado ao verificar CEP: ${exception.message}")
+                .setHeader("CamelHttpResponseCode", constant(504))
+                .setBody(simple("{\"erro\": \"${exception.message}\"}"))
+                .doCatch(ViaCepIndisponivelException.class)
+                .log(LoggingLevel.WARN, log, "ViaCEP indisponível: ${exception.message}")
+                .setHeader("CamelHttpResponseCode", constant(503))
+                .setBody(simple("{\"erro\": \"${exception.message}\"}"))
+                .doCatch(RuntimeException.class)
+                .log(LoggingLevel.WARN, log, "Erro ao verificar CEP: ${exception.message}")
+                .setHeader("CamelHttpResponseCode", constant(500))
+                .setBody(simple("{\"erro\": \"Erro interno do servidor\"}"))
+                .end()
+                .setHeader(Exchange.CONTENT_TYPE, constant(CONTENT_TYPE_JSON));
+
+        // Validação de arquivos grandes (NDJSON ou CSV) sem carregar entrada nem saída na memória.
+        // Fora do REST DSL para receber o corpo como stream, sem binding JSON nem stream caching.
+        from("servlet:/cep/validacao?httpMethodRestrict=POST&disableStreamCache=true")
+                .routeId("validarCepsHttpRoute")
+                .noStreamCaching()
+                .to("direct:validarCeps");
+
+        String diretorioEntrada = cepValidacaoProperties.getDiretorioEntrada();
+        if (diretorioEntrada != null && !diretorioEntrada.isBlank()) {
+            from("file:" + diretorioEntrada + "?antInclude=*.csv,*.ndjson,*.txt&move=.processados&readLock=changed")
+                    .routeId("validarCepsArquivoRoute")
+                    .noStreamCaching()
+                    .log(LoggingLevel.INFO, log, "Validando arquivo de CEPs: ${header.CamelFileName}")
+                    .process(exchange -> {
+                        String nome = exchange.getIn().getHeader(Exchange.FILE_NAME_ONLY, String.class);
+                        exchange.setProperty(ARQUIVO_RESULTADO,
+                                Path.of(cepValidacaoProperties.getDiretorioSaida(), nome + ".resultado.ndjson"));
+                    })
+                    .to("direct:validarCeps");
+        }
+
+        from("direct:validarCeps")
+                .routeId("validarCepsRoute")
+                .noStreamCaching()
+                .setProperty(Exchange.CHARSET_NAME, constant(StandardCharsets.UTF_8.name()))
+                .process(this::abrirSaida)
+                .doTry()
+                .split(body().tokenize("\n")).streaming().parallelProcessing().executorService(cepValidacaoExecutor)
+                .process(exchange -> {
+                    ResultadoConsultaCep resultado = cepValidacaoService.validarLinha(exchange.getIn().getBody(String.class));
+                    if (resultado != null) {
+                        exchange.getProperty(SAIDA_NDJSON, SaidaNdjson.class).escrever(resultado);
+                    }
+                })
+                .endDoTry()
+                .doFinally()
+                .process(this::fecharSaida)
+                .end()
+                .log(LoggingLevel.INFO, log, "Validação de CEPs concluída: ${exchangeProperty.linhasValidadas} linhas");
+
         rest("/endereco")
                 .description("Serviço de consulta de endereço")
                 .get("/{uf}/{cidade}/{logradouro}")
@@ -84,24 +359,38 @@ public class CepRoute extends RouteBuilder {
                 .responseMessage().code(400).message("Parâmetros inválidos").endResponseMessage()
                 .responseMessage().code(404).message("Nenhum endereço encontrado").endResponseMessage()
                 .responseMessage().code(500).message("Erro interno do servidor").endResponseMessage()
-                .to("direct:consultarEndereco");
+                .responseMessage().code(503).message("ViaCEP indisponível (circuito aberto)").endResponseMessage()
+                .responseMessage().code(504).message("ViaCEP não respondeu dentro do prazo").endResponseMessage()
+                .responseMessage().code(304).message("Não modificado (If-None-Match)").endResponseMessage()
+                .bindingMode(RestBindingMode.off)
+                .routeId("restConsultarEndereco")
+                .to("direct:responderEndereco");
+
+        from("direct:responderEndereco")
+                .routeId("responderEnderecoRoute")
+                .to("direct:consultarEndereco")
+                .process(this::responderEnderecos);
 
         from("direct:consultarEndereco")
                 .routeId("consultarEnderecoRoute")
-                .log("Consultando endereço: ${header.uf}/${header.cidade}/${header.logradouro}")
+                .log(LoggingLevel.DEBUG, log, "Consultando endereço: ${header.uf}/${header.cidade}/${header.logradouro}")
                 .doTry()
-                .process(exchange -> {
+                .process(assincrono(exchange -> {
                     String uf = exchange.getIn().getHeader("uf", String.class);
                     String cidade = exchange.getIn().getHeader("cidade", String.class);
                     String logradouro = exchange.getIn().getHeader("logradouro", String.class);
 
-                    exchange.getIn().setBody(
-                            cepService.buscarPorEndereco(uf, cidade, logradouro)
-                    );
-                })
+                    return cepService.buscarPorEnderecoAsync(uf, cidade, logradouro, prazo(exchange));
+                }))
                 .doCatch(IllegalArgumentException.class)
                 .setHeader("CamelHttpResponseCode", constant(400))
                 .setBody(simple("{\"erro\":\"${exception.message}\"}"))
+                .doCatch(PrazoEsgotadoException.class)
+                .setHeader("CamelHttpResponseCode", constant(504))
+                .setBody(simple("{\"erro\":\"${exception.message}\"}"))
+                .doCatch(ViaCepIndisponivelException.class)
+                .setHeader("CamelHttpResponseCode", constant(503))
+                .setBody(simple("{\"erro\":\"${exception.message}\"}"))
                 .doCatch(RuntimeException.class)
                 .setHeader("CamelHttpResponseCode", constant(404))
                 .setBody(simple("{\"erro\":\"${exception.message}\"}"))
@@ -112,15 +401,212 @@ public class CepRoute extends RouteBuilder {
                 .description("Health check")
                 .get()
                 .description("Verifica se a aplicação está funcionando")
+                // O corpo já é JSON; com o binding ligado sairia como uma string JSON
+                .bindingMode(RestBindingMode.off)
                 .responseMessage().code(200).message("Aplicação funcionando").endResponseMessage()
+                .responseMessage().code(503).message("Cache sendo aquecido").endResponseMessage()
+                .routeId("restHealthCheck")
                 .to("direct:healthCheck");
 
         from("direct:healthCheck")
                 .routeId("healthCheckRoute")
-                .setBody(constant("{\"status\": \"UP\", \"service\": \"ViaCEP API\"}"))
+                .process(this::verificarProntidao)
                 .setHeader("Content-Type", constant("application/json"));
     }
 
+    // Pronta só depois do aquecimento do cache (ou do prazo dele); antes disso o balanceador não deve mandar tráfego
+    private void verificarProntidao(Exchange exchange) {
+        if (cepAquecimentoService.isPronto()) {
+            exchange.getMessage().setBody("{\"status\": \"UP\", \"service\": \"ViaCEP API\"}");
+            return;
+        }
+        exchange.getMessage().setHeader(Exchange.HTTP_RESPONSE_CODE, 503);
+        exchange.getMessage().setBody(String.format(
+                "{\"status\": \"WARMING_UP\", \"service\": \"ViaCEP API\", \"carregados\": %d, \"total\": %d}",
+                cepAquecimentoService.getCarregados(), cepAquecimentoService.getTotal()));
+    }
+
+    // Prazo total da requisição, descontado o tempo que a exchange já passou no Camel.
+    // Fica na exchange para que etapas seguintes consumam o mesmo prazo.
+    private Prazo prazo(Exchange exchange) {
+        Prazo prazo = exchange.getProperty(PRAZO, Prazo.class);
+        if (prazo == null) {
+            prazo = Prazo.em(viaCepPrazoProperties.getTotal()
+                    .minusMillis(System.currentTimeMillis() - exchange.getCreated()));
+            exchange.setProperty(PRAZO, prazo);
+        }
+        return prazo;
+    }
+
+    // Endereço servido do cache após o TTL: mesmo corpo, com a idade nos cabeçalhos (Warning 110, RFC 7234)
+    private static void sinalizarObsoleto(Exchange exchange) {
+        if (exchange.getIn().getBody() instanceof EnderecoObsoleto obsoleto) {
+            exchange.getIn().setHeader("X-Cache-Stale", "true");
+            exchange.getIn().setHeader("Age", obsoleto.getIdade().toSeconds());
+            exchange.getIn().setHeader("Warning", "110 - \"Response is Stale\"");
+        }
+    }
+
+    // Acerto no cache: bytes guardados, sem Jackson. Corpos de erro já são JSON em texto e só recebem o Content-Type.
+    private void responderCep(Exchange exchange) {
+        if (exchange.getMessage().getBody() instanceof Endereco endereco) {
+            responder(exchange, cepService.respostaJson(endereco), cepCacheProperties.getTtl());
+        } else {
+            exchange.getMessage().setHeader(Exchange.CONTENT_TYPE, CONTENT_TYPE_JSON);
+        }
+    }
+
+    // 200 ou 404 conforme o CEP existe; no HEAD só o status
+    private static void responderExistencia(Exchange exchange) {
+        Message mensagem = exchange.getMessage();
+        boolean existe = Boolean.TRUE.equals(mensagem.getBody(Boolean.class));
+        mensagem.setHeader(Exchange.HTTP_RESPONSE_CODE, existe ? 200 : 404);
+        if ("HEAD".equals(mensagem.getHeader(Exchange.HTTP_METHOD, String.class))) {
+            mensagem.setBody(null);
+        } else {
+            String cep = CepNumerico.formatar(CepNumerico.interpretar(mensagem.getHeader("cep", String.class)));
+            mensagem.setBody("{\"cep\": \"" + cep + "\", \"existe\": " + existe + "}");
+        }
+    }
+
+    // Listas e páginas não ficam em cache: serializa e, se passar do tamanho mínimo e o cliente aceitar, comprime na hora
+    private void responderEnderecos(Exchange exchange) {
+        Message mensagem = exchange.getMessage();
+        Object enderecos = mensagem.getBody();
+        if (enderecos instanceof List<?> || enderecos instanceof PaginaEnderecos) {
+            long gzipAPartirDe = aceitaGzip(mensagem.getHeader("Accept-Encoding", String.class))
+                    ? respostaHttpProperties.getGzipTamanhoMinimo().toBytes() : Long.MAX_VALUE;
+            responder(exchange, RespostaJson.de(enderecos, gzipAPartirDe), respostaHttpProperties.getMaxAgeEndereco());
+        } else {
+            mensagem.setHeader(Exchange.CONTENT_TYPE, CONTENT_TYPE_JSON);
+        }
+    }
+
+    // Resposta condicional: com If-None-Match igual ao ETag da versão escolhida sai 304 sem corpo.
+    // Endereços obsoletos levam Age maior que o max-age, então o cliente não os trata como frescos.
+    private static void responder(Exchange exchange, RespostaJson resposta, Duration maxAge) {
+        Message mensagem = exchange.getMessage();
+        boolean gzip = resposta.getGzip() != null && aceitaGzip(mensagem.getHeader("Accept-Encoding", String.class));
+        String etag = resposta.etag(gzip);
+        mensagem.setHeader("ETag", etag);
+        mensagem.setHeader("Cache-Control", "public, max-age=" + maxAge.toSeconds());
+        mensagem.setHeader("Vary", "Accept-Encoding");
+        if (correspondeEtag(mensagem.getHeader("If-None-Match", String.class), etag)) {
+            mensagem.setHeader(Exchange.HTTP_RESPONSE_CODE, 304);
+            mensagem.setBody(null);
+            return;
+        }
+        mensagem.setHeader(Exchange.CONTENT_TYPE, CONTENT_TYPE_JSON);
+        if (gzip) {
+            mensagem.setHeader(Exchange.CONTENT_ENCODING, "gzip");
+            exchange.setProperty(RespostaHttpBinding.JA_COMPRIMIDO, true);
+        }
+        mensagem.setBody(resposta.corpo(gzip));
+    }
+
+    // Comparação fraca (RFC 9110): W/ é ignorado; "*" corresponde a qualquer representação
+    static boolean correspondeEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String tag = candidato.strip();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "gzip" na lista do Accept-Encoding, exceto quando recusado com q=0
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.split(";");
+            if (!partes[0].strip().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].strip().replace(" ", "");
+                if (parametro.matches("q=0(\\.0{0,3})?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // A exchange só continua quando o future completa: enquanto o ViaCEP não responde nenhuma thread do Camel fica presa.
+    // Exceções voltam para a exchange e caem nos mesmos doCatch da versão síncrona.
+    private static AsyncProcessor assincrono(Function<Exchange, CompletableFuture<?>> consulta) {
+        return new AsyncProcessorSupport() {
+            @Override
+            public boolean process(Exchange exchange, AsyncCallback callback) {
+                CompletableFuture<?> resultado;
+                try {
+                    resultado = consulta.apply(exchange);
+                } catch (RuntimeException e) {
+                    exchange.setException(e);
+                    callback.done(true);
+                    return true;
+                }
+                if (resultado.isDone()) {
+                    concluir(exchange, resultado);
+                    callback.done(true);
+                    return true;
+                }
+                resultado.whenComplete((valor, erro) -> {
+                    concluir(exchange, resultado);
+                    callback.done(false);
+                });
+                return false;
+            }
+        };
+    }
+
+    private static void concluir(Exchange exchange, CompletableFuture<?> resultado) {
+        try {
+            exchange.getIn().setBody(resultado.join());
+        } catch (CompletionException e) {
+            exchange.setException(e.getCause() != null ? e.getCause() : e);
+        } catch (CancellationException e) {
+            exchange.setException(e);
+        }
+    }
+
+    // HTTP escreve direto na resposta, a rota de arquivos no arquivo de resultado;
+    // chamadas diretas (testes, uso interno) recebem o NDJSON como corpo
+    private void abrirSaida(Exchange exchange) throws Exception {
+        OutputStream destino;
+        Path arquivo = exchange.getProperty(ARQUIVO_RESULTADO, Path.class);
+        HttpServletResponse response = exchange.getIn() instanceof HttpMessage http ? http.getResponse() : null;
+        if (arquivo != null) {
+            Files.createDirectories(arquivo.toAbsolutePath().getParent());
+            destino = Files.newOutputStream(arquivo);
+        } else if (response != null) {
+            response.setStatus(200);
+            response.setContentType("application/x-ndjson");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            destino = response.getOutputStream();
+        } else {
+            destino = new ByteArrayOutputStream();
+        }
+        exchange.setProperty(SAIDA_NDJSON, new SaidaNdjson(destino));
+        exchange.setProperty(DESTINO_NDJSON, destino);
+    }
+
+    private void fecharSaida(Exchange exchange) throws Exception {
+        SaidaNdjson saida = exchange.getProperty(SAIDA_NDJSON, SaidaNdjson.class);
+        saida.close();
+        exchange.setProperty(LINHAS_VALIDADAS, saida.getLinhas());
+        Object destino = exchange.getProperty(DESTINO_NDJSON);
+        exchange.getMessage().setBody(destino instanceof ByteArrayOutputStream buffer
+                ? buffer.toString(StandardCharsets.UTF_8) : null);
+    }
+
 
 
 }
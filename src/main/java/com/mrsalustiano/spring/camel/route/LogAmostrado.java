@@ -0,0 +1,34 @@
+package com.mrsalustiano.spring.camel.route;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Log em INFO de só uma fração das chamadas, sorteada por thread (sem contador compartilhado). A mensagem só é
+ * montada quando a chamada é sorteada e o nível está ligado.
+ */
+class LogAmostrado {
+
+    private final Logger logger;
+    private final double amostragem;
+
+    LogAmostrado(Logger logger, double amostragem) {
+        this.logger = logger;
+        this.amostragem = amostragem;
+    }
+
+    boolean sorteado() {
+        if (amostragem <= 0 || !logger.isInfoEnabled()) {
+            return false;
+        }
+        return amostragem >= 1 || ThreadLocalRandom.current().nextDouble() < amostragem;
+    }
+
+    void info(String formato, Supplier<Object> argumento) {
+        if (sorteado()) {
+            logger.info(formato, argumento.get());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mrsalustiano.spring.camel.route;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.camel.Exchange;
+import org.apache.camel.Message;
+import org.apache.camel.component.servlet.ServletRestHttpBinding;
+import org.apache.camel.http.common.HttpHeaderFilterStrategy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Binding HTTP dos endpoints REST (o do servlet, que extrai os parâmetros de caminho). Com {@code Content-Encoding: gzip}
+ * o Camel comprime o corpo antes de escrever; corpos que a rota já entrega comprimidos (marcados com
+ * {@link #JA_COMPRIMIDO}) são escritos como estão.
+ * O filtro de headers padrão descarta {@code Cache-Control} e {@code Warning}, que as rotas definem de propósito.
+ */
+@Component("respostaHttpBinding")
+public class RespostaHttpBinding extends ServletRestHttpBinding {
+
+    static final String JA_COMPRIMIDO = "respostaJaComprimida";
+
+    public RespostaHttpBinding() {
+        HttpHeaderFilterStrategy filtro = new HttpHeaderFilterStrategy();
+        filtro.getOutFilter().remove("cache-control");
+        filtro.getOutFilter().remove("warning");
+        setHeaderFilterStrategy(filtro);
+    }
+
+    @Override
+    protected void doWriteGZIPResponse(Message message, HttpServletResponse response, Exchange exchange)
+            throws IOException {
+        if (exchange.getProperty(JA_COMPRIMIDO, false, Boolean.class)) {
+            doWriteDirectResponse(message, response, exchange);
+        } else {
+            super.doWriteGZIPResponse(message, response, exchange);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mrsalustiano.spring.camel.route;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Destino dos resultados da validação em lote: um objeto JSON por linha, escrito assim que fica pronto.
+ * Thread-safe, pois recebe resultados de vários workers do split ao mesmo tempo. Usa lock em vez de
+ * synchronized porque a escrita bloqueia em I/O e, em virtual threads, synchronized prende a carrier thread.
+ */
+public class SaidaNdjson implements Closeable {
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writer();
+
+    // A cada N linhas o buffer é enviado, para o cliente receber resultados durante o processamento
+    private static final int LINHAS_POR_FLUSH = 256;
+
+    private final OutputStream saida;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long linhas;
+
+    public SaidaNdjson(OutputStream saida) {
+        this.saida = new BufferedOutputStream(saida);
+    }
+
+    public void escrever(Object item) throws IOException {
+        byte[] json = WRITER.writeValueAsBytes(item);
+        lock.lock();
+        try {
+            saida.write(json);
+            saida.write('\n');
+            if (++linhas % LINHAS_POR_FLUSH == 0) {
+                saida.flush();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getLinhas() {
+        lock.lock();
+        try {
+            return linhas;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            saida.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.mrsalustiano.spring.camel.service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Entra no grupo readiness: fora do ar enquanto o cache é aquecido
+@Component
+public class AquecimentoHealthIndicator implements HealthIndicator {
+
+    private final CepAquecimentoService aquecimento;
+
+    public AquecimentoHealthIndicator(CepAquecimentoService aquecimento) {
+        this.aquecimento = aquecimento;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = aquecimento.isPronto() ? Health.up() : Health.outOfService();
+        return health.withDetail("carregados", aquecimento.getCarregados())
+                .withDetail("total", aquecimento.getTotal())
+                .build();
+    }
+}
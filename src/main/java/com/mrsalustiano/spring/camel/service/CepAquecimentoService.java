@@ -0,0 +1,198 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.mrsalustiano.spring.camel.cache.CepCache;
+import com.mrsalustiano.spring.camel.client.Prazo;
+import com.mrsalustiano.spring.camel.config.CepAquecimentoProperties;
+import com.mrsalustiano.spring.camel.config.EnderecoArquivoProperties;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Aquecimento do cache na inicialização. Antes de as rotas do Camel subirem, dispara em segundo plano a consulta
+ * dos CEPs mais acessados segundo o último snapshot, com concorrência e prazo limitados; até o aquecimento terminar
+ * (ou o prazo passar) a aplicação não se declara pronta. O snapshot é regravado periodicamente e no desligamento
+ * a partir da frequência de acesso do {@link CepCache}.
+ */
+@Slf4j
+@Service
+public class CepAquecimentoService implements SmartInitializingSingleton {
+
+    private static final String SNAPSHOT_PADRAO = "ceps-quentes.txt";
+
+    private final CepService cepService;
+    private final CepCache cepCache;
+    private final CepAquecimentoProperties properties;
+    private final Path snapshot;
+    private final AtomicInteger carregados = new AtomicInteger();
+
+    private volatile boolean pronto;
+    private volatile int total;
+    private ScheduledExecutorService agendador;
+
+    public CepAquecimentoService(CepService cepService, CepCache cepCache, CepAquecimentoProperties properties,
+                                 EnderecoArquivoProperties arquivoProperties) {
+        this.cepService = cepService;
+        this.cepCache = cepCache;
+        this.properties = properties;
+        this.snapshot = caminhoSnapshot(properties, arquivoProperties);
+        this.pronto = !properties.isHabilitado();
+    }
+
+    // Sem caminho explícito o snapshot fica ao lado do log do cache em disco, no mesmo volume
+    static Path caminhoSnapshot(CepAquecimentoProperties properties, EnderecoArquivoProperties arquivoProperties) {
+        if (StringUtils.hasText(properties.getSnapshot())) {
+            return Path.of(properties.getSnapshot());
+        }
+        return Path.of(arquivoProperties.getCaminho()).resolveSibling(SNAPSHOT_PADRAO);
+    }
+
+    // Roda com todos os beans criados e antes do ContextRefreshedEvent, que é quando o Camel sobe as rotas
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.isHabilitado()) {
+            return;
+        }
+        CustomizableThreadFactory threads = new CustomizableThreadFactory("cep-aquecimento-");
+        threads.setDaemon(true);
+        agendador = Executors.newSingleThreadScheduledExecutor(threads);
+        agendador.execute(this::aquecer);
+        long intervalo = properties.getIntervaloSnapshot().toMillis();
+        agendador.scheduleWithFixedDelay(this::gravarSnapshot, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public int getCarregados() {
+        return carregados.get();
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (agendador == null) {
+            return;
+        }
+        agendador.shutdownNow();
+        gravarSnapshot();
+    }
+
+    void aquecer() {
+        long inicio = System.nanoTime();
+        try {
+            int[] ceps = lerSnapshot();
+            total = ceps.length;
+            if (ceps.length == 0) {
+                return;
+            }
+            Prazo prazo = Prazo.em(properties.getPrazo());
+            Semaphore vagas = new Semaphore(properties.getConcorrencia());
+            for (int cep : ceps) {
+                if (!vagas.tryAcquire(Math.max(0, prazo.restante().toNanos()), TimeUnit.NANOSECONDS)) {
+                    break;
+                }
+                // Com o Feign a consulta bloqueia quem chama; cada uma ganha a sua virtual thread
+                Thread.startVirtualThread(() -> consultar(cep, prazo, vagas));
+            }
+            // Espera as consultas que ainda estão em andamento, dentro do mesmo prazo
+            if (vagas.tryAcquire(properties.getConcorrencia(), Math.max(0, prazo.restante().toNanos()),
+                    TimeUnit.NANOSECONDS)) {
+                vagas.release(properties.getConcorrencia());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Aquecimento do cache ignorado: não foi possível ler {}: {}", snapshot, e.getMessage());
+        } finally {
+            long duracao = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+            if (carregados.get() < total) {
+                log.warn("Aquecimento do cache incompleto: {} de {} CEPs em {} ms", carregados.get(), total, duracao);
+            } else if (total > 0) {
+                log.info("Aquecimento do cache concluído: {} CEPs em {} ms", total, duracao);
+            }
+            pronto = true;
+        }
+    }
+
+    // Só grava depois do aquecimento, para um cache ainda frio não substituir o snapshot anterior
+    void gravarSnapshot() {
+        if (!pronto) {
+            return;
+        }
+        int[] ceps = cepCache.maisAcessados(properties.getQuantidade());
+        if (ceps.length == 0) {
+            return;
+        }
+        try {
+            Path diretorio = snapshot.toAbsolutePath().getParent();
+            if (diretorio != null) {
+                Files.createDirectories(diretorio);
+            }
+            Path temporario = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+            try (BufferedWriter saida = Files.newBufferedWriter(temporario)) {
+                for (int cep : ceps) {
+                    saida.write(CepNumerico.formatar(cep));
+                    saida.newLine();
+                }
+            }
+            Files.move(temporario, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Snapshot com {} CEPs mais acessados gravado em {}", ceps.length, snapshot);
+        } catch (IOException e) {
+            log.warn("Não foi possível gravar o snapshot de CEPs em {}: {}", snapshot, e.getMessage());
+        }
+    }
+
+    private void consultar(int cep, Prazo prazo, Semaphore vagas) {
+        try {
+            cepService.buscarEnderecoPorCepAsync(CepNumerico.formatar(cep), prazo).whenComplete((endereco, erro) -> {
+                if (erro == null) {
+                    carregados.incrementAndGet();
+                }
+                vagas.release();
+            });
+        } catch (RuntimeException e) {
+            vagas.release();
+        }
+    }
+
+    private int[] lerSnapshot() throws IOException {
+        if (!Files.exists(snapshot)) {
+            log.info("Sem snapshot de CEPs em {}; a aplicação sobe com o cache frio", snapshot);
+            return new int[0];
+        }
+        int[] ceps = new int[properties.getQuantidade()];
+        int n = 0;
+        try (BufferedReader entrada = Files.newBufferedReader(snapshot)) {
+            String linha;
+            while (n < ceps.length && (linha = entrada.readLine()) != null) {
+                int cep = CepNumerico.interpretar(linha);
+                if (cep != CepNumerico.INVALIDO) {
+                    ceps[n++] = cep;
+                }
+            }
+        }
+        return Arrays.copyOf(ceps, n);
+    }
+}
@@ -0,0 +1,94 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.mrsalustiano.spring.camel.config.CepFaixaProperties;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.PaginaEnderecos;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Consulta por prefixo ou faixa de CEPs, paginada por cursor. Responde só pela base local, cujo índice já é um
+ * {@code int[]} ordenado de CEPs com os deslocamentos dos registros: cada página é uma busca binária e uma leitura
+ * sequencial, sem ida ao ViaCEP.
+ */
+@Service
+public class CepFaixaService {
+
+    private final CepDataset cepDataset;
+    private final CepFaixaProperties properties;
+
+    public CepFaixaService(CepDataset cepDataset, CepFaixaProperties properties) {
+        this.cepDataset = cepDataset;
+        this.properties = properties;
+    }
+
+    // "01001" -> 01001000 a 01001999; como no CEP completo, separadores são ignorados ("01001-" vale o mesmo)
+    public PaginaEnderecos buscarPorPrefixo(String prefixo, String cursor, String limite) {
+        int valor = 0;
+        int digitos = 0;
+        for (int i = 0; prefixo != null && i < prefixo.length(); i++) {
+            int digito = prefixo.charAt(i) - '0';
+            if (digito >= 0 && digito <= 9) {
+                valor = valor * 10 + digito;
+                digitos++;
+            }
+        }
+        if (digitos == 0 || digitos > 8) {
+            throw new IllegalArgumentException("Prefixo deve conter de 1 a 8 dígitos do CEP");
+        }
+        int escala = 1;
+        for (int i = digitos; i < 8; i++) {
+            escala *= 10;
+        }
+        return paginar(valor * escala, valor * escala + escala - 1, cursor, limite);
+    }
+
+    public PaginaEnderecos buscarPorFaixa(String inicio, String fim, String cursor, String limite) {
+        int de = CepService.normalizarEValidar(inicio);
+        int ate = CepService.normalizarEValidar(fim);
+        if (de > ate) {
+            throw new IllegalArgumentException("CEP inicial deve ser menor ou igual ao final");
+        }
+        return paginar(de, ate, cursor, limite);
+    }
+
+    // O cursor é o CEP em que a próxima página começa; uma página a mais diz se ainda há registros
+    private PaginaEnderecos paginar(int inicio, int fim, String cursor, String limite) {
+        if (!cepDataset.isDisponivel()) {
+            throw new IllegalStateException("Consulta por faixa requer a base local de CEPs (viacep.dataset.arquivo)");
+        }
+        int tamanhoPagina = tamanhoPagina(limite);
+        if (cursor != null && !cursor.isBlank()) {
+            int posicao = CepNumerico.interpretar(cursor);
+            if (posicao == CepNumerico.INVALIDO || posicao < inicio || posicao > fim) {
+                throw new IllegalArgumentException("Cursor inválido para esta consulta");
+            }
+            inicio = posicao;
+        }
+        List<Endereco> enderecos = cepDataset.faixa(inicio, fim, tamanhoPagina + 1);
+        if (enderecos.size() <= tamanhoPagina) {
+            return new PaginaEnderecos(enderecos, null);
+        }
+        String proximo = CepNumerico.formatar(CepNumerico.interpretar(enderecos.get(tamanhoPagina).getCep()));
+        return new PaginaEnderecos(enderecos.subList(0, tamanhoPagina), proximo);
+    }
+
+    private int tamanhoPagina(String limite) {
+        if (limite == null || limite.isBlank()) {
+            return properties.getLimitePadrao();
+        }
+        int valor;
+        try {
+            valor = Integer.parseInt(limite.trim());
+        } catch (NumberFormatException e) {
+            valor = 0;
+        }
+        if (valor < 1 || valor > properties.getLimiteMaximo()) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + properties.getLimiteMaximo());
+        }
+        return valor;
+    }
+}
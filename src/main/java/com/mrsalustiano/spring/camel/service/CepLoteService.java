@@ -0,0 +1,84 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.mrsalustiano.spring.camel.client.Prazo;
+import com.mrsalustiano.spring.camel.config.CepLoteProperties;
+import com.mrsalustiano.spring.camel.model.ResultadoConsultaCep;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@Service
+public class CepLoteService {
+
+    private final CepService cepService;
+    private final CepLoteProperties properties;
+    private final ExecutorService executor;
+
+    public CepLoteService(CepService cepService, CepLoteProperties properties,
+                          @Qualifier("cepLoteExecutor") ExecutorService executor) {
+        this.cepService = cepService;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * Consulta vários CEPs de uma vez. CEPs repetidos (inclusive em formatos diferentes) geram uma única
+     * consulta, os que já estão em cache são respondidos na hora e o restante é distribuído no pool do lote.
+     * Erros individuais são devolvidos no próprio resultado, sem interromper o lote. Todos os itens dividem
+     * o prazo da requisição: esgotado, os que ainda não consultaram o ViaCEP voltam como falha.
+     */
+    public Map<String, ResultadoConsultaCep> buscarEmLote(List<String> ceps, Prazo prazo) {
+        validarLote(ceps);
+
+        Map<String, CompletableFuture<ResultadoConsultaCep>> consultas = new HashMap<>();
+        Map<String, CompletableFuture<ResultadoConsultaCep>> porEntrada = new LinkedHashMap<>();
+        for (String cep : ceps) {
+            String entrada = cep == null ? "" : cep;
+            if (porEntrada.containsKey(entrada)) {
+                continue;
+            }
+            String cepLimpo;
+            try {
+                cepLimpo = CepService.normalizarEValidarCep(cep);
+            } catch (IllegalArgumentException e) {
+                porEntrada.put(entrada, CompletableFuture.completedFuture(ResultadoConsultaCep.falha(entrada, e)));
+                continue;
+            }
+            porEntrada.put(entrada, consultas.computeIfAbsent(cepLimpo, chave -> consultar(chave, prazo)));
+        }
+
+        Map<String, ResultadoConsultaCep> resultado = new LinkedHashMap<>();
+        porEntrada.forEach((entrada, consulta) -> resultado.put(entrada, consulta.join()));
+        return resultado;
+    }
+
+    private CompletableFuture<ResultadoConsultaCep> consultar(String cepLimpo, Prazo prazo) {
+        if (cepService.estaEmCache(cepLimpo)) {
+            return CompletableFuture.completedFuture(consultarAgora(cepLimpo, prazo));
+        }
+        return CompletableFuture.supplyAsync(() -> consultarAgora(cepLimpo, prazo), executor);
+    }
+
+    private ResultadoConsultaCep consultarAgora(String cepLimpo, Prazo prazo) {
+        try {
+            return ResultadoConsultaCep.encontrado(cepLimpo, cepService.buscarEnderecoPorCep(cepLimpo, prazo));
+        } catch (RuntimeException e) {
+            return ResultadoConsultaCep.falha(cepLimpo, e);
+        }
+    }
+
+    private void validarLote(List<String> ceps) {
+        if (ceps == null || ceps.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um CEP");
+        }
+        if (ceps.size() > properties.getTamanhoMaximo()) {
+            throw new IllegalArgumentException("Lote deve conter no máximo " + properties.getTamanhoMaximo() + " CEPs");
+        }
+    }
+}
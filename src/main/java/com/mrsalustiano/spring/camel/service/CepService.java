@@ -1,53 +1,276 @@
 package com.mrsalustiano.spring.camel.service;
 
-import com.mrsalustiano.spring.camel.client.ViaCepClient;
+import com.mrsalustiano.spring.camel.busca.IndiceEnderecos;
+import com.mrsalustiano.spring.camel.cache.CepCache;
+import com.mrsalustiano.spring.camel.cache.FiltroCeps;
+import com.mrsalustiano.spring.camel.cache.SingleFlight;
+import com.mrsalustiano.spring.camel.client.Prazo;
+import com.mrsalustiano.spring.camel.client.ViaCepGateway;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
 import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.EnderecoObsoleto;
+import com.mrsalustiano.spring.camel.model.RespostaJson;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import com.mrsalustiano.spring.camel.store.EnderecoArquivo;
+import com.mrsalustiano.spring.camel.store.EnderecoGravado;
+import com.mrsalustiano.spring.camel.store.EnderecoStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+@Slf4j
 @Service
 public class CepService {
 
-    private final ViaCepClient viaCepClient;
+    private final ViaCepGateway viaCepGateway;
+    private final CepCache cepCache;
+    private final EnderecoStore enderecoStore;
+    private final EnderecoArquivo enderecoArquivo;
+    private final CepDataset cepDataset;
+    private final IndiceEnderecos indiceEnderecos;
+    private final FiltroCeps filtroCeps;
+    private final Executor revalidacaoExecutor;
 
-    public CepService(ViaCepClient viaCepClient) {
-        this.viaCepClient = viaCepClient;
+    // Consultas concorrentes à mesma chave compartilham uma única chamada ao ViaCEP
+    private final SingleFlight<Integer, Endereco> consultasCep = new SingleFlight<>();
+    private final SingleFlight<ConsultaEndereco, List<Endereco>> consultasEndereco = new SingleFlight<>();
+
+    // Respostas já concluídas e compartilhadas para os CEPs descartados pelo filtro: nada é alocado
+    private static final CompletableFuture<Endereco> SEM_ENDERECO = CompletableFuture.completedFuture(null);
+    private static final CompletableFuture<Boolean> INEXISTENTE = CompletableFuture.completedFuture(false);
+
+    // CEPs obsoletos com revalidação em andamento
+    private final Set<Integer> revalidando = ConcurrentHashMap.newKeySet();
+
+    public CepService(ViaCepGateway viaCepGateway, CepCache cepCache, EnderecoStore enderecoStore,
+                      EnderecoArquivo enderecoArquivo, CepDataset cepDataset, IndiceEnderecos indiceEnderecos,
+                      FiltroCeps filtroCeps, @Qualifier("cepRevalidacaoExecutor") Executor revalidacaoExecutor) {
+        this.viaCepGateway = viaCepGateway;
+        this.cepCache = cepCache;
+        this.enderecoStore = enderecoStore;
+        this.enderecoArquivo = enderecoArquivo;
+        this.cepDataset = cepDataset;
+        this.indiceEnderecos = indiceEnderecos;
+        this.filtroCeps = filtroCeps;
+        this.revalidacaoExecutor = revalidacaoExecutor;
     }
 
     public Endereco buscarEnderecoPorCep(String cep) {
-        String cepLimpo = normalizarCep(cep);
-        validarCep(cepLimpo);
+        return aguardar(buscarEnderecoPorCepAsync(cep));
+    }
+
+    public Endereco buscarEnderecoPorCep(String cep, Prazo prazo) {
+        return aguardar(buscarEnderecoPorCepAsync(cep, prazo));
+    }
 
-        Endereco dto = viaCepClient.consultarCep(cepLimpo);
+    public CompletableFuture<Endereco> buscarEnderecoPorCepAsync(String cep) {
+        return buscarEnderecoPorCepAsync(cep, viaCepGateway.novoPrazo());
+    }
 
-        // ViaCEP retorna {"erro": true} quando não encontra
-        if (dto == null || Boolean.TRUE.equals(dto.getErro())) {
-            throw new RuntimeException("CEP não encontrado: " + cepLimpo);
+    // Erros (inclusive de validação) vêm no próprio future, com a mesma exceção da versão síncrona.
+    // Consultas compartilhadas pelo SingleFlight seguem o prazo de quem disparou a chamada.
+    public CompletableFuture<Endereco> buscarEnderecoPorCepAsync(String cep, Prazo prazo) {
+        int chave;
+        try {
+            chave = normalizarEValidar(cep);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        return dto;
+
+        // O CEP só vira texto de novo quando precisa sair daqui (ViaCEP ou mensagem de erro)
+        CompletableFuture<Endereco> consulta = filtroCeps.descarta(chave) ? SEM_ENDERECO : consultarChave(chave, prazo);
+
+        return consulta.thenApply(dto -> {
+            // ViaCEP retorna {"erro": true} quando não encontra
+            if (dto == null || Boolean.TRUE.equals(dto.getErro())) {
+                throw new RuntimeException("CEP não encontrado: " + CepNumerico.formatar(chave));
+            }
+            return dto;
+        });
+    }
+
+    /**
+     * Só a existência do CEP. Os que o filtro de CEPs conhecidos descarta são respondidos na hora, sem alocar e sem
+     * ViaCEP; os possíveis positivos seguem o caminho da consulta normal (cache, base local, SingleFlight, ViaCEP).
+     */
+    public CompletableFuture<Boolean> existeAsync(String cep, Prazo prazo) {
+        int chave;
+        try {
+            chave = normalizarEValidar(cep);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if (filtroCeps.descarta(chave)) {
+            return INEXISTENTE;
+        }
+        return consultarChave(chave, prazo).thenApply(dto -> dto != null && !Boolean.TRUE.equals(dto.getErro()));
+    }
+
+    // Corpo HTTP já serializado do endereço; acertos no cache reaproveitam os bytes guardados
+    public RespostaJson respostaJson(Endereco endereco) {
+        return cepCache.resposta(endereco);
+    }
+
+    // Indica se o CEP (já normalizado) pode ser respondido sem nenhuma consulta adicional
+    public boolean estaEmCache(String cepLimpo) {
+        return cepCache.contem(CepNumerico.codificar(cepLimpo));
     }
 
     public List<Endereco> buscarPorEndereco(String uf, String cidade, String logradouro) {
-        validarUf(uf);
-        validarCidadeLogradouro(cidade, logradouro);
+        return aguardar(buscarPorEnderecoAsync(uf, cidade, logradouro));
+    }
 
-        List<Endereco> lista = viaCepClient.consultarPorEndereco(uf.toUpperCase(), cidade, logradouro);
+    public CompletableFuture<List<Endereco>> buscarPorEnderecoAsync(String uf, String cidade, String logradouro) {
+        return buscarPorEnderecoAsync(uf, cidade, logradouro, viaCepGateway.novoPrazo());
+    }
+
+    public CompletableFuture<List<Endereco>> buscarPorEnderecoAsync(String uf, String cidade, String logradouro,
+                                                                    Prazo prazo) {
+        try {
+            validarUf(uf);
+            validarCidadeLogradouro(cidade, logradouro);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        if (lista == null || lista.isEmpty()) {
-            throw new RuntimeException("Nenhum endereço encontrado");
+        // Cidades da base local são respondidas pelo índice em memória, sem ida ao ViaCEP
+        List<Endereco> locais = indiceEnderecos.buscar(uf, cidade, logradouro);
+        if (locais != null) {
+            return locais.isEmpty()
+                    ? CompletableFuture.failedFuture(new RuntimeException("Nenhum endereço encontrado"))
+                    : CompletableFuture.completedFuture(locais);
         }
-        return lista;
+
+        ConsultaEndereco consulta = new ConsultaEndereco(uf.toUpperCase(), cidade, logradouro);
+        return consultasEndereco.executarAsync(consulta,
+                        () -> viaCepGateway.consultarPorEndereco(consulta.uf(), consulta.cidade(), consulta.logradouro(),
+                                prazo))
+                .thenApply(lista -> {
+                    if (lista == null || lista.isEmpty()) {
+                        throw new RuntimeException("Nenhum endereço encontrado");
+                    }
+                    lista.forEach(indiceEnderecos::indexar);
+                    return lista;
+                });
     }
 
-    private String normalizarCep(String cep) {
-        return cep == null ? "" : cep.replaceAll("\\D", "");
+    private CompletableFuture<Endereco> consultarChave(int chave, Prazo prazo) {
+        Endereco emCache = cepCache.buscar(chave);
+        return emCache != null
+                ? CompletableFuture.completedFuture(emCache)
+                : consultasCep.executarAsync(chave, () -> consultar(chave, prazo));
     }
 
-    private void validarCep(String cepLimpo) {
-        if (cepLimpo.length() != 8) {
+    private CompletableFuture<Endereco> consultar(int chave, Prazo prazo) {
+        Endereco dto = cepDataset.consultaLocal() ? cepDataset.buscar(chave) : null;
+        if (dto == null) {
+            // O armazenamento compacto guarda muito mais endereços que o cache e evita a ida ao ViaCEP
+            EnderecoGravado gravado = enderecoStore.buscarGravado(chave);
+            if (gravado == null) {
+                // O cache em disco sobrevive a reinícios; o que vem dele volta para a memória
+                gravado = enderecoArquivo.buscarGravado(chave);
+                if (gravado != null) {
+                    enderecoStore.guardar(chave, gravado.endereco(), gravado.idade());
+                }
+            }
+            if (gravado != null) {
+                return armazenado(chave, gravado);
+            }
+        }
+        if (dto == null && cepDataset.consultaRemota()) {
+            // Stale-while-revalidate: o último endereço conhecido sai na hora e o ViaCEP é consultado em segundo plano,
+            // então a latência não acompanha a do ViaCEP quando ele degrada
+            EnderecoObsoleto obsoleto = cepCache.buscarObsoleto(chave);
+            if (obsoleto != null) {
+                revalidar(chave);
+                return CompletableFuture.completedFuture(obsoleto);
+            }
+            return consultarRemoto(chave, prazo);
+        }
+        // Respostas negativas também vão para o cache, com TTL menor
+        cepCache.guardar(chave, dto);
+        conhecer(chave, dto);
+        return CompletableFuture.completedFuture(dto);
+    }
+
+    // As camadas inferiores guardam por mais tempo que o TTL do cache: o que já passou dele é servido como obsoleto
+    // e revalidado, como se tivesse vindo do próprio cache
+    private CompletableFuture<Endereco> armazenado(int chave, EnderecoGravado gravado) {
+        Endereco endereco = cepCache.guardar(chave, gravado.endereco(), gravado.idade());
+        conhecer(chave, gravado.endereco());
+        if (endereco instanceof EnderecoObsoleto && cepDataset.consultaRemota()) {
+            revalidar(chave);
+            return CompletableFuture.completedFuture(endereco);
+        }
+        return CompletableFuture.completedFuture(gravado.endereco());
+    }
+
+    private CompletableFuture<Endereco> consultarRemoto(int chave, Prazo prazo) {
+        return viaCepGateway.consultarCep(CepNumerico.formatar(chave), prazo).thenApply(remoto -> {
+            enderecoStore.guardar(chave, remoto);
+            enderecoArquivo.guardar(chave, remoto);
+            indiceEnderecos.indexar(remoto);
+            conhecer(chave, remoto);
+            cepCache.guardar(chave, remoto);
+            return remoto;
+        });
+    }
+
+    // CEPs encontrados entram no filtro, que acompanha o que o cache aprende
+    private void conhecer(int chave, Endereco endereco) {
+        if (endereco != null && !Boolean.TRUE.equals(endereco.getErro())) {
+            filtroCeps.adicionar(chave);
+        }
+    }
+
+    private void revalidar(int chave) {
+        if (!revalidando.add(chave)) {
+            return;
+        }
+        try {
+            revalidacaoExecutor.execute(() -> consultarRemoto(chave, viaCepGateway.novoPrazo())
+                    .whenComplete((endereco, erro) -> {
+                        revalidando.remove(chave);
+                        if (erro != null) {
+                            log.debug("Revalidação do CEP {} falhou: {}", CepNumerico.formatar(chave), erro.getMessage());
+                        }
+                    }));
+        } catch (RejectedExecutionException e) {
+            revalidando.remove(chave);
+        }
+    }
+
+    // Desembrulha a CompletionException para as rotas continuarem recebendo a exceção original
+    private static <T> T aguardar(CompletableFuture<T> consulta) {
+        try {
+            return consulta.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    // Aceita "01001-000", "01001000", " 01001 000 " etc. e devolve o CEP já em forma numérica
+    static int normalizarEValidar(String cep) {
+        int chave = CepNumerico.interpretar(cep);
+        if (chave == CepNumerico.INVALIDO) {
             throw new IllegalArgumentException("CEP deve conter exatamente 8 dígitos");
         }
+        return chave;
+    }
+
+    static String normalizarEValidarCep(String cep) {
+        return CepNumerico.formatar(normalizarEValidar(cep));
     }
 
     private void validarUf(String uf) {
@@ -61,4 +284,7 @@ public class CepService {
             throw new IllegalArgumentException("Cidade e logradouro são obrigatórios");
         }
     }
+
+    private record ConsultaEndereco(String uf, String cidade, String logradouro) {
+    }
 }
@@ -0,0 +1,70 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.model.ResultadoConsultaCep;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CepValidacaoService {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final CepService cepService;
+
+    public CepValidacaoService(CepService cepService) {
+        this.cepService = cepService;
+    }
+
+    /**
+     * Valida uma linha de um arquivo NDJSON ({@code {"cep": "..."}} ou {@code "..."}) ou CSV (CEP na primeira coluna).
+     * Retorna {@code null} para linhas em branco e cabeçalho, que não geram resultado.
+     */
+    public ResultadoConsultaCep validarLinha(String linha) {
+        String cep = extrairCep(linha);
+        if (cep == null) {
+            return null;
+        }
+        try {
+            String cepLimpo = CepService.normalizarEValidarCep(cep);
+            return ResultadoConsultaCep.encontrado(cepLimpo, cepService.buscarEnderecoPorCep(cepLimpo));
+        } catch (RuntimeException e) {
+            return ResultadoConsultaCep.falha(cep, e);
+        }
+    }
+
+    static String extrairCep(String linha) {
+        String valor = linha == null ? "" : linha.strip();
+        if (valor.startsWith("\uFEFF")) {
+            valor = valor.substring(1);
+        }
+        if (valor.isEmpty()) {
+            return null;
+        }
+
+        if (valor.startsWith("{")) {
+            try {
+                JsonNode cep = MAPPER.readTree(valor).get("cep");
+                return cep == null || cep.isNull() ? "" : cep.asText();
+            } catch (JsonProcessingException e) {
+                return valor;
+            }
+        }
+
+        // CSV: o CEP fica na primeira coluna, separada por ';' ou ','
+        int fim = valor.length();
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == ';' || c == ',') {
+                fim = i;
+                break;
+            }
+        }
+        String cep = valor.substring(0, fim).strip();
+        if (cep.length() >= 2 && cep.startsWith("\"") && cep.endsWith("\"")) {
+            cep = cep.substring(1, cep.length() - 1).strip();
+        }
+        return "cep".equalsIgnoreCase(cep) ? null : cep;
+    }
+}
@@ -0,0 +1,72 @@
+package com.mrsalustiano.spring.camel.store;
+
+/**
+ * Representação do CEP como {@code int}: os 8 dígitos cabem em 27 bits,
+ * o que permite usar arrays e mapas primitivos nos caches e índices.
+ */
+public final class CepNumerico {
+
+    public static final int MAXIMO = 99_999_999;
+
+    // Devolvido por interpretar quando o texto não tem exatamente 8 dígitos
+    public static final int INVALIDO = -1;
+
+    private CepNumerico() {
+    }
+
+    /**
+     * Lê o CEP em uma passada, sem alocar: ignora tudo que não é dígito ASCII (hífen, ponto, espaços),
+     * como o antigo {@code replaceAll("\\D", "")}, e devolve {@link #INVALIDO} se não sobrarem exatamente 8 dígitos.
+     */
+    public static int interpretar(CharSequence cep) {
+        if (cep == null) {
+            return INVALIDO;
+        }
+        int valor = 0;
+        int digitos = 0;
+        for (int i = 0; i < cep.length(); i++) {
+            int digito = cep.charAt(i) - '0';
+            if (digito < 0 || digito > 9) {
+                continue;
+            }
+            if (++digitos > 8) {
+                return INVALIDO;
+            }
+            valor = valor * 10 + digito;
+        }
+        return digitos == 8 ? valor : INVALIDO;
+    }
+
+    // Recebe o CEP já normalizado (exatamente 8 dígitos)
+    public static int codificar(String cepLimpo) {
+        int valor = 0;
+        for (int i = 0; i < cepLimpo.length(); i++) {
+            valor = valor * 10 + (cepLimpo.charAt(i) - '0');
+        }
+        return valor;
+    }
+
+    // 1001000 -> "01001000"
+    public static String formatar(int cep) {
+        char[] digitos = new char[8];
+        for (int i = 7; i >= 0; i--) {
+            digitos[i] = (char) ('0' + cep % 10);
+            cep /= 10;
+        }
+        return new String(digitos);
+    }
+
+    // 1001000 -> "01001-000", formato devolvido pelo ViaCEP
+    public static String formatarComHifen(int cep) {
+        char[] digitos = new char[9];
+        for (int i = 8; i >= 0; i--) {
+            if (i == 5) {
+                digitos[i] = '-';
+                continue;
+            }
+            digitos[i] = (char) ('0' + cep % 10);
+            cep /= 10;
+        }
+        return new String(digitos);
+    }
+}
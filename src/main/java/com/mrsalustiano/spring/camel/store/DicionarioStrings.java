@@ -0,0 +1,49 @@
+package com.mrsalustiano.spring.camel.store;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dicionário para campos de baixa cardinalidade (UF, localidade, DDD, IBGE, SIAFI):
+ * cada valor distinto é guardado uma única vez e referenciado por um código inteiro.
+ * O código 0 representa {@code null}.
+ */
+public class DicionarioStrings {
+
+    private final ConcurrentHashMap<String, Integer> codigos = new ConcurrentHashMap<>();
+    private volatile String[] valores = new String[64];
+    private int proximo = 1;
+
+    public int codigo(String valor) {
+        if (valor == null) {
+            return 0;
+        }
+        Integer codigo = codigos.get(valor);
+        return codigo != null ? codigo : registrar(valor);
+    }
+
+    public String valor(int codigo) {
+        return codigo == 0 ? null : valores[codigo];
+    }
+
+    public int tamanho() {
+        return codigos.size();
+    }
+
+    private synchronized int registrar(String valor) {
+        Integer existente = codigos.get(valor);
+        if (existente != null) {
+            return existente;
+        }
+        int codigo = proximo++;
+        String[] atuais = valores;
+        if (codigo == atuais.length) {
+            atuais = Arrays.copyOf(atuais, atuais.length * 2);
+        }
+        atuais[codigo] = valor;
+        // Publica o array antes do código, para que leitores nunca vejam um código sem valor
+        valores = atuais;
+        codigos.put(valor, codigo);
+        return codigo;
+    }
+}
@@ -0,0 +1,537 @@
+package com.mrsalustiano.spring.camel.store;
+
+import com.mrsalustiano.spring.camel.config.EnderecoArquivoProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Segundo nível do cache de CEPs, em disco: um log append-only de endereços e um índice em memória
+ * (CEP -> posição e tamanho do registro) reconstruído na inicialização. Sobrevive a reinícios, então um pod
+ * recém-publicado não começa frio; os registros só são lidos quando o CEP falta na memória.
+ * <p>
+ * Cada registro leva tamanho e CRC32, e um registro incompleto no fim do arquivo (queda durante a escrita) é
+ * descartado na abertura. Regravações e registros expirados viram espaço obsoleto, recuperado pela compactação,
+ * que reescreve o arquivo só com os registros vigentes.
+ */
+@Slf4j
+@Component
+public class EnderecoArquivo implements MeterBinder, Closeable {
+
+    // "CEP1": identifica o arquivo e a versão do formato
+    private static final int MAGICO = 0x43455031;
+    private static final int VAZIO = -1;
+    private static final int NULO = 0xFFFF;
+    private static final float FATOR_CARGA = 0.6f;
+
+    // tamanho do conteúdo, CRC32 do conteúdo
+    private static final int CABECALHO_REGISTRO = 2 * Integer.BYTES;
+    // cep, gravadoEm e os campos de texto
+    private static final int INICIO_CAMPOS = 2 * Integer.BYTES;
+    private static final int CAMPOS = 9;
+    private static final int TAMANHO_MAXIMO_CONTEUDO = INICIO_CAMPOS + CAMPOS * (Character.BYTES + NULO);
+
+    // Posição e tamanho do registro em um long: 40 bits de posição (1 TB), 24 de tamanho
+    private static final int BITS_TAMANHO = 24;
+
+    private final boolean habilitado;
+    private final Path caminho;
+    private final long ttlSegundos;
+    private final long tamanhoMaximo;
+    private final int percentualObsoleto;
+    private final long tamanhoMinimoCompactacao;
+    private final Clock clock;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+
+    private FileChannel canal;
+    private long fim;
+    private int[] chaves = novoArrayDeChaves(1024);
+    private long[] registros = new long[1024];
+    private int tamanho;
+    private long bytesObsoletos;
+    private boolean cheioAvisado;
+
+    @Autowired
+    public EnderecoArquivo(EnderecoArquivoProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    EnderecoArquivo(EnderecoArquivoProperties properties, Clock clock) {
+        this.caminho = Path.of(properties.getCaminho());
+        this.ttlSegundos = properties.getTtl().toSeconds();
+        this.tamanhoMaximo = properties.getTamanhoMaximo().toBytes();
+        this.percentualObsoleto = properties.getPercentualObsoleto();
+        this.tamanhoMinimoCompactacao = properties.getTamanhoMinimoCompactacao().toBytes();
+        this.clock = clock;
+
+        boolean aberto = false;
+        if (properties.isHabilitado()) {
+            try {
+                abrir();
+                aberto = true;
+            } catch (IOException e) {
+                log.warn("Cache em disco desabilitado: não foi possível abrir {}: {}", caminho, e.getMessage());
+                fecharSemErro(canal);
+            }
+        }
+        this.habilitado = aberto;
+    }
+
+    public Endereco buscar(int cep) {
+        EnderecoGravado gravado = buscarGravado(cep);
+        return gravado != null ? gravado.endereco() : null;
+    }
+
+    public EnderecoGravado buscarGravado(int cep) {
+        if (!habilitado) {
+            return null;
+        }
+        EnderecoGravado endereco = null;
+        lock.readLock().lock();
+        try {
+            long registro = localizar(cep);
+            if (registro != VAZIO) {
+                endereco = ler(registro);
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao ler o CEP {} do cache em disco: {}", cep, e.getMessage());
+        } finally {
+            lock.readLock().unlock();
+        }
+        (endereco != null ? acertos : faltas).increment();
+        return endereco;
+    }
+
+    public void guardar(int cep, Endereco endereco) {
+        if (!habilitado || endereco == null || Boolean.TRUE.equals(endereco.getErro())) {
+            return;
+        }
+        ByteBuffer registro = codificar(cep, agora(), endereco);
+
+        lock.writeLock().lock();
+        try {
+            if (fim + registro.remaining() > tamanhoMaximo && bytesObsoletos > 0) {
+                compactar();
+            }
+            if (fim + registro.remaining() > tamanhoMaximo) {
+                if (!cheioAvisado) {
+                    log.warn("Cache em disco cheio ({} bytes); novos CEPs não serão gravados", tamanhoMaximo);
+                    cheioAvisado = true;
+                }
+                return;
+            }
+            long posicao = fim;
+            int tamanhoRegistro = registro.remaining();
+            escrever(canal, registro, posicao);
+            fim += tamanhoRegistro;
+            indexar(cep, referencia(posicao, tamanhoRegistro));
+            if (deveCompactar()) {
+                compactar();
+            }
+        } catch (IOException e) {
+            log.warn("Falha ao gravar o CEP {} no cache em disco: {}", cep, e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long bytesUtilizados() {
+        lock.readLock().lock();
+        try {
+            return fim;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", acertos, LongAdder::sum)
+                .tags("cache", "arquivo", "result", "hit")
+                .description("Consultas respondidas pelo cache em disco")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", faltas, LongAdder::sum)
+                .tags("cache", "arquivo", "result", "miss")
+                .description("Consultas que não estavam no cache em disco ou já tinham expirado")
+                .register(registry);
+        Gauge.builder("cache.size", this, EnderecoArquivo::tamanho)
+                .tags("cache", "arquivo")
+                .register(registry);
+        Gauge.builder("cache.arquivo.bytes", this, EnderecoArquivo::bytesUtilizados)
+                .description("Tamanho do log do cache em disco, incluindo espaço obsoleto")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    @PreDestroy
+    @Override
+    public void close() throws IOException {
+        if (!habilitado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            canal.force(false);
+            canal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void fecharSemErro(FileChannel canal) {
+        try {
+            if (canal != null) {
+                canal.close();
+            }
+        } catch (IOException ignorada) {
+            // o arquivo já não será usado
+        }
+    }
+
+    private void abrir() throws IOException {
+        Path diretorio = caminho.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        canal = FileChannel.open(caminho, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (canal.size() < Integer.BYTES || lerInt(0) != MAGICO) {
+            if (canal.size() > 0) {
+                log.warn("{} não é um cache de endereços conhecido; recomeçando vazio", caminho);
+            }
+            canal.truncate(0);
+            escrever(canal, ByteBuffer.allocate(Integer.BYTES).putInt(0, MAGICO), 0);
+            fim = Integer.BYTES;
+            return;
+        }
+
+        fim = carregarIndice();
+        if (fim < canal.size()) {
+            log.warn("Descartando {} bytes incompletos no fim de {}", canal.size() - fim, caminho);
+            canal.truncate(fim);
+        }
+        log.info("Cache em disco carregado de {}: {} endereços, {} bytes ({} obsoletos)",
+                caminho, tamanho, fim, bytesObsoletos);
+        if (deveCompactar()) {
+            compactar();
+        }
+    }
+
+    // Lê o log inteiro em sequência; para no primeiro registro incompleto ou com CRC inválido
+    private long carregarIndice() throws IOException {
+        long agora = agora();
+        long posicao = Integer.BYTES;
+        // O stream não é fechado: fecharia também o canal
+        DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Channels.newInputStream(canal.position(posicao)), 1 << 16));
+        while (true) {
+            byte[] conteudo;
+            int crc;
+            try {
+                int tamanhoConteudo = entrada.readInt();
+                crc = entrada.readInt();
+                if (tamanhoConteudo < INICIO_CAMPOS || tamanhoConteudo > TAMANHO_MAXIMO_CONTEUDO) {
+                    return posicao;
+                }
+                conteudo = entrada.readNBytes(tamanhoConteudo);
+                if (conteudo.length < tamanhoConteudo) {
+                    return posicao;
+                }
+            } catch (EOFException e) {
+                return posicao;
+            }
+            if (crc32(conteudo, 0, conteudo.length) != crc) {
+                return posicao;
+            }
+            int tamanhoRegistro = CABECALHO_REGISTRO + conteudo.length;
+            ByteBuffer campos = ByteBuffer.wrap(conteudo);
+            if (expirado(campos.getInt(Integer.BYTES), agora)) {
+                bytesObsoletos += tamanhoRegistro;
+            } else {
+                indexar(campos.getInt(0), referencia(posicao, tamanhoRegistro));
+            }
+            posicao += tamanhoRegistro;
+        }
+    }
+
+    // Reescreve os registros vigentes, na ordem do arquivo, em um arquivo novo que substitui o atual
+    private void compactar() throws IOException {
+        long antes = fim;
+        long[] vigentes = new long[tamanho];
+        int n = 0;
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != VAZIO) {
+                vigentes[n++] = registros[i];
+            }
+        }
+        Arrays.sort(vigentes);
+
+        int[] chavesAntigas = chaves;
+        long[] registrosAntigos = registros;
+        int tamanhoAntigo = tamanho;
+        chaves = novoArrayDeChaves(chavesAntigas.length);
+        registros = new long[chavesAntigas.length];
+        tamanho = 0;
+
+        Path temporario = caminho.resolveSibling(caminho.getFileName() + ".compactando");
+        long agora = agora();
+        long destino = Integer.BYTES;
+        FileChannel novo = null;
+        try {
+            novo = FileChannel.open(temporario, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            escrever(novo, ByteBuffer.allocate(Integer.BYTES).putInt(0, MAGICO), 0);
+            for (long registro : vigentes) {
+                ByteBuffer bytes = lerRegistro(registro);
+                if (expirado(bytes.getInt(CABECALHO_REGISTRO + Integer.BYTES), agora)) {
+                    continue;
+                }
+                int cep = bytes.getInt(CABECALHO_REGISTRO);
+                int tamanhoRegistro = bytes.remaining();
+                escrever(novo, bytes, destino);
+                indexar(cep, referencia(destino, tamanhoRegistro));
+                destino += tamanhoRegistro;
+            }
+            novo.force(true);
+            // O canal novo segue o arquivo depois da troca; o original só é fechado quando ela dá certo
+            substituir(temporario, caminho);
+        } catch (IOException e) {
+            fecharSemErro(novo);
+            chaves = chavesAntigas;
+            registros = registrosAntigos;
+            tamanho = tamanhoAntigo;
+            Files.deleteIfExists(temporario);
+            throw e;
+        }
+
+        fecharSemErro(canal);
+        canal = novo;
+        fim = destino;
+        bytesObsoletos = 0;
+        cheioAvisado = false;
+        log.info("Cache em disco compactado: {} -> {} bytes, {} endereços", antes, fim, tamanho);
+    }
+
+    // Troca atômica (sobrescrita nos testes para simular falha) do arquivo compactado pelo atual
+    void substituir(Path compactado, Path atual) throws IOException {
+        Files.move(compactado, atual, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private boolean deveCompactar() {
+        return fim >= tamanhoMinimoCompactacao && bytesObsoletos * 100 >= fim * percentualObsoleto;
+    }
+
+    private EnderecoGravado ler(long registro) throws IOException {
+        ByteBuffer bytes = lerRegistro(registro);
+        int tamanhoConteudo = bytes.getInt(0);
+        if (tamanhoConteudo != bytes.remaining() - CABECALHO_REGISTRO
+                || crc32(bytes.array(), CABECALHO_REGISTRO, tamanhoConteudo) != bytes.getInt(Integer.BYTES)) {
+            log.warn("Registro corrompido no cache em disco na posição {}", registro >>> BITS_TAMANHO);
+            return null;
+        }
+        int gravadoEm = bytes.getInt(CABECALHO_REGISTRO + Integer.BYTES);
+        long agora = agora();
+        if (expirado(gravadoEm, agora)) {
+            return null;
+        }
+        Duration idade = Duration.ofSeconds(Math.max(0, agora - Integer.toUnsignedLong(gravadoEm)));
+        return new EnderecoGravado(decodificar(bytes.position(CABECALHO_REGISTRO)), idade);
+    }
+
+    private ByteBuffer lerRegistro(long registro) throws IOException {
+        long posicao = registro >>> BITS_TAMANHO;
+        ByteBuffer bytes = ByteBuffer.allocate((int) (registro & ((1L << BITS_TAMANHO) - 1)));
+        while (bytes.hasRemaining()) {
+            int lidos = canal.read(bytes, posicao + bytes.position());
+            if (lidos < 0) {
+                throw new EOFException("Registro além do fim do arquivo na posição " + posicao);
+            }
+        }
+        return bytes.flip();
+    }
+
+    private int lerInt(long posicao) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(Integer.BYTES);
+        canal.read(bytes, posicao);
+        return bytes.getInt(0);
+    }
+
+    private static ByteBuffer codificar(int cep, int gravadoEm, Endereco endereco) {
+        byte[][] campos = {
+                EnderecoStore.utf8(endereco.getLogradouro()), EnderecoStore.utf8(endereco.getComplemento()),
+                EnderecoStore.utf8(endereco.getBairro()), EnderecoStore.utf8(endereco.getLocalidade()),
+                EnderecoStore.utf8(endereco.getUf()), EnderecoStore.utf8(endereco.getIbge()),
+                EnderecoStore.utf8(endereco.getGia()), EnderecoStore.utf8(endereco.getDdd()),
+                EnderecoStore.utf8(endereco.getSiafi())
+        };
+        int tamanhoConteudo = INICIO_CAMPOS;
+        for (byte[] campo : campos) {
+            tamanhoConteudo += Character.BYTES + (campo == null ? 0 : campo.length);
+        }
+        ByteBuffer registro = ByteBuffer.allocate(CABECALHO_REGISTRO + tamanhoConteudo)
+                .putInt(tamanhoConteudo)
+                .putInt(0)
+                .putInt(cep)
+                .putInt(gravadoEm);
+        for (byte[] campo : campos) {
+            if (campo == null) {
+                registro.putChar((char) NULO);
+            } else {
+                registro.putChar((char) campo.length).put(campo);
+            }
+        }
+        registro.putInt(Integer.BYTES, crc32(registro.array(), CABECALHO_REGISTRO, tamanhoConteudo));
+        return registro.flip();
+    }
+
+    private static Endereco decodificar(ByteBuffer conteudo) {
+        Endereco endereco = new Endereco();
+        endereco.setCep(CepNumerico.formatarComHifen(conteudo.getInt()));
+        conteudo.getInt();
+        endereco.setLogradouro(lerCampo(conteudo));
+        endereco.setComplemento(lerCampo(conteudo));
+        endereco.setBairro(lerCampo(conteudo));
+        endereco.setLocalidade(lerCampo(conteudo));
+        endereco.setUf(lerCampo(conteudo));
+        endereco.setIbge(lerCampo(conteudo));
+        endereco.setGia(lerCampo(conteudo));
+        endereco.setDdd(lerCampo(conteudo));
+        endereco.setSiafi(lerCampo(conteudo));
+        return endereco;
+    }
+
+    private static String lerCampo(ByteBuffer conteudo) {
+        int tamanhoCampo = conteudo.getChar();
+        if (tamanhoCampo == NULO) {
+            return null;
+        }
+        String valor = new String(conteudo.array(), conteudo.position(), tamanhoCampo, StandardCharsets.UTF_8);
+        conteudo.position(conteudo.position() + tamanhoCampo);
+        return valor;
+    }
+
+    private static void escrever(FileChannel canal, ByteBuffer bytes, long posicao) throws IOException {
+        while (bytes.hasRemaining()) {
+            posicao += canal.write(bytes, posicao);
+        }
+    }
+
+    private long localizar(int cep) {
+        int mascara = chaves.length - 1;
+        for (int i = indice(cep, mascara); ; i = (i + 1) & mascara) {
+            int chave = chaves[i];
+            if (chave == cep) {
+                return registros[i];
+            }
+            if (chave == VAZIO) {
+                return VAZIO;
+            }
+        }
+    }
+
+    private void indexar(int cep, long registro) {
+        if (tamanho + 1 > chaves.length * FATOR_CARGA) {
+            redimensionarIndice(chaves.length * 2);
+        }
+        int mascara = chaves.length - 1;
+        for (int i = indice(cep, mascara); ; i = (i + 1) & mascara) {
+            if (chaves[i] == cep) {
+                // Regravação do mesmo CEP: o registro anterior vira espaço obsoleto
+                bytesObsoletos += registros[i] & ((1L << BITS_TAMANHO) - 1);
+                registros[i] = registro;
+                return;
+            }
+            if (chaves[i] == VAZIO) {
+                chaves[i] = cep;
+                registros[i] = registro;
+                tamanho++;
+                return;
+            }
+        }
+    }
+
+    private void redimensionarIndice(int novaCapacidade) {
+        int[] chavesAntigas = chaves;
+        long[] registrosAntigos = registros;
+        chaves = novoArrayDeChaves(novaCapacidade);
+        registros = new long[novaCapacidade];
+        int mascara = novaCapacidade - 1;
+        for (int j = 0; j < chavesAntigas.length; j++) {
+            if (chavesAntigas[j] == VAZIO) {
+                continue;
+            }
+            int i = indice(chavesAntigas[j], mascara);
+            while (chaves[i] != VAZIO) {
+                i = (i + 1) & mascara;
+            }
+            chaves[i] = chavesAntigas[j];
+            registros[i] = registrosAntigos[j];
+        }
+    }
+
+    private boolean expirado(int gravadoEm, long agora) {
+        return agora - Integer.toUnsignedLong(gravadoEm) > ttlSegundos;
+    }
+
+    private int agora() {
+        return (int) clock.instant().getEpochSecond();
+    }
+
+    private static long referencia(long posicao, int tamanhoRegistro) {
+        return posicao << BITS_TAMANHO | tamanhoRegistro;
+    }
+
+    private static int crc32(byte[] bytes, int inicio, int tamanho) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, inicio, tamanho);
+        return (int) crc.getValue();
+    }
+
+    private static int indice(int cep, int mascara) {
+        int h = cep * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    private static int[] novoArrayDeChaves(int capacidade) {
+        int[] chaves = new int[capacidade];
+        Arrays.fill(chaves, VAZIO);
+        return chaves;
+    }
+}
@@ -0,0 +1,11 @@
+package com.mrsalustiano.spring.camel.store;
+
+import com.mrsalustiano.spring.camel.model.Endereco;
+
+import java.time.Duration;
+
+/**
+ * Endereço lido de uma camada de armazenamento, com o tempo desde a gravação original.
+ */
+public record EnderecoGravado(Endereco endereco, Duration idade) {
+}
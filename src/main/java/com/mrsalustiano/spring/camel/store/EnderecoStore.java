@@ -0,0 +1,386 @@
+package com.mrsalustiano.spring.camel.store;
+
+import com.mrsalustiano.spring.camel.config.EnderecoStoreProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Armazenamento compacto de endereços, indexado pelo CEP numérico.
+ * <p>
+ * Os registros ficam fora do heap, em um {@link ByteBuffer} direto, e o índice é um mapa
+ * de endereçamento aberto sobre arrays {@code int[]} (CEP -> posição do registro).
+ * Campos repetitivos (UF, localidade, DDD, IBGE, SIAFI) são guardados como códigos de dicionário.
+ */
+@Slf4j
+@Component
+public class EnderecoStore {
+
+    private static final int VAZIO = -1;
+    private static final int NULO = 0xFFFF;
+    private static final float FATOR_CARGA = 0.6f;
+
+    // cep, gravadoEm, uf, localidade, ddd, ibge, siafi
+    private static final int CABECALHO_REGISTRO = 7 * Integer.BYTES;
+
+    private final boolean habilitado;
+    private final long ttlSegundos;
+    private final int capacidadeMaxima;
+    private final Clock clock;
+
+    private final DicionarioStrings ufs = new DicionarioStrings();
+    private final DicionarioStrings localidades = new DicionarioStrings();
+    private final DicionarioStrings ddds = new DicionarioStrings();
+    private final DicionarioStrings ibges = new DicionarioStrings();
+    private final DicionarioStrings siafis = new DicionarioStrings();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ByteBuffer arena;
+    private int[] chaves;
+    private int[] posicoes;
+    private int tamanho;
+    private int bytesObsoletos;
+    // Gravação mais antiga entre os registros vivos: diz sem varrer a arena se algum já expirou
+    private long gravadoMaisAntigo = Long.MAX_VALUE;
+    private int compactacoes;
+    private boolean cheioAvisado;
+
+    @Autowired
+    public EnderecoStore(EnderecoStoreProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    EnderecoStore(EnderecoStoreProperties properties, Clock clock) {
+        this.habilitado = properties.isHabilitado();
+        this.ttlSegundos = properties.getTtl().toSeconds();
+        this.capacidadeMaxima = (int) Math.min(properties.getCapacidadeMaxima().toBytes(), Integer.MAX_VALUE - 8);
+        this.clock = clock;
+        int capacidadeInicial = (int) Math.min(properties.getCapacidadeInicial().toBytes(), capacidadeMaxima);
+        this.arena = ByteBuffer.allocateDirect(habilitado ? capacidadeInicial : 0);
+        this.chaves = novoArrayDeChaves(1024);
+        this.posicoes = new int[1024];
+    }
+
+    public Endereco buscar(int cep) {
+        EnderecoGravado gravado = buscarGravado(cep);
+        return gravado != null ? gravado.endereco() : null;
+    }
+
+    public EnderecoGravado buscarGravado(int cep) {
+        if (!habilitado) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int posicao = localizar(cep);
+            if (posicao == VAZIO || expirado(posicao)) {
+                return null;
+            }
+            long idade = Math.max(0, clock.instant().getEpochSecond() - gravadoEm(posicao));
+            return new EnderecoGravado(decodificar(posicao), Duration.ofSeconds(idade));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contem(int cep) {
+        if (!habilitado) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            int posicao = localizar(cep);
+            return posicao != VAZIO && !expirado(posicao);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void guardar(int cep, Endereco endereco) {
+        guardar(cep, endereco, Duration.ZERO);
+    }
+
+    // Com a idade que o endereço já tem em outra camada, para o TTL contar da gravação original
+    public void guardar(int cep, Endereco endereco, Duration idade) {
+        if (!habilitado || endereco == null || Boolean.TRUE.equals(endereco.getErro())) {
+            return;
+        }
+        byte[] logradouro = utf8(endereco.getLogradouro());
+        byte[] complemento = utf8(endereco.getComplemento());
+        byte[] bairro = utf8(endereco.getBairro());
+        byte[] gia = utf8(endereco.getGia());
+        int tamanhoRegistro = CABECALHO_REGISTRO
+                + tamanhoCampo(logradouro) + tamanhoCampo(complemento)
+                + tamanhoCampo(bairro) + tamanhoCampo(gia);
+
+        lock.writeLock().lock();
+        try {
+            if (!reservar(tamanhoRegistro)) {
+                if (!cheioAvisado) {
+                    log.warn("Armazenamento compacto de endereços cheio ({} bytes); novos CEPs não serão guardados",
+                            capacidadeMaxima);
+                    cheioAvisado = true;
+                }
+                return;
+            }
+            int posicao = arena.position();
+            long gravadoEm = clock.instant().getEpochSecond() - idade.toSeconds();
+            gravadoMaisAntigo = Math.min(gravadoMaisAntigo, gravadoEm);
+            arena.putInt(cep)
+                    .putInt((int) gravadoEm)
+                    .putInt(ufs.codigo(endereco.getUf()))
+                    .putInt(localidades.codigo(endereco.getLocalidade()))
+                    .putInt(ddds.codigo(endereco.getDdd()))
+                    .putInt(ibges.codigo(endereco.getIbge()))
+                    .putInt(siafis.codigo(endereco.getSiafi()));
+            escreverCampo(logradouro);
+            escreverCampo(complemento);
+            escreverCampo(bairro);
+            escreverCampo(gia);
+            indexar(cep, posicao);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return tamanho;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long bytesUtilizados() {
+        lock.readLock().lock();
+        try {
+            return arena.position();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reorganizações da arena desde a criação
+    int compactacoes() {
+        lock.readLock().lock();
+        try {
+            return compactacoes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Cópia dos CEPs guardados, usada para construir índices derivados
+    public int[] ceps() {
+        lock.readLock().lock();
+        try {
+            int[] resultado = new int[tamanho];
+            int n = 0;
+            for (int chave : chaves) {
+                if (chave != VAZIO) {
+                    resultado[n++] = chave;
+                }
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int localizar(int cep) {
+        int mascara = chaves.length - 1;
+        for (int i = indice(cep, mascara); ; i = (i + 1) & mascara) {
+            int chave = chaves[i];
+            if (chave == cep) {
+                return posicoes[i];
+            }
+            if (chave == VAZIO) {
+                return VAZIO;
+            }
+        }
+    }
+
+    private void indexar(int cep, int posicao) {
+        if (tamanho + 1 > chaves.length * FATOR_CARGA) {
+            redimensionarIndice(chaves.length * 2);
+        }
+        int mascara = chaves.length - 1;
+        for (int i = indice(cep, mascara); ; i = (i + 1) & mascara) {
+            if (chaves[i] == cep) {
+                // Regravação do mesmo CEP: o registro anterior vira espaço obsoleto
+                bytesObsoletos += tamanhoRegistro(posicoes[i]);
+                posicoes[i] = posicao;
+                return;
+            }
+            if (chaves[i] == VAZIO) {
+                chaves[i] = cep;
+                posicoes[i] = posicao;
+                tamanho++;
+                return;
+            }
+        }
+    }
+
+    private void redimensionarIndice(int novaCapacidade) {
+        int[] chavesAntigas = chaves;
+        int[] posicoesAntigas = posicoes;
+        chaves = novoArrayDeChaves(novaCapacidade);
+        posicoes = new int[novaCapacidade];
+        int mascara = novaCapacidade - 1;
+        for (int j = 0; j < chavesAntigas.length; j++) {
+            if (chavesAntigas[j] == VAZIO) {
+                continue;
+            }
+            int i = indice(chavesAntigas[j], mascara);
+            while (chaves[i] != VAZIO) {
+                i = (i + 1) & mascara;
+            }
+            chaves[i] = chavesAntigas[j];
+            posicoes[i] = posicoesAntigas[j];
+        }
+    }
+
+    // Garante espaço para mais um registro: cresce a arena ou descarta registros obsoletos/expirados.
+    // Só reorganiza quando há o que recuperar; cheia e sem nada a recuperar, recusa sem copiar a arena.
+    private boolean reservar(int tamanhoRegistro) {
+        long necessario = (long) arena.position() + tamanhoRegistro;
+        if (necessario <= arena.capacity()) {
+            return true;
+        }
+        if (bytesObsoletos >= tamanhoRegistro || possuiExpirados()) {
+            compactar();
+            necessario = (long) arena.position() + tamanhoRegistro;
+            if (necessario <= arena.capacity()) {
+                return true;
+            }
+        }
+        if (necessario > capacidadeMaxima) {
+            return false;
+        }
+        long novaCapacidade = Math.max(necessario, Math.min((long) arena.capacity() * 2, capacidadeMaxima));
+        ByteBuffer nova = ByteBuffer.allocateDirect((int) novaCapacidade);
+        nova.put(arena.flip());
+        arena = nova;
+        return true;
+    }
+
+    private void compactar() {
+        ByteBuffer nova = ByteBuffer.allocateDirect(arena.capacity());
+        int[] chavesAntigas = chaves;
+        int[] posicoesAntigas = posicoes;
+        chaves = novoArrayDeChaves(chavesAntigas.length);
+        posicoes = new int[chavesAntigas.length];
+        tamanho = 0;
+        gravadoMaisAntigo = Long.MAX_VALUE;
+        for (int j = 0; j < chavesAntigas.length; j++) {
+            if (chavesAntigas[j] == VAZIO || expirado(posicoesAntigas[j])) {
+                continue;
+            }
+            int origem = posicoesAntigas[j];
+            gravadoMaisAntigo = Math.min(gravadoMaisAntigo, gravadoEm(origem));
+            int tamanhoRegistro = tamanhoRegistro(origem);
+            int destino = nova.position();
+            nova.put(arena.slice(origem, tamanhoRegistro));
+            indexar(chavesAntigas[j], destino);
+        }
+        log.debug("Armazenamento compacto reorganizado: {} -> {} bytes", arena.position(), nova.position());
+        arena = nova;
+        bytesObsoletos = 0;
+        compactacoes++;
+        cheioAvisado = false;
+    }
+
+    // Pode superestimar (o mais antigo foi regravado): a compactação seguinte recalcula
+    private boolean possuiExpirados() {
+        return gravadoMaisAntigo != Long.MAX_VALUE
+                && clock.instant().getEpochSecond() - gravadoMaisAntigo > ttlSegundos;
+    }
+
+    private boolean expirado(int posicao) {
+        return clock.instant().getEpochSecond() - gravadoEm(posicao) > ttlSegundos;
+    }
+
+    private long gravadoEm(int posicao) {
+        return Integer.toUnsignedLong(arena.getInt(posicao + Integer.BYTES));
+    }
+
+    private int tamanhoRegistro(int posicao) {
+        int cursor = posicao + CABECALHO_REGISTRO;
+        for (int campo = 0; campo < 4; campo++) {
+            int tamanhoCampo = arena.getChar(cursor);
+            cursor += Character.BYTES + (tamanhoCampo == NULO ? 0 : tamanhoCampo);
+        }
+        return cursor - posicao;
+    }
+
+    private Endereco decodificar(int posicao) {
+        Endereco endereco = new Endereco();
+        endereco.setCep(CepNumerico.formatarComHifen(arena.getInt(posicao)));
+        endereco.setUf(ufs.valor(arena.getInt(posicao + 2 * Integer.BYTES)));
+        endereco.setLocalidade(localidades.valor(arena.getInt(posicao + 3 * Integer.BYTES)));
+        endereco.setDdd(ddds.valor(arena.getInt(posicao + 4 * Integer.BYTES)));
+        endereco.setIbge(ibges.valor(arena.getInt(posicao + 5 * Integer.BYTES)));
+        endereco.setSiafi(siafis.valor(arena.getInt(posicao + 6 * Integer.BYTES)));
+
+        int[] cursor = {posicao + CABECALHO_REGISTRO};
+        endereco.setLogradouro(lerCampo(cursor));
+        endereco.setComplemento(lerCampo(cursor));
+        endereco.setBairro(lerCampo(cursor));
+        endereco.setGia(lerCampo(cursor));
+        return endereco;
+    }
+
+    private String lerCampo(int[] cursor) {
+        int tamanhoCampo = arena.getChar(cursor[0]);
+        cursor[0] += Character.BYTES;
+        if (tamanhoCampo == NULO) {
+            return null;
+        }
+        byte[] bytes = new byte[tamanhoCampo];
+        arena.get(cursor[0], bytes);
+        cursor[0] += tamanhoCampo;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void escreverCampo(byte[] bytes) {
+        if (bytes == null) {
+            arena.putChar((char) NULO);
+            return;
+        }
+        arena.putChar((char) bytes.length).put(bytes);
+    }
+
+    static byte[] utf8(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        // Campos do ViaCEP são curtos; o limite existe apenas para caber no prefixo de 16 bits
+        return bytes.length < NULO ? bytes : Arrays.copyOf(bytes, NULO - 1);
+    }
+
+    private static int tamanhoCampo(byte[] bytes) {
+        return Character.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static int indice(int cep, int mascara) {
+        int h = cep * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    private static int[] novoArrayDeChaves(int capacidade) {
+        int[] chaves = new int[capacidade];
+        Arrays.fill(chaves, VAZIO);
+        return chaves;
+    }
+}
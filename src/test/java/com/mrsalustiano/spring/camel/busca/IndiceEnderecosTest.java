@@ -0,0 +1,186 @@
+package com.mrsalustiano.spring.camel.busca;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties;
+import com.mrsalustiano.spring.camel.config.IndiceEnderecosProperties;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
+import com.mrsalustiano.spring.camel.dataset.CepDatasetImporter;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.store.CepNumerico;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IndiceEnderecos - Testes Unitários")
+public class IndiceEnderecosTest {
+
+    @TempDir
+    private Path diretorio;
+
+    private IndiceEnderecosProperties properties;
+    private CepDataset dataset;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path json = diretorio.resolve("ceps.json");
+        Path arquivo = diretorio.resolve("ceps.bin");
+        Files.writeString(json, """
+                [
+                  {"cep": "01001-000", "logradouro": "Praça da Sé", "localidade": "São Paulo", "uf": "SP"},
+                  {"cep": "01310-100", "logradouro": "Avenida Paulista", "localidade": "São Paulo", "uf": "SP"},
+                  {"cep": "01310-200", "logradouro": "Avenida Paulista", "localidade": "São Paulo", "uf": "SP"},
+                  {"cep": "04101-300", "logradouro": "Rua Domingos de Morais", "localidade": "São Paulo", "uf": "SP"},
+                  {"cep": "13010-111", "logradouro": "Rua Paulista", "localidade": "Campinas", "uf": "SP"},
+                  {"cep": "20040-020", "logradouro": "Avenida Rio Branco", "localidade": "Rio de Janeiro", "uf": "RJ"}
+                ]
+                """);
+        new CepDatasetImporter(new ObjectMapper()).importar(json, arquivo);
+        CepDatasetProperties datasetProperties = new CepDatasetProperties();
+        datasetProperties.setArquivo(arquivo.toString());
+        dataset = new CepDataset(datasetProperties);
+        properties = new IndiceEnderecosProperties();
+    }
+
+    @Test
+    @DisplayName("Deve encontrar logradouros ignorando acentos, caixa e ordem das palavras")
+    void deveEncontrarIgnorandoAcentosECaixa() {
+        // Given
+        IndiceEnderecos indice = new IndiceEnderecos(properties, dataset);
+        indice.carregarBaseLocal();
+
+        // When
+        List<Endereco> paulista = indice.buscar("sp", "SAO PAULO", "paulista");
+        List<Endereco> se = indice.buscar("SP", "São Paulo", "praca SÉ");
+        List<Endereco> morais = indice.buscar("SP", "São Paulo", "morais domingos");
+
+        // Then
+        assertEquals(List.of("01310-100", "01310-200"), paulista.stream().map(Endereco::getCep).toList());
+        assertEquals("Avenida Paulista", paulista.get(0).getLogradouro());
+        assertEquals("São Paulo", paulista.get(0).getLocalidade());
+        assertEquals("01001-000", se.get(0).getCep());
+        assertEquals("04101-300", morais.get(0).getCep());
+        assertEquals(4, indice.buscar("SP", "São Paulo", "a").size());
+    }
+
+    @Test
+    @DisplayName("Deve responder lista vazia para logradouro inexistente em cidade coberta")
+    void deveResponderVazioEmCidadeCoberta() {
+        // Given
+        IndiceEnderecos indice = new IndiceEnderecos(properties, dataset);
+        indice.carregarBaseLocal();
+
+        // When
+        List<Endereco> resultado = indice.buscar("SP", "São Paulo", "Rua Inexistente");
+
+        // Then
+        assertNotNull(resultado);
+        assertTrue(resultado.isEmpty());
+        assertTrue(indice.cobre("SP", "Sao Paulo"));
+        assertEquals(3, indice.cidadesCobertas());
+        assertEquals(6, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("Não deve responder por cidades fora da base local, mesmo com endereços do cache")
+    void naoDeveResponderPorCidadeForaDaBaseLocal() {
+        // Given
+        IndiceEnderecos indice = new IndiceEnderecos(properties, dataset);
+        indice.carregarBaseLocal();
+        indice.indexar(new Endereco("30130-010", "Avenida Afonso Pena", null, "Centro", "Belo Horizonte",
+                "MG", null, null, "31", null, null));
+
+        // When
+        List<Endereco> resultado = indice.buscar("MG", "Belo Horizonte", "Afonso Pena");
+
+        // Then
+        assertNull(resultado);
+        assertFalse(indice.cobre("MG", "Belo Horizonte"));
+        assertNull(indice.buscar("SP", "Santos", "Paulista"));
+    }
+
+    @Test
+    @DisplayName("Não deve guardar endereços do ViaCEP sem base local nem em cidades fora dela")
+    void naoDeveGuardarEnderecosForaDaBaseLocal() {
+        // Given
+        IndiceEnderecos semBase = new IndiceEnderecos(properties, new CepDataset(new CepDatasetProperties()));
+        IndiceEnderecos comBase = new IndiceEnderecos(properties, dataset);
+        comBase.carregarBaseLocal();
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            Endereco endereco = new Endereco(CepNumerico.formatarComHifen(30_130_000 + i), "Rua " + i, null,
+                    "Centro", "Belo Horizonte", "MG", null, null, "31", null, null);
+            semBase.indexar(endereco);
+            comBase.indexar(endereco);
+        }
+
+        // Then
+        assertEquals(0, semBase.tamanho());
+        assertEquals(6, comBase.tamanho());
+        assertFalse(comBase.cobre("MG", "Belo Horizonte"));
+    }
+
+    @Test
+    @DisplayName("Deve incluir endereços do cache nas cidades cobertas e reindexar CEP com logradouro novo")
+    void deveIncluirEnderecosDoCache() {
+        // Given
+        IndiceEnderecos indice = new IndiceEnderecos(properties, dataset);
+        indice.carregarBaseLocal();
+
+        // When
+        indice.indexar(new Endereco("01311-000", "Avenida Paulista", null, "Bela Vista", "São Paulo",
+                "SP", null, null, "11", null, null));
+        indice.indexar(new Endereco("04101-300", "Rua Vergueiro", null, "Vila Mariana", "São Paulo",
+                "SP", null, null, "11", null, null));
+
+        // Then
+        assertEquals(List.of("01310-100", "01310-200", "01311-000"),
+                indice.buscar("SP", "São Paulo", "Paulista").stream().map(Endereco::getCep).toList());
+        assertTrue(indice.buscar("SP", "São Paulo", "Domingos").isEmpty());
+        assertEquals("Vila Mariana", indice.buscar("SP", "São Paulo", "Vergueiro").get(0).getBairro());
+        assertEquals(7, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("Deve limitar a quantidade de endereços devolvidos")
+    void deveLimitarResultado() {
+        // Given
+        properties.setLimite(1);
+        IndiceEnderecos indice = new IndiceEnderecos(properties, dataset);
+        indice.carregarBaseLocal();
+
+        // When
+        List<Endereco> resultado = indice.buscar("SP", "São Paulo", "Paulista");
+
+        // Then
+        assertEquals(List.of("01310-100"), resultado.stream().map(Endereco::getCep).toList());
+    }
+
+    @Test
+    @DisplayName("Não deve responder antes de carregar a base local nem quando desabilitado")
+    void naoDeveResponderSemBaseLocalCarregada() {
+        // Given
+        IndiceEnderecos antesDeCarregar = new IndiceEnderecos(properties, dataset);
+        properties.setHabilitado(false);
+        IndiceEnderecos desabilitado = new IndiceEnderecos(properties, dataset);
+        desabilitado.carregarBaseLocal();
+
+        // Then
+        assertNull(antesDeCarregar.buscar("SP", "São Paulo", "Paulista"));
+        assertNull(desabilitado.buscar("SP", "São Paulo", "Paulista"));
+    }
+
+    @Test
+    @DisplayName("Deve remover acentos, caixa e pontuação")
+    void deveDobrarTexto() {
+        assertEquals("praca da se 2 centro", IndiceEnderecos.dobrar("  Praça da Sé, 2 (Centro) "));
+        assertEquals("sao joao d alianca", IndiceEnderecos.dobrar("SÃO JOÃO D'ALIANÇA"));
+    }
+}
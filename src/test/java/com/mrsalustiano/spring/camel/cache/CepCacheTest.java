@@ -0,0 +1,269 @@
+package com.mrsalustiano.spring.camel.cache;
+
+import com.mrsalustiano.spring.camel.config.CepCacheProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.EnderecoObsoleto;
+import com.mrsalustiano.spring.camel.model.RespostaJson;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CepCache - Testes Unitários")
+public class CepCacheTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private CepCacheProperties properties;
+    private Endereco enderecoValido;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CepCacheProperties();
+        properties.setTtl(Duration.ofHours(1));
+        properties.setTtlNegativo(Duration.ofMinutes(1));
+
+        enderecoValido = new Endereco();
+        enderecoValido.setCep("01001-000");
+        enderecoValido.setUf("SP");
+    }
+
+    @Test
+    @DisplayName("Deve retornar endereço guardado dentro do TTL")
+    void deveRetornarEnderecoGuardadoDentroDoTtl() {
+        // Given
+        CepCache cache = new CepCache(properties, relogio::get);
+        cache.guardar(1001000, enderecoValido);
+
+        // When
+        avancar(Duration.ofMinutes(59));
+
+        // Then
+        assertSame(enderecoValido, cache.buscar(1001000));
+    }
+
+    @Test
+    @DisplayName("Deve expirar endereço após o TTL")
+    void deveExpirarEnderecoAposTtl() {
+        // Given
+        CepCache cache = new CepCache(properties, relogio::get);
+        cache.guardar(1001000, enderecoValido);
+
+        // When
+        avancar(Duration.ofMinutes(61));
+
+        // Then
+        assertNull(cache.buscar(1001000));
+    }
+
+    @Test
+    @DisplayName("Deve expirar resposta negativa com o TTL curto")
+    void deveExpirarRespostaNegativaComTtlCurto() {
+        // Given
+        CepCache cache = new CepCache(properties, relogio::get);
+        cache.guardar(99999999, null);
+
+        // Then
+        Endereco negativo = cache.buscar(99999999);
+        assertNotNull(negativo);
+        assertTrue(CepCache.isNegativo(negativo));
+
+        avancar(Duration.ofSeconds(61));
+        assertNull(cache.buscar(99999999));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o limite máximo de entradas")
+    void deveRespeitarLimiteMaximoDeEntradas() {
+        // Given
+        properties.setMaxEntradas(10);
+        CepCache cache = new CepCache(properties, relogio::get);
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            cache.guardar(i, enderecoValido);
+        }
+
+        // Then
+        assertTrue(cache.tamanho() <= 10);
+    }
+
+    @Test
+    @DisplayName("Não deve guardar nada com o cache desabilitado")
+    void naoDeveGuardarComCacheDesabilitado() {
+        // Given
+        properties.setHabilitado(false);
+        CepCache cache = new CepCache(properties, relogio::get);
+
+        // When
+        cache.guardar(1001000, enderecoValido);
+
+        // Then
+        assertNull(cache.buscar(1001000));
+    }
+
+    @Test
+    @DisplayName("Deve manter endereço obsoleto disponível durante a janela após o TTL")
+    void deveManterEnderecoObsoletoNaJanela() {
+        // Given
+        properties.setJanelaObsoleta(Duration.ofHours(2));
+        CepCache cache = new CepCache(properties, relogio::get);
+        cache.guardar(1001000, enderecoValido);
+        assertNull(cache.buscarObsoleto(1001000));
+
+        // When
+        avancar(Duration.ofMinutes(90));
+
+        // Then
+        EnderecoObsoleto obsoleto = cache.buscarObsoleto(1001000);
+        assertNull(cache.buscar(1001000));
+        assertNotNull(obsoleto);
+        assertEquals("01001-000", obsoleto.getCep());
+        assertEquals(Duration.ofMinutes(90), obsoleto.getIdade());
+
+        avancar(Duration.ofMinutes(91));
+        assertNull(cache.buscarObsoleto(1001000));
+    }
+
+    @Test
+    @DisplayName("Deve contar o TTL da gravação original para endereços vindos de outra camada")
+    void deveContarTtlDaGravacaoOriginal() {
+        // Given
+        properties.setJanelaObsoleta(Duration.ofHours(2));
+        CepCache cache = new CepCache(properties, relogio::get);
+
+        // When
+        Endereco recente = cache.guardar(1001000, enderecoValido, Duration.ofMinutes(30));
+        Endereco antigo = cache.guardar(1310100, enderecoValido, Duration.ofMinutes(90));
+
+        // Then
+        assertSame(enderecoValido, recente);
+        assertSame(enderecoValido, cache.buscar(1001000));
+        assertInstanceOf(EnderecoObsoleto.class, antigo);
+        assertEquals(Duration.ofMinutes(90), ((EnderecoObsoleto) antigo).getIdade());
+        assertNull(cache.buscar(1310100));
+        assertNotNull(cache.buscarObsoleto(1310100));
+
+        avancar(Duration.ofMinutes(31));
+        assertNull(cache.buscar(1001000));
+        assertNotNull(cache.buscarObsoleto(1001000));
+        avancar(Duration.ofMinutes(60));
+        assertNull(cache.buscarObsoleto(1310100));
+    }
+
+    @Test
+    @DisplayName("Não deve servir resposta negativa como obsoleta")
+    void naoDeveServirNegativoComoObsoleto() {
+        // Given
+        CepCache cache = new CepCache(properties, relogio::get);
+        cache.guardar(99999999, null);
+
+        // When
+        avancar(Duration.ofSeconds(61));
+
+        // Then
+        assertNull(cache.buscarObsoleto(99999999));
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar a resposta serializada na gravação do endereço")
+    void deveReaproveitarRespostaSerializada() {
+        // Given
+        CepCache cache = new CepCache(properties, relogio::get);
+        cache.guardar(1001000, enderecoValido);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+
+        // When
+        RespostaJson resposta = cache.resposta(cache.buscar(1001000));
+
+        // Then
+        assertSame(resposta, cache.resposta(enderecoValido));
+        assertNull(resposta.getGzip());
+        assertEquals(1, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+
+        // Outro objeto com o mesmo CEP (ex.: obsoleto) é serializado na hora
+        Endereco copia = new EnderecoObsoleto(enderecoValido, Duration.ofHours(2));
+        RespostaJson daCopia = cache.resposta(copia);
+        assertNotSame(resposta, daCopia);
+        assertArrayEquals(resposta.getJson(), daCopia.getJson());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar resposta serializada quando o modo está desligado")
+    void naoDeveGuardarRespostaQuandoDesligado() {
+        // Given
+        properties.setRespostaJson(false);
+        properties.setRespostaGzip(true);
+        CepCache cache = new CepCache(properties, relogio::get);
+        cache.guardar(1001000, enderecoValido);
+
+        // When
+        RespostaJson primeira = cache.resposta(enderecoValido);
+        RespostaJson segunda = cache.resposta(enderecoValido);
+
+        // Then
+        assertNotSame(primeira, segunda);
+        assertNotNull(primeira.getGzip());
+    }
+
+    @Test
+    @DisplayName("Deve publicar acertos, faltas e obsoletos nas métricas do cache")
+    void devePublicarMetricas() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CepCache cache = new CepCache(properties, relogio::get);
+        cache.bindTo(registry);
+        cache.guardar(1001000, enderecoValido);
+
+        // When
+        cache.buscar(1001000);
+        cache.buscar(2002000);
+        cache.contem(1001000);
+        avancar(Duration.ofMinutes(90));
+        cache.buscar(1001000);
+        cache.buscarObsoleto(1001000);
+
+        // Then
+        assertEquals(1, registry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("cache.gets").tag("result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("cache.stale").functionCounter().count());
+        assertEquals(1, registry.get("cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve listar os CEPs mais acessados sem incluir respostas negativas")
+    void deveListarMaisAcessados() {
+        // Given
+        properties.setMaxEntradas(10);
+        CepCache cache = new CepCache(properties, relogio::get);
+        for (int cep = 1001000; cep < 1001006; cep++) {
+            cache.guardar(cep, enderecoValido);
+        }
+        cache.guardar(99999999, null);
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            cache.buscar(1001003);
+            cache.buscar(99999999);
+        }
+        for (int i = 0; i < 10; i++) {
+            cache.buscar(1001001);
+        }
+        int[] quentes = cache.maisAcessados(3);
+
+        // Then
+        assertEquals(1001003, quentes[0]);
+        assertEquals(1001001, quentes[1]);
+        assertEquals(3, quentes.length);
+        assertEquals(6, cache.maisAcessados(100).length);
+    }
+
+    private void avancar(Duration duracao) {
+        relogio.addAndGet(duracao.toNanos());
+    }
+}
@@ -0,0 +1,115 @@
+package com.mrsalustiano.spring.camel.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties;
+import com.mrsalustiano.spring.camel.config.FiltroCepsProperties;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
+import com.mrsalustiano.spring.camel.dataset.CepDatasetImporter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FiltroCeps - Testes Unitários")
+public class FiltroCepsTest {
+
+    @TempDir
+    private Path diretorio;
+
+    private FiltroCepsProperties properties;
+    private CepDatasetProperties datasetProperties;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path json = diretorio.resolve("ceps.json");
+        Path arquivo = diretorio.resolve("ceps.bin");
+        Files.writeString(json, """
+                [
+                  {"cep": "01001-000", "logradouro": "Praça da Sé", "localidade": "São Paulo", "uf": "SP"},
+                  {"cep": "01310-100", "logradouro": "Avenida Paulista", "localidade": "São Paulo", "uf": "SP"},
+                  {"cep": "20040-020", "logradouro": "Avenida Rio Branco", "localidade": "Rio de Janeiro", "uf": "RJ"}
+                ]
+                """);
+        new CepDatasetImporter(new ObjectMapper()).importar(json, arquivo);
+        datasetProperties = new CepDatasetProperties();
+        datasetProperties.setArquivo(arquivo.toString());
+        datasetProperties.setModo(CepDatasetProperties.ModoConsulta.LOCAL);
+        properties = new FiltroCepsProperties();
+        properties.setCapacidade(10_000);
+    }
+
+    @Test
+    @DisplayName("Deve conter os CEPs da base local e descartar os que não estão nela")
+    void deveDescartarCepsForaDaBaseLocal() {
+        // Given
+        FiltroCeps filtro = new FiltroCeps(properties, new CepDataset(datasetProperties));
+
+        // When / Then
+        assertTrue(filtro.isAutoritativo());
+        assertFalse(filtro.descarta(1001000));
+        assertFalse(filtro.descarta(1310100));
+        assertFalse(filtro.descarta(20040020));
+        assertTrue(filtro.descarta(99999999));
+    }
+
+    @Test
+    @DisplayName("Deve aprender CEPs novos sem falsos negativos e com poucos falsos positivos")
+    void deveAprenderSemFalsosNegativos() {
+        // Given
+        FiltroCeps filtro = new FiltroCeps(properties, new CepDataset(datasetProperties));
+
+        // When
+        for (int cep = 30_000_000; cep < 30_010_000; cep++) {
+            filtro.adicionar(cep);
+        }
+
+        // Then
+        for (int cep = 30_000_000; cep < 30_010_000; cep++) {
+            assertTrue(filtro.talvezContenha(cep));
+        }
+        int falsosPositivos = 0;
+        for (int cep = 40_000_000; cep < 40_100_000; cep++) {
+            if (filtro.talvezContenha(cep)) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    @DisplayName("Não deve descartar CEPs quando a base local pode estar incompleta")
+    void naoDeveDescartarSemBaseCompleta() {
+        // Given
+        datasetProperties.setModo(CepDatasetProperties.ModoConsulta.LOCAL_THEN_REMOTE);
+        CepDataset dataset = new CepDataset(datasetProperties);
+
+        // When
+        FiltroCeps filtro = new FiltroCeps(properties, dataset);
+        properties.setBaseCompleta(true);
+        FiltroCeps filtroBaseCompleta = new FiltroCeps(properties, dataset);
+
+        // Then
+        assertFalse(filtro.isAutoritativo());
+        assertFalse(filtro.descarta(99999999));
+        assertTrue(filtroBaseCompleta.descarta(99999999));
+        assertFalse(filtroBaseCompleta.descarta(1001000));
+    }
+
+    @Test
+    @DisplayName("Não deve descartar CEPs sem base local ou com o filtro desabilitado")
+    void naoDeveDescartarSemBaseLocal() {
+        // Given
+        FiltroCeps semBase = new FiltroCeps(properties, new CepDataset(new CepDatasetProperties()));
+        properties.setHabilitado(false);
+        FiltroCeps desabilitado = new FiltroCeps(properties, new CepDataset(datasetProperties));
+
+        // When / Then
+        assertFalse(semBase.descarta(99999999));
+        assertFalse(desabilitado.descarta(99999999));
+    }
+}
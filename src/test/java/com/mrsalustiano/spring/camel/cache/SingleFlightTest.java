@@ -0,0 +1,130 @@
+package com.mrsalustiano.spring.camel.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SingleFlight - Testes Unitários")
+public class SingleFlightTest {
+
+    private static final int CHAMADAS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CHAMADAS);
+    private final List<Thread> threads = new ArrayList<>();
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar uma única consulta entre chamadas concorrentes")
+    void deveCompartilharUmaUnicaConsulta() throws Exception {
+        // Given
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> resultados = disparar(() -> singleFlight.executar("01001000", () -> {
+            consultas.incrementAndGet();
+            aguardar(liberar);
+            return "Praça da Sé";
+        }));
+        aguardarTodasBloqueadas();
+        liberar.countDown();
+
+        // Then
+        for (Future<String> resultado : resultados) {
+            assertEquals("Praça da Sé", resultado.get());
+        }
+        assertEquals(1, consultas.get());
+        assertEquals(0, singleFlight.emAndamento());
+    }
+
+    @Test
+    @DisplayName("Deve propagar a mesma exceção para todas as chamadas concorrentes")
+    void devePropagarMesmaExcecao() throws Exception {
+        // Given
+        AtomicInteger consultas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        RuntimeException erro = new RuntimeException("Erro de conexão");
+
+        // When
+        List<Future<String>> resultados = disparar(() -> singleFlight.executar("01001000", () -> {
+            consultas.incrementAndGet();
+            aguardar(liberar);
+            throw erro;
+        }));
+        aguardarTodasBloqueadas();
+        liberar.countDown();
+
+        // Then
+        for (Future<String> resultado : resultados) {
+            ExecutionException exception = assertThrows(ExecutionException.class, resultado::get);
+            assertSame(erro, exception.getCause());
+        }
+        assertEquals(1, consultas.get());
+    }
+
+    @Test
+    @DisplayName("Deve executar novamente após a conclusão da consulta anterior")
+    void deveExecutarNovamenteAposConclusao() {
+        // Given
+        AtomicInteger consultas = new AtomicInteger();
+
+        // When
+        singleFlight.executar("01001000", () -> "v" + consultas.incrementAndGet());
+        String segunda = singleFlight.executar("01001000", () -> "v" + consultas.incrementAndGet());
+
+        // Then
+        assertEquals("v2", segunda);
+        assertEquals(2, consultas.get());
+    }
+
+    private List<Future<String>> disparar(Callable<String> chamada) {
+        List<Future<String>> resultados = new ArrayList<>();
+        for (int i = 0; i < CHAMADAS; i++) {
+            resultados.add(executor.submit(() -> {
+                synchronized (threads) {
+                    threads.add(Thread.currentThread());
+                }
+                return chamada.call();
+            }));
+        }
+        return resultados;
+    }
+
+    private void aguardarTodasBloqueadas() throws InterruptedException {
+        while (true) {
+            synchronized (threads) {
+                if (threads.size() == CHAMADAS
+                        && threads.stream().allMatch(t -> t.getState() == Thread.State.WAITING)) {
+                    return;
+                }
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
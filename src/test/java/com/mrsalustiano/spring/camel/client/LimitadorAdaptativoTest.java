@@ -0,0 +1,99 @@
+package com.mrsalustiano.spring.camel.client;
+
+import com.mrsalustiano.spring.camel.config.ViaCepLimiteProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LimitadorAdaptativo - Testes Unitários")
+public class LimitadorAdaptativoTest {
+
+    private static final long SEM_LIMITE = Long.MAX_VALUE;
+
+    private final AtomicLong relogio = new AtomicLong();
+    private ViaCepLimiteProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ViaCepLimiteProperties();
+        properties.setTaxaInicial(10);
+        properties.setTaxaMinima(1);
+        properties.setTaxaMaxima(20);
+        properties.setIncremento(5);
+        properties.setRajada(2);
+    }
+
+    @Test
+    @DisplayName("Deve liberar a rajada na hora e espaçar as chamadas seguintes pela taxa")
+    void deveEspacarChamadasAposRajada() {
+        // Given
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(properties, relogio::get);
+
+        // When / Then
+        assertEquals(0, limitador.reservar(SEM_LIMITE));
+        assertEquals(0, limitador.reservar(SEM_LIMITE));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limitador.reservar(SEM_LIMITE));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limitador.reservar(SEM_LIMITE));
+
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(0, limitador.reservar(SEM_LIMITE));
+    }
+
+    @Test
+    @DisplayName("Deve recusar sem reservar quando a espera passaria do limite")
+    void deveRecusarAcimaDaEsperaMaxima() {
+        // Given
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(properties, relogio::get);
+        limitador.reservar(SEM_LIMITE);
+        limitador.reservar(SEM_LIMITE);
+
+        // When
+        long recusada = limitador.reservar(TimeUnit.MILLISECONDS.toNanos(50));
+
+        // Then
+        assertEquals(-1, recusada);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limitador.reservar(SEM_LIMITE));
+    }
+
+    @Test
+    @DisplayName("Deve reduzir a taxa uma vez por intervalo e aumentá-la aos poucos com sucessos")
+    void deveAjustarTaxaAimd() {
+        // Given
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(properties, relogio::get);
+
+        // When
+        limitador.registrarSobrecarga();
+        limitador.registrarSobrecarga();
+
+        // Then
+        assertEquals(5, limitador.getTaxa(), 0.001);
+
+        relogio.addAndGet(Duration.ofSeconds(1).toNanos());
+        limitador.registrarSobrecarga();
+        assertEquals(2.5, limitador.getTaxa(), 0.001);
+
+        for (int i = 0; i < 1000; i++) {
+            limitador.registrarSucesso();
+        }
+        assertEquals(20, limitador.getTaxa(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Não deve limitar quando desabilitado")
+    void naoDeveLimitarQuandoDesabilitado() {
+        // Given
+        properties.setHabilitado(false);
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(properties, relogio::get);
+
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limitador.reservar(0));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.mrsalustiano.spring.camel.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.config.ViaCepAsyncProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepLimiteProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepPrazoProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepResilienciaProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepRetentativaProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ViaCepAsyncClient - Testes Unitários")
+public class ViaCepAsyncClientTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(2);
+
+    private HttpServer viaCep;
+    private ExecutorService executor;
+    private ViaCepAsyncClient client;
+    private final AtomicReference<String> ultimoCaminho = new AtomicReference<>();
+    // Quantas consultas a /ws/99999999 ainda recebem 503 com Retry-After: 1, e quando cada uma chegou
+    private final AtomicInteger indisponiveis = new AtomicInteger();
+    private final List<Long> chegadas = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        viaCep = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        viaCep.createContext("/ws/", troca -> {
+            String caminho = troca.getRequestURI().getRawPath();
+            ultimoCaminho.set(caminho);
+            chegadas.add(System.nanoTime());
+            if (caminho.startsWith("/ws/99999999") && indisponiveis.getAndDecrement() > 0) {
+                troca.getResponseHeaders().add("Retry-After", "1");
+                troca.sendResponseHeaders(503, -1);
+                troca.close();
+                return;
+            }
+            int status = caminho.startsWith("/ws/00000000") ? 400 : 200;
+            String corpo = caminho.startsWith("/ws/SP/")
+                    ? "[{\"cep\": \"01310-100\", \"logradouro\": \"Avenida Paulista\"}]"
+                    : "{\"cep\": \"01001-000\", \"logradouro\": \"Praça da Sé\", \"regiao\": \"Sudeste\"}";
+            byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+            troca.sendResponseHeaders(status, bytes.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(bytes);
+            }
+        });
+        viaCep.start();
+
+        executor = Executors.newFixedThreadPool(2);
+        client = new ViaCepAsyncClient("http://localhost:" + viaCep.getAddress().getPort() + "/ws/",
+                new ViaCepAsyncProperties(),
+                new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false), executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.fechar();
+        executor.shutdownNow();
+        viaCep.stop(0);
+    }
+
+    @Test
+    @DisplayName("Deve consultar CEP de forma assíncrona")
+    void deveConsultarCep() {
+        // When
+        Endereco endereco = client.consultarCep("01001000", TIMEOUT).join();
+
+        // Then
+        assertEquals("01001-000", endereco.getCep());
+        assertEquals("Praça da Sé", endereco.getLogradouro());
+        assertEquals("/ws/01001000/json/", ultimoCaminho.get());
+    }
+
+    @Test
+    @DisplayName("Deve codificar cidade e logradouro no caminho como o Feign")
+    void deveCodificarCidadeELogradouro() {
+        // When
+        List<Endereco> enderecos = client.consultarPorEndereco("SP", "São Paulo", "Av Paulista", TIMEOUT).join();
+
+        // Then
+        assertEquals(1, enderecos.size());
+        assertEquals("Avenida Paulista", enderecos.get(0).getLogradouro());
+        assertEquals("/ws/SP/S%C3%A3o%20Paulo/Av%20Paulista/json/", ultimoCaminho.get());
+    }
+
+    @Test
+    @DisplayName("Deve completar com ViaCepException quando o ViaCEP responde erro HTTP")
+    void deveCompletarComErroHttp() {
+        // When
+        CompletionException exception = assertThrows(
+                CompletionException.class,
+                () -> client.consultarCep("00000000", TIMEOUT).join()
+        );
+
+        // Then
+        ViaCepException erro = assertInstanceOf(ViaCepException.class, exception.getCause());
+        assertEquals(400, erro.getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve levar o Retry-After de um 503 na ViaCepException")
+    void deveLevarRetryAfterNaExcecao() {
+        // Given
+        indisponiveis.set(1);
+        long antes = System.currentTimeMillis();
+
+        // When
+        CompletionException exception = assertThrows(
+                CompletionException.class,
+                () -> client.consultarCep("99999999", TIMEOUT).join()
+        );
+
+        // Then
+        ViaCepException erro = assertInstanceOf(ViaCepException.class, exception.getCause());
+        assertEquals(503, erro.getStatus());
+        assertTrue(erro.getRetryAfter() >= antes + 1000);
+    }
+
+    @Test
+    @DisplayName("Deve interpretar Retry-After em segundos e como data HTTP")
+    void deveInterpretarRetryAfter() {
+        // Given
+        long agora = 1_445_412_480_000L;  // 21/10/2015 07:28:00 GMT
+
+        // Then
+        assertEquals(agora + 120_000, ViaCepAsyncClient.retryAfter("120", agora));
+        assertEquals(agora + 60_000, ViaCepAsyncClient.retryAfter("Wed, 21 Oct 2015 07:29:00 GMT", agora));
+        assertNull(ViaCepAsyncClient.retryAfter("logo", agora));
+    }
+
+    @Test
+    @DisplayName("Deve esperar o Retry-After de um 503 antes de repetir pelo cliente assíncrono")
+    void deveEsperarRetryAfterAntesDeRepetir() {
+        // Given
+        ViaCepAsyncProperties assincrono = new ViaCepAsyncProperties();
+        assincrono.setHabilitado(true);
+        ViaCepRetentativaProperties retentativas = new ViaCepRetentativaProperties();
+        retentativas.setEsperaInicial(Duration.ofMillis(1));
+        ViaCepGateway gateway = new ViaCepGateway(null, client, assincrono, new ViaCepPrazoProperties(),
+                new ViaCepResilienciaProperties(), new ViaCepLimiteProperties(), retentativas,
+                new SimpleMeterRegistry());
+        indisponiveis.set(1);
+
+        // When
+        Endereco endereco = gateway.consultarCep("99999999", Prazo.em(Duration.ofSeconds(10))).join();
+
+        // Then
+        assertEquals("01001-000", endereco.getCep());
+        assertEquals(2, chegadas.size());
+        assertTrue(chegadas.get(1) - chegadas.get(0) >= TimeUnit.MILLISECONDS.toNanos(950),
+                "repetiu antes do Retry-After");
+    }
+}
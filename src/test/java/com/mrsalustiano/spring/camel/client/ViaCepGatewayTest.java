@@ -0,0 +1,301 @@
+package com.mrsalustiano.spring.camel.client;
+
+import com.mrsalustiano.spring.camel.config.ViaCepAsyncProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepLimiteProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepPrazoProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepResilienciaProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepRetentativaProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ViaCepGateway - Testes Unitários")
+public class ViaCepGatewayTest {
+
+    @Mock
+    private ViaCepClient viaCepClient;
+
+    @Mock
+    private ViaCepAsyncClient viaCepAsyncClient;
+
+    private ViaCepGateway gateway;
+    private ViaCepLimiteProperties limite;
+    private ViaCepRetentativaProperties retentativas;
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        limite = new ViaCepLimiteProperties();
+        retentativas = new ViaCepRetentativaProperties();
+        retentativas.setEsperaInicial(Duration.ofMillis(1));
+        ViaCepPrazoProperties prazos = new ViaCepPrazoProperties();
+        prazos.setConsultaCep(Duration.ofSeconds(3));
+        prazos.setConsultaEndereco(Duration.ofSeconds(5));
+        ViaCepResilienciaProperties resiliencia = new ViaCepResilienciaProperties();
+        resiliencia.setJanela(4);
+        resiliencia.setMinimoChamadas(4);
+        resiliencia.setMaxConcorrentes(2);
+        gateway = new ViaCepGateway(viaCepClient, viaCepAsyncClient, new ViaCepAsyncProperties(), prazos,
+                resiliencia, limite, retentativas, registry);
+    }
+
+    @Test
+    @DisplayName("Deve usar o orçamento de timeout de cada endpoint")
+    void deveUsarOrcamentoDoEndpoint() {
+        // Given
+        ArgumentCaptor<Request.Options> opcoes = ArgumentCaptor.forClass(Request.Options.class);
+        when(viaCepClient.consultarCep(eq("01001000"), opcoes.capture())).thenReturn(new Endereco());
+        when(viaCepClient.consultarPorEndereco(eq("SP"), eq("São Paulo"), eq("Paulista"), opcoes.capture()))
+                .thenReturn(Collections.emptyList());
+
+        // When
+        gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30))).join();
+        gateway.consultarPorEndereco("SP", "São Paulo", "Paulista", Prazo.em(Duration.ofSeconds(30))).join();
+
+        // Then
+        assertEquals(3000, opcoes.getAllValues().get(0).readTimeoutMillis());
+        assertEquals(3000, opcoes.getAllValues().get(0).connectTimeoutMillis());
+        assertEquals(5000, opcoes.getAllValues().get(1).readTimeoutMillis());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o timeout ao que resta do prazo da requisição")
+    void deveLimitarTimeoutAoPrazo() {
+        // Given
+        ArgumentCaptor<Request.Options> opcoes = ArgumentCaptor.forClass(Request.Options.class);
+        when(viaCepClient.consultarCep(eq("01001000"), opcoes.capture())).thenReturn(new Endereco());
+
+        // When
+        gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(1))).join();
+
+        // Then
+        assertTrue(opcoes.getValue().readTimeoutMillis() <= 1000);
+        assertTrue(opcoes.getValue().readTimeoutMillis() > 0);
+    }
+
+    @Test
+    @DisplayName("Não deve chamar o ViaCEP com o prazo esgotado")
+    void naoDeveChamarComPrazoEsgotado() {
+        // When
+        CompletableFuture<Endereco> consulta = gateway.consultarCep("01001000", Prazo.em(Duration.ofMillis(-1)));
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, consulta::join);
+        assertInstanceOf(PrazoEsgotadoException.class, exception.getCause());
+        verify(viaCepClient, never()).consultarCep(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve converter timeout do Feign em PrazoEsgotadoException")
+    void deveConverterTimeoutDoFeign() {
+        // Given
+        Request request = Request.create(Request.HttpMethod.GET, "/01001000/json/", Collections.emptyMap(),
+                null, null, null);
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenThrow(new RetryableException(-1,
+                "Read timed out", Request.HttpMethod.GET, new SocketTimeoutException("Read timed out"),
+                (Long) null, request));
+
+        // When
+        CompletableFuture<Endereco> consulta = gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30)));
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, consulta::join);
+        PrazoEsgotadoException erro = assertInstanceOf(PrazoEsgotadoException.class, exception.getCause());
+        assertEquals("ViaCEP não respondeu em 3000 ms", erro.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve abrir o circuito após falhas seguidas e recusar chamadas sem ir ao ViaCEP")
+    void deveAbrirCircuitoAposFalhas() {
+        // Given
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenThrow(erroFeign(503));
+        for (int i = 0; i < 4; i++) {
+            gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30)));
+        }
+
+        // When
+        CompletableFuture<Endereco> consulta = gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30)));
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, gateway.getCircuitBreaker().getState());
+        CompletionException exception = assertThrows(CompletionException.class, consulta::join);
+        assertInstanceOf(ViaCepIndisponivelException.class, exception.getCause());
+        verify(viaCepClient, times(4)).consultarCep(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Não deve contar erros 4xx do ViaCEP como falha do circuito")
+    void naoDeveContarErro4xxComoFalha() {
+        // Given
+        when(viaCepClient.consultarCep(eq("00000000"), any())).thenThrow(erroFeign(400));
+
+        // When
+        for (int i = 0; i < 6; i++) {
+            gateway.consultarCep("00000000", Prazo.em(Duration.ofSeconds(30)));
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.getCircuitBreaker().getState());
+        assertFalse(ViaCepGateway.falhaDoViaCep(new ViaCepException(404, "Not Found")));
+        assertTrue(ViaCepGateway.falhaDoViaCep(new ViaCepException(429, "Too Many Requests")));
+    }
+
+    @Test
+    @DisplayName("Deve recusar chamadas acima do limite de concorrência")
+    void deveRecusarAcimaDoLimiteDeConcorrencia() {
+        // Given
+        ViaCepAsyncProperties async = new ViaCepAsyncProperties();
+        async.setHabilitado(true);
+        ViaCepResilienciaProperties resiliencia = new ViaCepResilienciaProperties();
+        resiliencia.setMaxConcorrentes(2);
+        gateway = new ViaCepGateway(viaCepClient, viaCepAsyncClient, async, new ViaCepPrazoProperties(), resiliencia,
+                limite, retentativas, registry);
+        CompletableFuture<Endereco> pendente = new CompletableFuture<>();
+        when(viaCepAsyncClient.consultarCep(anyString(), any())).thenReturn(pendente);
+        Prazo prazo = Prazo.em(Duration.ofSeconds(30));
+        gateway.consultarCep("01001000", prazo);
+        gateway.consultarCep("01001001", prazo);
+
+        // When
+        CompletableFuture<Endereco> recusada = gateway.consultarCep("01001002", prazo);
+        pendente.complete(new Endereco());
+        CompletableFuture<Endereco> liberada = gateway.consultarCep("01001003", prazo);
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, recusada::join);
+        assertInstanceOf(ViaCepIndisponivelException.class, exception.getCause());
+        assertNotNull(liberada.join());
+        verify(viaCepAsyncClient, times(3)).consultarCep(anyString(), any());
+        assertEquals(1, registry.get("viacep.recusas").tag("motivo", "bulkhead").counter().count());
+    }
+
+    @Test
+    @DisplayName("Deve repetir a consulta quando o ViaCEP responde 5xx")
+    void deveRepetirConsultaComErro5xx() {
+        // Given
+        Endereco endereco = new Endereco();
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenThrow(erroFeign(503)).thenReturn(endereco);
+
+        // When
+        Endereco resultado = gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30))).join();
+
+        // Then
+        assertSame(endereco, resultado);
+        verify(viaCepClient, times(2)).consultarCep(eq("01001000"), any());
+        assertEquals(1, registry.get("viacep.chamadas").tags("metodo", "consultarCep", "resultado", "erro_servidor",
+                "status", "503").timer().count());
+        assertEquals(1, registry.get("viacep.chamadas").tags("metodo", "consultarCep", "resultado", "sucesso")
+                .timer().count());
+        assertEquals(1, registry.get("viacep.retentativas").tag("metodo", "consultarCep").counter().count());
+    }
+
+    @Test
+    @DisplayName("Não deve repetir a consulta quando o ViaCEP responde 4xx")
+    void naoDeveRepetirConsultaComErro4xx() {
+        // Given
+        when(viaCepClient.consultarCep(eq("00000000"), any())).thenThrow(erroFeign(400));
+
+        // When
+        CompletableFuture<Endereco> consulta = gateway.consultarCep("00000000", Prazo.em(Duration.ofSeconds(30)));
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, consulta::join);
+        assertInstanceOf(FeignException.BadRequest.class, exception.getCause());
+        verify(viaCepClient, times(1)).consultarCep(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve parar de repetir quando o orçamento de retentativas acaba")
+    void deveRespeitarOrcamentoDeRetentativas() {
+        // Given
+        retentativas.setPercentualOrcamento(0);
+        retentativas.setReservaOrcamento(1);
+        gateway = new ViaCepGateway(viaCepClient, viaCepAsyncClient, new ViaCepAsyncProperties(),
+                new ViaCepPrazoProperties(), new ViaCepResilienciaProperties(), limite, retentativas, registry);
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenThrow(erroFeign(503));
+
+        // When
+        CompletableFuture<Endereco> primeira = gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30)));
+        CompletableFuture<Endereco> segunda = gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30)));
+
+        // Then
+        assertThrows(CompletionException.class, primeira::join);
+        assertThrows(CompletionException.class, segunda::join);
+        verify(viaCepClient, times(3)).consultarCep(eq("01001000"), any());
+    }
+
+    @Test
+    @DisplayName("Deve reduzir a taxa do limitador quando o ViaCEP responde 429")
+    void deveReduzirTaxaComErro429() {
+        // Given
+        retentativas.setMaxTentativas(1);
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenThrow(erroFeign(429));
+
+        // When
+        CompletableFuture<Endereco> consulta = gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30)));
+
+        // Then
+        assertThrows(CompletionException.class, consulta::join);
+        assertEquals(25, gateway.getLimitador().getTaxa(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Não deve consumir a vez no limitador com chamadas recusadas pelo circuito")
+    void naoDeveConsumirLimiteComChamadasRecusadas() {
+        // Given
+        limite.setTaxaInicial(1);
+        limite.setRajada(1);
+        limite.setEsperaMaxima(Duration.ZERO);
+        gateway = new ViaCepGateway(viaCepClient, viaCepAsyncClient, new ViaCepAsyncProperties(),
+                new ViaCepPrazoProperties(), new ViaCepResilienciaProperties(), limite, retentativas, registry);
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenReturn(new Endereco());
+        gateway.getCircuitBreaker().transitionToOpenState();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<Endereco> recusada = gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30)));
+            assertInstanceOf(ViaCepIndisponivelException.class,
+                    assertThrows(CompletionException.class, recusada::join).getCause());
+        }
+
+        // When
+        gateway.getCircuitBreaker().transitionToClosedState();
+        Endereco endereco = gateway.consultarCep("01001000", Prazo.em(Duration.ofSeconds(30))).join();
+
+        // Then
+        assertNotNull(endereco);
+        assertEquals(3, registry.get("viacep.recusas").tag("motivo", "circuito").counter().count());
+        assertEquals(0, registry.get("viacep.recusas").tag("motivo", "limite").counter().count());
+        assertEquals(new ViaCepResilienciaProperties().getMaxConcorrentes(),
+                gateway.getBulkhead().getMetrics().getAvailableConcurrentCalls());
+    }
+
+    private static FeignException erroFeign(int status) {
+        Request request = Request.create(Request.HttpMethod.GET, "/json/", Collections.emptyMap(),
+                null, null, null);
+        return FeignException.errorStatus("ViaCepClient#consultarCep(String,Options)",
+                feign.Response.builder().status(status).reason("erro").request(request)
+                        .headers(Collections.emptyMap()).build());
+    }
+}
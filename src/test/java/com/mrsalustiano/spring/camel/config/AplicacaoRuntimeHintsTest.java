@@ -0,0 +1,59 @@
+package com.mrsalustiano.spring.camel.config;
+
+import com.mrsalustiano.spring.camel.client.ViaCepClient;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.ResultadoConsultaCep;
+import com.mrsalustiano.spring.camel.route.RespostaHttpBinding;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AplicacaoRuntimeHints - Testes Unitários")
+public class AplicacaoRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    @DisplayName("Deve registrar reflexão para os modelos serializados pelo Jackson")
+    void deveRegistrarReflexaoDosModelos() {
+        // When
+        new AplicacaoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Endereco.class)
+                .withMemberCategories(MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ResultadoConsultaCep.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+
+    @Test
+    @DisplayName("Deve registrar o proxy do cliente Feign")
+    void deveRegistrarProxyDoViaCepClient() {
+        // When
+        new AplicacaoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ViaCepClient.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(ViaCepClient.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_METHODS).test(hints));
+    }
+
+    @Test
+    @DisplayName("Deve registrar os recursos e classes que o REST DSL do Camel resolve em tempo de execução")
+    void deveRegistrarRecursosDoCamel() {
+        // When
+        new AplicacaoRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/org/apache/camel/component/servlet").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/org/apache/camel/TypeConverterLoader").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RespostaHttpBinding.class).test(hints));
+    }
+}
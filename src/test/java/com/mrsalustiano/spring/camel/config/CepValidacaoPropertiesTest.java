@@ -0,0 +1,49 @@
+package com.mrsalustiano.spring.camel.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CepValidacaoProperties - Testes Unitários")
+public class CepValidacaoPropertiesTest {
+
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ValidationAutoConfiguration.class))
+            .withUserConfiguration(Configuracao.class);
+
+    @Test
+    @DisplayName("Deve impedir a inicialização sem diretório de saída")
+    void deveFalharSemDiretorioSaida() {
+        // When & Then
+        contexto.withPropertyValues("viacep.validacao.diretorio-entrada=entrada", "viacep.validacao.diretorio-saida= ")
+                .run(context -> {
+                    Throwable falha = context.getStartupFailure();
+                    assertNotNull(falha);
+                    Throwable causa = NestedExceptionUtils.getRootCause(falha);
+                    assertInstanceOf(BindValidationException.class, causa);
+                    assertTrue(causa.getMessage().contains("diretorioSaida"));
+                });
+    }
+
+    @Test
+    @DisplayName("Deve inicializar com o diretório de saída informado")
+    void deveInicializarComDiretorioSaida() {
+        // When & Then
+        contexto.withPropertyValues("viacep.validacao.diretorio-saida=saida")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertEquals("saida", context.getBean(CepValidacaoProperties.class).getDiretorioSaida());
+                });
+    }
+
+    @EnableConfigurationProperties(CepValidacaoProperties.class)
+    static class Configuracao {
+    }
+}
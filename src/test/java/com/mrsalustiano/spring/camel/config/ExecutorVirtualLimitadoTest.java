@@ -0,0 +1,60 @@
+package com.mrsalustiano.spring.camel.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ExecutorVirtualLimitado - Testes Unitários")
+public class ExecutorVirtualLimitadoTest {
+
+    private final ExecutorVirtualLimitado executor = new ExecutorVirtualLimitado("teste-", 3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve executar as tarefas em virtual threads")
+    void deveExecutarEmVirtualThreads() {
+        // When
+        Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+
+        // Then
+        assertTrue(thread.isVirtual());
+        assertTrue(thread.getName().startsWith("teste-"));
+    }
+
+    @Test
+    @DisplayName("Deve limitar as tarefas simultâneas")
+    void deveLimitarTarefasSimultaneas() {
+        // Given
+        AtomicInteger simultaneas = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        List<CompletableFuture<Void>> tarefas = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            tarefas.add(CompletableFuture.runAsync(() -> {
+                maximo.accumulateAndGet(simultaneas.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                simultaneas.decrementAndGet();
+            }, executor));
+        }
+        CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).join();
+
+        // Then
+        assertTrue(maximo.get() <= 3);
+    }
+}
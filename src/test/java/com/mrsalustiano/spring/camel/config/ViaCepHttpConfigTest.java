@@ -0,0 +1,89 @@
+package com.mrsalustiano.spring.camel.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.message.BasicHttpResponse;
+import org.apache.hc.core5.util.TimeValue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ViaCepHttpConfig - Testes Unitários")
+public class ViaCepHttpConfigTest {
+
+    private final ViaCepHttpConfig config = new ViaCepHttpConfig();
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @AfterEach
+    void tearDown() {
+        if (connectionManager != null) {
+            connectionManager.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Deve aplicar os limites configurados ao pool de conexões")
+    void deveAplicarLimitesDoPool() {
+        // Given
+        ViaCepHttpProperties properties = new ViaCepHttpProperties();
+        properties.setMaxConexoes(40);
+        properties.setMaxConexoesPorRota(10);
+
+        // When
+        connectionManager = config.viaCepConnectionManager(properties);
+
+        // Then
+        assertEquals(40, connectionManager.getMaxTotal());
+        assertEquals(10, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    @DisplayName("Deve publicar as estatísticas do pool como métricas")
+    void devePublicarMetricasDoPool() {
+        // Given
+        connectionManager = config.viaCepConnectionManager(new ViaCepHttpProperties());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // When
+        config.viaCepConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        // Then
+        assertEquals(200, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "viacep").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Deve limitar o keep-alive informado pelo servidor ao máximo configurado")
+    void deveLimitarKeepAlive() {
+        // Given
+        ConnectionKeepAliveStrategy estrategia = ViaCepHttpConfig.keepAlive(TimeValue.of(Duration.ofSeconds(60)));
+
+        // When / Then
+        assertEquals(TimeValue.ofSeconds(5), estrategia.getKeepAliveDuration(resposta("timeout=5"), contexto()));
+        assertEquals(TimeValue.ofSeconds(60), estrategia.getKeepAliveDuration(resposta("timeout=600"), contexto()));
+        assertEquals(TimeValue.ofSeconds(60), estrategia.getKeepAliveDuration(resposta(null), contexto()));
+    }
+
+    private static BasicHttpResponse resposta(String keepAlive) {
+        BasicHttpResponse resposta = new BasicHttpResponse(200);
+        if (keepAlive != null) {
+            resposta.addHeader("Keep-Alive", keepAlive);
+        }
+        return resposta;
+    }
+
+    private static HttpClientContext contexto() {
+        return HttpClientContext.create();
+    }
+}
@@ -0,0 +1,158 @@
+package com.mrsalustiano.spring.camel.dataset;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties;
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties.ModoConsulta;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CepDataset - Testes Unitários")
+public class CepDatasetTest {
+
+    @TempDir
+    Path diretorio;
+
+    private CepDatasetImporter importer;
+    private Path destino;
+
+    @BeforeEach
+    void setUp() {
+        importer = new CepDatasetImporter(
+                new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+        destino = diretorio.resolve("ceps.bin");
+    }
+
+    @Test
+    @DisplayName("Deve importar CSV e buscar endereços pela base mapeada")
+    void deveImportarCsvEBuscarEnderecos() throws Exception {
+        // Given
+        Path csv = diretorio.resolve("ceps.csv");
+        Files.writeString(csv, """
+                cep;logradouro;complemento;bairro;localidade;uf;ibge;gia;ddd;siafi
+                20040-020;"Avenida Rio Branco";;Centro;Rio de Janeiro;RJ;3304557;;21;6001
+                01001-000;Praça da Sé;lado ímpar;Sé;São Paulo;SP;3550308;1004;11;7107
+                01310-100;"Avenida Paulista; até 610";;Bela Vista;São Paulo;SP;3550308;1004;11;7107
+                1001-000;Sem um dígito;;Sé;São Paulo;SP;3550308;1004;11;7107
+                01001-0001;Dígito a mais;;Sé;São Paulo;SP;3550308;1004;11;7107
+                """);
+
+        // When
+        int quantidade = importer.importar(csv, destino);
+        CepDataset dataset = new CepDataset(properties(ModoConsulta.LOCAL));
+
+        // Then
+        assertEquals(3, quantidade);
+        assertEquals(3, dataset.tamanho());
+        Endereco se = dataset.buscar(1001000);
+        assertEquals("01001-000", se.getCep());
+        assertEquals("Praça da Sé", se.getLogradouro());
+        assertEquals("lado ímpar", se.getComplemento());
+        assertEquals("7107", se.getSiafi());
+        assertEquals("Avenida Paulista; até 610", dataset.buscar(1310100).getLogradouro());
+        assertNull(dataset.buscar(20040020).getComplemento());
+        assertNull(dataset.buscar(99999999));
+        assertNull(dataset.buscar(1));
+    }
+
+    @Test
+    @DisplayName("Deve importar array JSON ignorando registros com erro")
+    void deveImportarArrayJson() throws Exception {
+        // Given
+        Path json = diretorio.resolve("ceps.json");
+        Files.writeString(json, """
+                [
+                  {"cep": "01001-000", "logradouro": "Praça da Sé", "uf": "SP", "estado": "São Paulo"},
+                  {"cep": "99999-999", "erro": true},
+                  {"cep": "01001-000", "logradouro": "Praça da Sé (nova)", "uf": "SP"}
+                ]
+                """);
+
+        // When
+        importer.importar(json, destino);
+        CepDataset dataset = new CepDataset(properties(ModoConsulta.LOCAL_THEN_REMOTE));
+
+        // Then
+        assertEquals(1, dataset.tamanho());
+        assertEquals("Praça da Sé (nova)", dataset.buscar(1001000).getLogradouro());
+        assertFalse(dataset.contem(99999999));
+    }
+
+    @Test
+    @DisplayName("Deve importar NDJSON e manter o índice ordenado")
+    void deveImportarNdjsonOrdenado() throws Exception {
+        // Given
+        Path ndjson = diretorio.resolve("ceps.ndjson");
+        StringBuilder conteudo = new StringBuilder();
+        List<Integer> ceps = List.of(89010000, 1001000, 70040010, 30130010, 40020000);
+        for (int cep : ceps) {
+            conteudo.append("{\"cep\":\"").append(String.format("%08d", cep)).append("\",\"uf\":\"XX\"}\n");
+        }
+        Files.writeString(ndjson, conteudo);
+
+        // When
+        importer.importar(ndjson, destino);
+        CepDataset dataset = new CepDataset(properties(ModoConsulta.LOCAL));
+
+        // Then
+        for (int i = 1; i < dataset.tamanho(); i++) {
+            assertTrue(dataset.cepNaPosicao(i - 1) < dataset.cepNaPosicao(i));
+        }
+        for (int cep : ceps) {
+            assertTrue(dataset.contem(cep));
+        }
+        assertEquals(-1, dataset.posicao(1000000));
+        assertEquals(-(ceps.size() + 1), dataset.posicao(99999999));
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o modo de consulta configurado")
+    void deveRespeitarModoDeConsulta() throws Exception {
+        // Given
+        Path json = diretorio.resolve("ceps.json");
+        Files.writeString(json, "[{\"cep\": \"01001-000\", \"uf\": \"SP\"}]");
+        importer.importar(json, destino);
+
+        // When
+        CepDataset remoto = new CepDataset(properties(ModoConsulta.REMOTE));
+        CepDataset local = new CepDataset(properties(ModoConsulta.LOCAL));
+        CepDataset misto = new CepDataset(properties(ModoConsulta.LOCAL_THEN_REMOTE));
+        CepDataset semArquivo = new CepDataset(new CepDatasetProperties());
+
+        // Then
+        assertFalse(remoto.consultaLocal());
+        assertTrue(remoto.consultaRemota());
+        assertTrue(local.consultaLocal());
+        assertFalse(local.consultaRemota());
+        assertTrue(misto.consultaLocal());
+        assertTrue(misto.consultaRemota());
+        assertFalse(semArquivo.isDisponivel());
+        assertNull(semArquivo.buscar(1001000));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar arquivo que não é uma base de CEPs")
+    void deveRejeitarArquivoInvalido() throws Exception {
+        // Given
+        Files.write(destino, new byte[64]);
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> new CepDataset(properties(ModoConsulta.LOCAL)));
+    }
+
+    private CepDatasetProperties properties(ModoConsulta modo) {
+        CepDatasetProperties properties = new CepDatasetProperties();
+        properties.setArquivo(destino.toString());
+        properties.setModo(modo);
+        return properties;
+    }
+}
@@ -0,0 +1,89 @@
+package com.mrsalustiano.spring.camel.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RespostaJson - Testes do Modelo")
+public class RespostaJsonTest {
+
+    private Endereco endereco;
+
+    @BeforeEach
+    void setUp() {
+        endereco = new Endereco();
+        endereco.setCep("01001-000");
+        endereco.setLogradouro("Praça da Sé");
+        endereco.setUf("SP");
+    }
+
+    @Test
+    @DisplayName("Deve serializar o endereço em JSON compacto UTF-8")
+    void deveSerializarJsonCompacto() throws Exception {
+        // When
+        RespostaJson resposta = RespostaJson.de(endereco, false);
+
+        // Then
+        String json = new String(resposta.getJson(), "UTF-8");
+        assertFalse(json.contains("\n"));
+        assertTrue(json.contains("\"logradouro\":\"Praça da Sé\""));
+        Endereco lido = new ObjectMapper().readValue(resposta.getJson(), Endereco.class);
+        assertEquals("01001-000", lido.getCep());
+        assertNull(resposta.getGzip());
+    }
+
+    @Test
+    @DisplayName("Deve gerar versão gzip com o mesmo conteúdo")
+    void deveGerarVersaoGzip() throws Exception {
+        // When
+        RespostaJson resposta = RespostaJson.de(endereco, true);
+
+        // Then
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(resposta.getGzip()))) {
+            assertArrayEquals(resposta.getJson(), gzip.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve gerar ETag forte que muda com o conteúdo e com a codificação")
+    void deveGerarEtagPeloConteudo() {
+        // When
+        RespostaJson primeira = RespostaJson.de(endereco, false);
+        RespostaJson comGzip = RespostaJson.de(endereco, true);
+        endereco.setBairro("Sé");
+        RespostaJson alterada = RespostaJson.de(endereco, false);
+
+        // Then
+        assertTrue(primeira.getEtag().matches("\"[A-Za-z0-9_-]{16}\""));
+        assertEquals(primeira.getEtag(), comGzip.getEtag());
+        assertEquals(primeira.getEtag().replace("\"", "") + "-gzip", comGzip.etag(true).replace("\"", ""));
+        assertEquals(primeira.getEtag(), primeira.etag(true));
+        assertNotEquals(primeira.getEtag(), alterada.getEtag());
+    }
+
+    @Test
+    @DisplayName("Deve comprimir listas apenas a partir do tamanho mínimo")
+    void deveComprimirListasAPartirDoTamanhoMinimo() {
+        // Given
+        List<Endereco> enderecos = Collections.nCopies(20, endereco);
+
+        // When
+        RespostaJson grande = RespostaJson.de(enderecos, 1024);
+        RespostaJson pequena = RespostaJson.de(List.of(endereco), 1024);
+
+        // Then
+        assertNotNull(grande.getGzip());
+        assertTrue(grande.getGzip().length < grande.getJson().length / 4);
+        assertSame(grande.getGzip(), grande.corpo(true));
+        assertNull(pequena.getGzip());
+        assertSame(pequena.getJson(), pequena.corpo(true));
+    }
+}
@@ -1,37 +1,92 @@
 package com.mrsalustiano.spring.camel.route;
 
+import com.mrsalustiano.spring.camel.client.Prazo;
+import com.mrsalustiano.spring.camel.client.PrazoEsgotadoException;
+import com.mrsalustiano.spring.camel.client.ViaCepIndisponivelException;
 import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.EnderecoObsoleto;
+import com.mrsalustiano.spring.camel.model.PaginaEnderecos;
+import com.mrsalustiano.spring.camel.model.RespostaJson;
+import com.mrsalustiano.spring.camel.model.ResultadoConsultaCep;
+import com.mrsalustiano.spring.camel.service.CepFaixaService;
+import com.mrsalustiano.spring.camel.service.CepLoteService;
 import com.mrsalustiano.spring.camel.service.CepService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.HeaderFilterStrategy;
+import org.apache.camel.support.DefaultExchange;
 import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cloud.openfeign.FeignClientProperties;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @CamelSpringBootTest
 @SpringBootTest
 @TestPropertySource(properties = {
-        "camel.springboot.java-routes-include-pattern=**/CepRoute"
+        "camel.springboot.java-routes-include-pattern=**/CepRoute",
+        "viacep.arquivo.habilitado=false",
+        "viacep.aquecimento.habilitado=false"
 })
 @DisplayName("CepRoute - Testes de Integração")
 public class CepRouteTest {
+    // Os caminhos padrão são relativos ao diretório de trabalho; no teste nada vai para fora do @TempDir
+    @TempDir
+    static Path dados;
+
+    @DynamicPropertySource
+    static void caminhos(DynamicPropertyRegistry registry) {
+        registry.add("viacep.arquivo.caminho", () -> dados.resolve("enderecos.log").toString());
+        registry.add("viacep.aquecimento.snapshot", () -> dados.resolve("ceps-quentes.txt").toString());
+        registry.add("viacep.validacao.diretorio-saida", () -> dados.resolve("validacao").toString());
+    }
+
     @Autowired
     private ProducerTemplate producerTemplate;
 
+    @Autowired
+    private FeignClientProperties feignClientProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private CepService cepService;
 
+    @MockBean
+    private CepLoteService cepLoteService;
+
+    @MockBean
+    private CepFaixaService cepFaixaService;
+
     private Endereco enderecoValido;
 
     @BeforeEach
@@ -50,7 +105,7 @@ public class CepRouteTest {
     void deveConsultarCepComSucesso() throws Exception {
         // Given
         String cep = "01001000";
-        when(cepService.buscarEnderecoPorCep(cep)).thenReturn(enderecoValido);
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any())).thenReturn(CompletableFuture.completedFuture(enderecoValido));
 
         // When
         Exchange exchange = producerTemplate.request("direct:consultarCep", processor -> {
@@ -61,7 +116,25 @@ public class CepRouteTest {
         assertNotNull(exchange);
         assertNotNull(exchange.getMessage().getBody());
         assertEquals(enderecoValido, exchange.getMessage().getBody());
-        verify(cepService, times(1)).buscarEnderecoPorCep(cep);
+        verify(cepService, times(1)).buscarEnderecoPorCepAsync(eq(cep), any());
+    }
+
+    @Test
+    @DisplayName("Deve concluir a exchange quando a consulta assíncrona terminar")
+    void deveConcluirExchangeQuandoConsultaAssincronaTerminar() throws Exception {
+        // Given
+        String cep = "01001000";
+        CompletableFuture<Endereco> resposta = new CompletableFuture<>();
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any())).thenReturn(resposta);
+        CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS).execute(() -> resposta.complete(enderecoValido));
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:consultarCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+        });
+
+        // Then
+        assertEquals(enderecoValido, exchange.getMessage().getBody());
     }
 
     @Test
@@ -69,8 +142,8 @@ public class CepRouteTest {
     void deveRetornarErro400ParaCepInvalido() throws Exception {
         // Given
         String cepInvalido = "123";
-        when(cepService.buscarEnderecoPorCep(cepInvalido))
-                .thenThrow(new IllegalArgumentException("CEP deve conter exatamente 8 dígitos"));
+        when(cepService.buscarEnderecoPorCepAsync(eq(cepInvalido), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("CEP deve conter exatamente 8 dígitos")));
 
         // When
         Exchange exchange = producerTemplate.request("direct:consultarCep", processor -> {
@@ -83,7 +156,7 @@ public class CepRouteTest {
         assertEquals(400, statusCode);
         String body = exchange.getMessage().getBody(String.class);
         assertTrue(body.contains("CEP deve conter exatamente 8 dígitos"));
-        verify(cepService, times(1)).buscarEnderecoPorCep(cepInvalido);
+        verify(cepService, times(1)).buscarEnderecoPorCepAsync(eq(cepInvalido), any());
     }
 
     @Test
@@ -91,8 +164,8 @@ public class CepRouteTest {
     void deveRetornarErro404ParaCepNaoEncontrado() throws Exception {
         // Given
         String cepNaoEncontrado = "99999999";
-        when(cepService.buscarEnderecoPorCep(cepNaoEncontrado))
-                .thenThrow(new RuntimeException("CEP não encontrado: " + cepNaoEncontrado));
+        when(cepService.buscarEnderecoPorCepAsync(eq(cepNaoEncontrado), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("CEP não encontrado: " + cepNaoEncontrado)));
 
         // When
         Exchange exchange = producerTemplate.request("direct:consultarCep", processor -> {
@@ -105,7 +178,7 @@ public class CepRouteTest {
         assertEquals(404, statusCode);
         String body = exchange.getMessage().getBody(String.class);
         assertTrue(body.contains("CEP não encontrado"));
-        verify(cepService, times(1)).buscarEnderecoPorCep(cepNaoEncontrado);
+        verify(cepService, times(1)).buscarEnderecoPorCepAsync(eq(cepNaoEncontrado), any());
     }
 
     @Test
@@ -116,7 +189,7 @@ public class CepRouteTest {
         String cidade = "São Paulo";
         String logradouro = "Paulista";
         List<Endereco> enderecos = Arrays.asList(enderecoValido);
-        when(cepService.buscarPorEndereco(uf, cidade, logradouro)).thenReturn(enderecos);
+        when(cepService.buscarPorEnderecoAsync(eq(uf), eq(cidade), eq(logradouro), any())).thenReturn(CompletableFuture.completedFuture(enderecos));
 
         // When
         Exchange exchange = producerTemplate.request("direct:consultarEndereco", processor -> {
@@ -129,7 +202,7 @@ public class CepRouteTest {
         assertNotNull(exchange);
         assertNotNull(exchange.getMessage().getBody());
         assertEquals(enderecos, exchange.getMessage().getBody());
-        verify(cepService, times(1)).buscarPorEndereco(uf, cidade, logradouro);
+        verify(cepService, times(1)).buscarPorEnderecoAsync(eq(uf), eq(cidade), eq(logradouro), any());
     }
 
     @Test
@@ -139,8 +212,8 @@ public class CepRouteTest {
         String ufInvalida = "S";
         String cidade = "São Paulo";
         String logradouro = "Paulista";
-        when(cepService.buscarPorEndereco(ufInvalida, cidade, logradouro))
-                .thenThrow(new IllegalArgumentException("UF deve ter 2 caracteres"));
+        when(cepService.buscarPorEnderecoAsync(eq(ufInvalida), eq(cidade), eq(logradouro), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("UF deve ter 2 caracteres")));
 
         // When
         Exchange exchange = producerTemplate.request("direct:consultarEndereco", processor -> {
@@ -155,7 +228,7 @@ public class CepRouteTest {
         assertEquals(400, statusCode);
         String body = exchange.getMessage().getBody(String.class);
         assertTrue(body.contains("UF deve ter 2 caracteres"));
-        verify(cepService, times(1)).buscarPorEndereco(ufInvalida, cidade, logradouro);
+        verify(cepService, times(1)).buscarPorEnderecoAsync(eq(ufInvalida), eq(cidade), eq(logradouro), any());
     }
 
     @Test
@@ -165,8 +238,8 @@ public class CepRouteTest {
         String uf = "SP";
         String cidade = "Cidade Inexistente";
         String logradouro = "Rua Inexistente";
-        when(cepService.buscarPorEndereco(uf, cidade, logradouro))
-                .thenThrow(new RuntimeException("Nenhum endereço encontrado"));
+        when(cepService.buscarPorEnderecoAsync(eq(uf), eq(cidade), eq(logradouro), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Nenhum endereço encontrado")));
 
         // When
         Exchange exchange = producerTemplate.request("direct:consultarEndereco", processor -> {
@@ -181,7 +254,7 @@ public class CepRouteTest {
         assertEquals(404, statusCode);
         String body = exchange.getMessage().getBody(String.class);
         assertTrue(body.contains("Nenhum endereço encontrado"));
-        verify(cepService, times(1)).buscarPorEndereco(uf, cidade, logradouro);
+        verify(cepService, times(1)).buscarPorEnderecoAsync(eq(uf), eq(cidade), eq(logradouro), any());
     }
 
     @Test
@@ -201,8 +274,8 @@ public class CepRouteTest {
     void deveRetornarErro500ParaExcecaoGenerica() throws Exception {
         // Given
         String cep = "01001000";
-        when(cepService.buscarEnderecoPorCep(cep))
-                .thenThrow(new RuntimeException("Erro de conexão"));
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Erro de conexão")));
 
         // When
         Exchange exchange = producerTemplate.request("direct:consultarCep", processor -> {
@@ -215,6 +288,433 @@ public class CepRouteTest {
         assertEquals(500, statusCode);
         String body = exchange.getMessage().getBody(String.class);
         assertTrue(body.contains("Erro interno do servidor"));
-        verify(cepService, times(1)).buscarEnderecoPorCep(cep);
+        verify(cepService, times(1)).buscarEnderecoPorCepAsync(eq(cep), any());
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 504 quando o prazo da consulta se esgota")
+    void deveRetornarErro504QuandoPrazoEsgota() throws Exception {
+        // Given
+        String cep = "01001000";
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any(Prazo.class))).thenReturn(
+                CompletableFuture.failedFuture(new PrazoEsgotadoException("ViaCEP não respondeu em 3000 ms")));
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:consultarCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+        });
+
+        // Then
+        assertEquals(504, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertTrue(exchange.getMessage().getBody(String.class).contains("ViaCEP não respondeu em 3000 ms"));
+        assertNotNull(exchange.getProperty(CepRoute.PRAZO, Prazo.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 503 quando o circuito do ViaCEP está aberto")
+    void deveRetornarErro503QuandoViaCepIndisponivel() throws Exception {
+        // Given
+        String cep = "01001000";
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any(Prazo.class))).thenReturn(CompletableFuture.failedFuture(
+                new ViaCepIndisponivelException("ViaCEP indisponível no momento, tente novamente em instantes")));
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:consultarCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+        });
+
+        // Then
+        assertEquals(503, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertTrue(exchange.getMessage().getBody(String.class).contains("ViaCEP indisponível"));
+    }
+
+    @Test
+    @DisplayName("Deve sinalizar nos headers quando o endereço servido está obsoleto")
+    void deveSinalizarEnderecoObsoleto() throws Exception {
+        // Given
+        String cep = "01001000";
+        EnderecoObsoleto obsoleto = new EnderecoObsoleto(enderecoValido, Duration.ofMinutes(90));
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any())).thenReturn(CompletableFuture.completedFuture(obsoleto));
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:consultarCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+        });
+
+        // Then
+        assertEquals(obsoleto, exchange.getMessage().getBody());
+        assertEquals("true", exchange.getMessage().getHeader("X-Cache-Stale"));
+        assertEquals("5400", exchange.getMessage().getHeader("Age", String.class));
+        assertEquals("110 - \"Response is Stale\"", exchange.getMessage().getHeader("Warning"));
+    }
+
+    @Test
+    @DisplayName("Deve responder o CEP com o JSON pré-serializado e ETag")
+    void deveResponderComJsonPreSerializado() throws Exception {
+        // Given
+        String cep = "01001000";
+        RespostaJson resposta = RespostaJson.de(enderecoValido, true);
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any())).thenReturn(CompletableFuture.completedFuture(enderecoValido));
+        when(cepService.respostaJson(enderecoValido)).thenReturn(resposta);
+
+        // When
+        Exchange semGzip = producerTemplate.request("direct:responderCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+        });
+        Exchange comGzip = producerTemplate.request("direct:responderCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+            processor.getIn().setHeader("Accept-Encoding", "br, gzip;q=0.8");
+        });
+
+        // Then
+        assertSame(resposta.getJson(), semGzip.getMessage().getBody());
+        assertEquals(resposta.getEtag(), semGzip.getMessage().getHeader("ETag"));
+        assertEquals("Accept-Encoding", semGzip.getMessage().getHeader("Vary"));
+        assertNull(semGzip.getMessage().getHeader(Exchange.CONTENT_ENCODING));
+        assertTrue(semGzip.getMessage().getHeader(Exchange.CONTENT_TYPE, String.class).startsWith("application/json"));
+
+        assertEquals("public, max-age=86400", semGzip.getMessage().getHeader("Cache-Control"));
+
+        assertSame(resposta.getGzip(), comGzip.getMessage().getBody());
+        assertEquals(resposta.etag(true), comGzip.getMessage().getHeader("ETag"));
+        assertEquals("gzip", comGzip.getMessage().getHeader(Exchange.CONTENT_ENCODING));
+        assertTrue(comGzip.getProperty(RespostaHttpBinding.JA_COMPRIMIDO, Boolean.class));
+    }
+
+    @Test
+    @DisplayName("Deve responder 304 sem corpo quando o If-None-Match corresponde ao ETag")
+    void deveResponder304QuandoEtagCorresponde() throws Exception {
+        // Given
+        String cep = "01001000";
+        RespostaJson resposta = RespostaJson.de(enderecoValido, false);
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any())).thenReturn(CompletableFuture.completedFuture(enderecoValido));
+        when(cepService.respostaJson(enderecoValido)).thenReturn(resposta);
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:responderCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+            processor.getIn().setHeader("If-None-Match", "\"outro\", W/" + resposta.getEtag());
+        });
+
+        // Then
+        assertEquals(304, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertNull(exchange.getMessage().getBody());
+        assertEquals(resposta.getEtag(), exchange.getMessage().getHeader("ETag"));
+        assertEquals("public, max-age=86400", exchange.getMessage().getHeader("Cache-Control"));
+    }
+
+    @Test
+    @DisplayName("Deve comprimir a lista de endereços e responder 304 para o ETag da versão gzip")
+    void deveComprimirListaDeEnderecos() throws Exception {
+        // Given
+        List<Endereco> enderecos = Collections.nCopies(20, enderecoValido);
+        when(cepService.buscarPorEnderecoAsync(eq("SP"), eq("São Paulo"), eq("Praça"), any()))
+                .thenReturn(CompletableFuture.completedFuture(enderecos));
+        RespostaJson esperada = RespostaJson.de(enderecos, 0);
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:responderEndereco", processor -> {
+            processor.getIn().setHeader("uf", "SP");
+            processor.getIn().setHeader("cidade", "São Paulo");
+            processor.getIn().setHeader("logradouro", "Praça");
+            processor.getIn().setHeader("Accept-Encoding", "gzip, deflate, br");
+        });
+        Exchange naoModificado = producerTemplate.request("direct:responderEndereco", processor -> {
+            processor.getIn().setHeader("uf", "SP");
+            processor.getIn().setHeader("cidade", "São Paulo");
+            processor.getIn().setHeader("logradouro", "Praça");
+            processor.getIn().setHeader("Accept-Encoding", "gzip");
+            processor.getIn().setHeader("If-None-Match", esperada.etag(true));
+        });
+
+        // Then
+        assertEquals("gzip", exchange.getMessage().getHeader(Exchange.CONTENT_ENCODING));
+        assertArrayEquals(esperada.getGzip(), exchange.getMessage().getBody(byte[].class));
+        assertEquals(esperada.etag(true), exchange.getMessage().getHeader("ETag"));
+        assertEquals("public, max-age=3600", exchange.getMessage().getHeader("Cache-Control"));
+        assertEquals(304, naoModificado.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+    }
+
+    @Test
+    @DisplayName("Deve responder página de endereços por prefixo com cursor e ETag")
+    void deveResponderPaginaPorPrefixo() {
+        // Given
+        PaginaEnderecos pagina = new PaginaEnderecos(List.of(enderecoValido), "01001001");
+        when(cepFaixaService.buscarPorPrefixo("01001", "01001000", "1")).thenReturn(pagina);
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:responderFaixaCep", processor -> {
+            processor.getIn().setHeader("prefixo", "01001");
+            processor.getIn().setHeader("cursor", "01001000");
+            processor.getIn().setHeader("limite", "1");
+        });
+
+        // Then
+        String corpo = new String(exchange.getMessage().getBody(byte[].class), StandardCharsets.UTF_8);
+        assertTrue(corpo.contains("\"proximo\":\"01001001\""));
+        assertTrue(corpo.contains("\"cep\":\"01001-000\""));
+        assertEquals(RespostaJson.de(pagina, Long.MAX_VALUE).etag(false), exchange.getMessage().getHeader("ETag"));
+        assertEquals(CepRoute.CONTENT_TYPE_JSON, exchange.getMessage().getHeader(Exchange.CONTENT_TYPE));
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 e 503 nas consultas por faixa")
+    void deveResponderErrosDaConsultaPorFaixa() {
+        // Given
+        when(cepFaixaService.buscarPorFaixa(eq("01002000"), eq("01001000"), any(), any()))
+                .thenThrow(new IllegalArgumentException("CEP inicial deve ser menor ou igual ao final"));
+        when(cepFaixaService.buscarPorPrefixo(eq("01001"), any(), any()))
+                .thenThrow(new IllegalStateException("Consulta por faixa requer a base local de CEPs"));
+
+        // When
+        Exchange invalida = producerTemplate.request("direct:responderFaixaCep", processor -> {
+            processor.getIn().setHeader("inicio", "01002000");
+            processor.getIn().setHeader("fim", "01001000");
+        });
+        Exchange semBase = producerTemplate.request("direct:responderFaixaCep",
+                processor -> processor.getIn().setHeader("prefixo", "01001"));
+
+        // Then
+        assertEquals(400, invalida.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertTrue(invalida.getMessage().getBody(String.class).contains("CEP inicial deve ser menor"));
+        assertEquals(503, semBase.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertEquals(CepRoute.CONTENT_TYPE_JSON, semBase.getMessage().getHeader(Exchange.CONTENT_TYPE));
+    }
+
+    @Test
+    @DisplayName("Deve responder 200 ou 404 na verificação de existência, sem corpo no HEAD")
+    void deveResponderExistenciaDoCep() {
+        // Given
+        when(cepService.existeAsync(eq("01001-000"), any(Prazo.class))).thenReturn(CompletableFuture.completedFuture(true));
+        when(cepService.existeAsync(eq("99999999"), any(Prazo.class))).thenReturn(CompletableFuture.completedFuture(false));
+
+        // When
+        Exchange existe = producerTemplate.request("direct:existeCep",
+                processor -> processor.getIn().setHeader("cep", "01001-000"));
+        Exchange inexistente = producerTemplate.request("direct:existeCep", processor -> {
+            processor.getIn().setHeader("cep", "99999999");
+            processor.getIn().setHeader(Exchange.HTTP_METHOD, "HEAD");
+        });
+
+        // Then
+        assertEquals(200, existe.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertEquals("{\"cep\": \"01001000\", \"existe\": true}", existe.getMessage().getBody(String.class));
+        assertEquals(CepRoute.CONTENT_TYPE_JSON, existe.getMessage().getHeader(Exchange.CONTENT_TYPE));
+        assertEquals(404, inexistente.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertNull(inexistente.getMessage().getBody());
+    }
+
+    @Test
+    @DisplayName("Deve responder 400 e 504 na verificação de existência")
+    void deveResponderErrosDaExistencia() {
+        // Given
+        when(cepService.existeAsync(eq("123"), any(Prazo.class))).thenReturn(
+                CompletableFuture.failedFuture(new IllegalArgumentException("CEP deve conter exatamente 8 dígitos")));
+        when(cepService.existeAsync(eq("01001000"), any(Prazo.class))).thenReturn(
+                CompletableFuture.failedFuture(new PrazoEsgotadoException("ViaCEP não respondeu em 3000 ms")));
+
+        // When
+        Exchange invalido = producerTemplate.request("direct:existeCep",
+                processor -> processor.getIn().setHeader("cep", "123"));
+        Exchange semPrazo = producerTemplate.request("direct:existeCep",
+                processor -> processor.getIn().setHeader("cep", "01001000"));
+
+        // Then
+        assertEquals(400, invalido.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertTrue(invalido.getMessage().getBody(String.class).contains("exatamente 8 dígitos"));
+        assertEquals(504, semPrazo.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+    }
+
+    @Test
+    @DisplayName("Deve responder 500 em JSON quando a verificação de existência falha")
+    void deveResponderErroInternoDaExistencia() {
+        // Given
+        when(cepService.existeAsync(eq("01001000"), any(Prazo.class))).thenReturn(
+                CompletableFuture.failedFuture(new RuntimeException("Erro de conexão")));
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:existeCep",
+                processor -> processor.getIn().setHeader("cep", "01001000"));
+
+        // Then
+        assertNull(exchange.getException());
+        assertEquals(500, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertEquals("{\"erro\": \"Erro interno do servidor\"}", exchange.getMessage().getBody(String.class));
+        assertEquals(CepRoute.CONTENT_TYPE_JSON, exchange.getMessage().getHeader(Exchange.CONTENT_TYPE, String.class));
+    }
+
+    @Test
+    @DisplayName("Deve enviar Cache-Control e Warning na resposta HTTP")
+    void deveEnviarCabecalhosDeCacheNaResposta() {
+        // Given
+        HeaderFilterStrategy filtro = new RespostaHttpBinding().getHeaderFilterStrategy();
+        Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+
+        // When / Then
+        assertFalse(filtro.applyFilterToCamelHeaders("Cache-Control", "public, max-age=60", exchange));
+        assertFalse(filtro.applyFilterToCamelHeaders("Warning", "110 - \"Response is Stale\"", exchange));
+        assertTrue(filtro.applyFilterToCamelHeaders("Content-Length", "10", exchange));
+    }
+
+    @Test
+    @DisplayName("Deve comparar If-None-Match de forma fraca")
+    void deveCompararIfNoneMatch() {
+        assertTrue(CepRoute.correspondeEtag("\"abc\"", "\"abc\""));
+        assertTrue(CepRoute.correspondeEtag("W/\"abc\"", "\"abc\""));
+        assertTrue(CepRoute.correspondeEtag("\"x\" , \"abc\"", "\"abc\""));
+        assertTrue(CepRoute.correspondeEtag("*", "\"abc\""));
+        assertFalse(CepRoute.correspondeEtag(null, "\"abc\""));
+        assertFalse(CepRoute.correspondeEtag("\"abc-gzip\"", "\"abc\""));
+    }
+
+    @Test
+    @DisplayName("Deve manter o corpo de erro ao responder o CEP pré-serializado")
+    void deveManterCorpoDeErroNaRespostaPreSerializada() throws Exception {
+        // Given
+        String cep = "123";
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalArgumentException("CEP deve conter exatamente 8 dígitos")));
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:responderCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+        });
+
+        // Then
+        assertEquals(400, exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class));
+        assertTrue(exchange.getMessage().getBody(String.class).contains("CEP deve conter exatamente 8 dígitos"));
+        assertNull(exchange.getMessage().getHeader("ETag"));
+        verify(cepService, never()).respostaJson(any());
+    }
+
+    @Test
+    @DisplayName("Deve reconhecer gzip no Accept-Encoding")
+    void deveReconhecerGzipNoAcceptEncoding() {
+        assertTrue(CepRoute.aceitaGzip("gzip"));
+        assertTrue(CepRoute.aceitaGzip("deflate, GZIP;q=0.5"));
+        assertFalse(CepRoute.aceitaGzip(null));
+        assertFalse(CepRoute.aceitaGzip("br, deflate"));
+        assertFalse(CepRoute.aceitaGzip("gzip;q=0"));
+        assertFalse(CepRoute.aceitaGzip("gzip; q=0.000"));
+    }
+
+    @Test
+    @DisplayName("Deve registrar métricas da rota, do cache e do ViaCEP")
+    void deveRegistrarMetricas() throws Exception {
+        // Given
+        String cep = "01001000";
+        when(cepService.buscarEnderecoPorCepAsync(eq(cep), any())).thenReturn(CompletableFuture.completedFuture(enderecoValido));
+
+        // When
+        producerTemplate.request("direct:consultarCep", processor -> {
+            processor.getIn().setHeader("cep", cep);
+        });
+
+        // Then
+        assertTrue(meterRegistry.get("camel.route.policy").tag("routeId", "consultarCepRoute").timer().count() >= 1);
+        assertNotNull(meterRegistry.get("camel.exchanges.inflight").tag("routeId", "consultarCepRoute").gauge());
+        assertNotNull(meterRegistry.get("cache.gets").tags("cache", "cep", "result", "hit").functionCounter());
+        assertNotNull(meterRegistry.get("viacep.chamadas.ativas").gauge());
+        assertNotNull(meterRegistry.get("viacep.limite.taxa").gauge());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar a configuração do Feign ao cliente viaCepClient")
+    void deveAplicarConfiguracaoDoFeignAoCliente() {
+        // When
+        FeignClientProperties.FeignClientConfiguration config = feignClientProperties.getConfig().get("viaCepClient");
+
+        // Then
+        assertNotNull(config);
+        assertEquals(5000, config.getReadTimeout());
+    }
+
+    @Test
+    @DisplayName("Deve consultar lote de CEPs com sucesso")
+    void deveConsultarLoteDeCepsComSucesso() throws Exception {
+        // Given
+        String[] ceps = {"01001000", "123"};
+        Map<String, ResultadoConsultaCep> resultado = new LinkedHashMap<>();
+        resultado.put("01001000", ResultadoConsultaCep.encontrado("01001000", enderecoValido));
+        resultado.put("123", ResultadoConsultaCep.falha("123", 400, "CEP deve conter exatamente 8 dígitos"));
+        when(cepLoteService.buscarEmLote(eq(List.of(ceps)), any(Prazo.class))).thenReturn(resultado);
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:consultarCepLote", processor -> {
+            processor.getIn().setBody(ceps);
+        });
+
+        // Then
+        assertNotNull(exchange);
+        assertEquals(resultado, exchange.getMessage().getBody());
+        verify(cepLoteService, times(1)).buscarEmLote(eq(List.of(ceps)), any(Prazo.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar erro 400 para lote inválido")
+    void deveRetornarErro400ParaLoteInvalido() throws Exception {
+        // Given
+        String[] ceps = {};
+        when(cepLoteService.buscarEmLote(eq(List.of()), any(Prazo.class)))
+                .thenThrow(new IllegalArgumentException("Informe ao menos um CEP"));
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:consultarCepLote", processor -> {
+            processor.getIn().setBody(ceps);
+        });
+
+        // Then
+        assertNotNull(exchange);
+        Integer statusCode = exchange.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        assertEquals(400, statusCode);
+        String body = exchange.getMessage().getBody(String.class);
+        assertTrue(body.contains("Informe ao menos um CEP"));
+    }
+
+    @Test
+    @DisplayName("Deve validar arquivo NDJSON/CSV retornando uma linha NDJSON por CEP")
+    void deveValidarArquivoRetornandoNdjson() throws Exception {
+        // Given
+        when(cepService.buscarEnderecoPorCep("01001000")).thenReturn(enderecoValido);
+        String arquivo = "cep;logradouro\n01001-000;Praça da Sé\n\n{\"cep\": \"123\"}\n";
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:validarCeps", processor -> {
+            processor.getIn().setBody(new ByteArrayInputStream(arquivo.getBytes(StandardCharsets.UTF_8)));
+        });
+
+        // Then
+        List<String> linhas = exchange.getMessage().getBody(String.class).lines().sorted().toList();
+        assertEquals(2, linhas.size());
+        assertTrue(linhas.get(0).contains("\"cep\":\"01001000\",\"status\":200"));
+        assertTrue(linhas.get(1).contains("\"cep\":\"123\",\"status\":400"));
+        verify(cepService, times(1)).buscarEnderecoPorCep("01001000");
+    }
+
+    @Test
+    @DisplayName("Deve validar entrada grande lida em streaming")
+    void deveValidarEntradaGrandeEmStreaming() throws Exception {
+        // Given
+        when(cepService.buscarEnderecoPorCep(anyString())).thenReturn(enderecoValido);
+        int total = 20_000;
+        // Linhas geradas sob demanda: a entrada nunca existe inteira na memória
+        InputStream entrada = new InputStream() {
+            private final byte[] linha = "01001000\n".getBytes(StandardCharsets.US_ASCII);
+            private long posicao;
+
+            @Override
+            public int read() {
+                return posicao < (long) total * linha.length ? linha[(int) (posicao++ % linha.length)] : -1;
+            }
+        };
+
+        // When
+        Exchange exchange = producerTemplate.request("direct:validarCeps", processor -> {
+            processor.getIn().setBody(entrada);
+        });
+
+        // Then
+        assertEquals(total, exchange.getMessage().getBody(String.class).lines().count());
+        verify(cepService, times(total)).buscarEnderecoPorCep("01001000");
     }
-}
\ No newline at end of file
+}
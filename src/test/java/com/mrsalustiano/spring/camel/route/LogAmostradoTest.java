@@ -0,0 +1,74 @@
+package com.mrsalustiano.spring.camel.route;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LogAmostrado - Testes Unitários")
+public class LogAmostradoTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogAmostradoTest.class);
+
+    @BeforeEach
+    void setUp() {
+        logger.setLevel(Level.INFO);
+    }
+
+    @Test
+    @DisplayName("Deve registrar todas as chamadas com amostragem 1.0")
+    void deveRegistrarTodasComAmostragemTotal() {
+        // Given
+        LogAmostrado log = new LogAmostrado(logger, 1.0);
+        AtomicInteger montadas = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            log.info("sucesso: {}", montadas::incrementAndGet);
+        }
+
+        // Then
+        assertEquals(100, montadas.get());
+    }
+
+    @Test
+    @DisplayName("Deve registrar só uma fração das chamadas")
+    void deveRegistrarFracaoDasChamadas() {
+        // Given
+        LogAmostrado log = new LogAmostrado(logger, 0.1);
+
+        // When
+        int sorteadas = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (log.sorteado()) {
+                sorteadas++;
+            }
+        }
+
+        // Then
+        assertTrue(sorteadas > 8_000 && sorteadas < 12_000, "sorteadas: " + sorteadas);
+    }
+
+    @Test
+    @DisplayName("Não deve montar a mensagem com o nível INFO desligado ou amostragem zero")
+    void naoDeveMontarMensagemQuandoDesligado() {
+        // Given
+        AtomicInteger montadas = new AtomicInteger();
+        LogAmostrado semAmostragem = new LogAmostrado(logger, 0);
+        LogAmostrado nivelDesligado = new LogAmostrado(logger, 1.0);
+
+        // When
+        semAmostragem.info("sucesso: {}", montadas::incrementAndGet);
+        logger.setLevel(Level.WARN);
+        nivelDesligado.info("sucesso: {}", montadas::incrementAndGet);
+
+        // Then
+        assertEquals(0, montadas.get());
+    }
+}
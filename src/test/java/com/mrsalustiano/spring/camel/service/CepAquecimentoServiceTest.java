@@ -0,0 +1,190 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.mrsalustiano.spring.camel.cache.CepCache;
+import com.mrsalustiano.spring.camel.config.CepAquecimentoProperties;
+import com.mrsalustiano.spring.camel.config.EnderecoArquivoProperties;
+import com.mrsalustiano.spring.camel.config.CepCacheProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CepAquecimentoService - Testes Unitários")
+public class CepAquecimentoServiceTest {
+
+    @Mock
+    private CepService cepService;
+
+    @TempDir
+    private Path diretorio;
+
+    private Path snapshot;
+    private CepAquecimentoProperties properties;
+    private EnderecoArquivoProperties arquivoProperties;
+    private CepCache cepCache;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = diretorio.resolve("ceps-quentes.txt");
+        properties = new CepAquecimentoProperties();
+        properties.setHabilitado(true);
+        properties.setSnapshot(snapshot.toString());
+        arquivoProperties = new EnderecoArquivoProperties();
+        arquivoProperties.setCaminho(diretorio.resolve("enderecos.log").toString());
+        cepCache = new CepCache(new CepCacheProperties());
+    }
+
+    @Test
+    @DisplayName("Deve consultar os CEPs do snapshot e só então ficar pronto")
+    void deveAquecerComCepsDoSnapshot() throws Exception {
+        // Given
+        Files.write(snapshot, List.of("01001000", "20040-002", "inválido", "30130010"));
+        properties.setQuantidade(2);
+        when(cepService.buscarEnderecoPorCepAsync(anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(new Endereco()));
+        CepAquecimentoService aquecimento = new CepAquecimentoService(cepService, cepCache, properties, arquivoProperties);
+        assertFalse(aquecimento.isPronto());
+
+        // When
+        aquecimento.aquecer();
+
+        // Then
+        assertTrue(aquecimento.isPronto());
+        assertEquals(2, aquecimento.getTotal());
+        assertEquals(2, aquecimento.getCarregados());
+        verify(cepService).buscarEnderecoPorCepAsync(eq("01001000"), any());
+        verify(cepService).buscarEnderecoPorCepAsync(eq("20040002"), any());
+        verifyNoMoreInteractions(cepService);
+    }
+
+    @Test
+    @DisplayName("Deve limitar as consultas simultâneas do aquecimento")
+    void deveLimitarConcorrencia() throws Exception {
+        // Given
+        Files.write(snapshot, List.of("01001000", "01001001", "01001002", "01001003", "01001004", "01001005"));
+        properties.setConcorrencia(2);
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(cepService.buscarEnderecoPorCepAsync(anyString(), any())).thenAnswer(invocacao -> {
+            maximo.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            emAndamento.decrementAndGet();
+            return CompletableFuture.completedFuture(new Endereco());
+        });
+        CepAquecimentoService aquecimento = new CepAquecimentoService(cepService, cepCache, properties, arquivoProperties);
+
+        // When
+        aquecimento.aquecer();
+
+        // Then
+        assertEquals(6, aquecimento.getCarregados());
+        assertTrue(maximo.get() <= 2);
+    }
+
+    @Test
+    @DisplayName("Deve ficar pronto quando o prazo do aquecimento passa")
+    void deveFicarProntoAoEsgotarPrazo() throws Exception {
+        // Given
+        Files.write(snapshot, List.of("01001000", "01001001", "01001002"));
+        properties.setConcorrencia(1);
+        properties.setPrazo(Duration.ofMillis(100));
+        when(cepService.buscarEnderecoPorCepAsync(anyString(), any())).thenReturn(new CompletableFuture<>());
+        CepAquecimentoService aquecimento = new CepAquecimentoService(cepService, cepCache, properties, arquivoProperties);
+
+        // When
+        long inicio = System.nanoTime();
+        aquecimento.aquecer();
+
+        // Then
+        assertTrue(aquecimento.isPronto());
+        assertEquals(0, aquecimento.getCarregados());
+        assertTrue(Duration.ofNanos(System.nanoTime() - inicio).toMillis() < 5000);
+        verify(cepService, times(1)).buscarEnderecoPorCepAsync(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve ficar pronto sem snapshot")
+    void deveFicarProntoSemSnapshot() {
+        // Given
+        CepAquecimentoService aquecimento = new CepAquecimentoService(cepService, cepCache, properties, arquivoProperties);
+
+        // When
+        aquecimento.aquecer();
+
+        // Then
+        assertTrue(aquecimento.isPronto());
+        assertEquals(0, aquecimento.getTotal());
+        verifyNoInteractions(cepService);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o snapshot com os CEPs mais acessados depois do aquecimento")
+    void deveGravarSnapshotComMaisAcessados() throws Exception {
+        // Given
+        Endereco endereco = new Endereco();
+        endereco.setCep("01001-000");
+        cepCache.guardar(1001000, endereco);
+        cepCache.guardar(20040002, endereco);
+        cepCache.buscar(20040002);
+        CepAquecimentoService aquecimento = new CepAquecimentoService(cepService, cepCache, properties, arquivoProperties);
+
+        // When
+        aquecimento.gravarSnapshot();
+        boolean gravadoAntesDoAquecimento = Files.exists(snapshot);
+        aquecimento.aquecer();
+        aquecimento.gravarSnapshot();
+
+        // Then
+        assertFalse(gravadoAntesDoAquecimento);
+        assertEquals(List.of("20040002", "01001000"), Files.readAllLines(snapshot));
+    }
+
+    @Test
+    @DisplayName("Deve nascer pronto quando o aquecimento está desabilitado")
+    void deveNascerProntoQuandoDesabilitado() {
+        // Given
+        properties.setHabilitado(false);
+
+        // When
+        CepAquecimentoService aquecimento = new CepAquecimentoService(cepService, cepCache, properties, arquivoProperties);
+        aquecimento.afterSingletonsInstantiated();
+
+        // Then
+        assertTrue(aquecimento.isPronto());
+        verifyNoInteractions(cepService);
+    }
+
+    @Test
+    @DisplayName("Deve gravar o snapshot no diretório do cache em disco quando o caminho não é informado")
+    void deveDerivarSnapshotDoCacheEmDisco() {
+        // Given
+        properties.setSnapshot(null);
+        arquivoProperties.setCaminho(diretorio.resolve("volume").resolve("enderecos.log").toString());
+
+        // When
+        Path caminho = CepAquecimentoService.caminhoSnapshot(properties, arquivoProperties);
+
+        // Then
+        assertEquals(diretorio.resolve("volume").resolve("ceps-quentes.txt"), caminho);
+        properties.setSnapshot(snapshot.toString());
+        assertEquals(snapshot, CepAquecimentoService.caminhoSnapshot(properties, arquivoProperties));
+    }
+}
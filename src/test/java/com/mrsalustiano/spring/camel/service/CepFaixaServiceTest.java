@@ -0,0 +1,120 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties;
+import com.mrsalustiano.spring.camel.config.CepFaixaProperties;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
+import com.mrsalustiano.spring.camel.dataset.CepDatasetImporter;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.PaginaEnderecos;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CepFaixaService - Testes Unitários")
+public class CepFaixaServiceTest {
+
+    @TempDir
+    private Path diretorio;
+
+    private CepFaixaProperties properties;
+    private CepFaixaService cepFaixaService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path csv = diretorio.resolve("ceps.csv");
+        Path arquivo = diretorio.resolve("ceps.bin");
+        Files.writeString(csv, """
+                cep;logradouro;localidade;uf
+                01000-999;Rua Anterior;São Paulo;SP
+                01001-000;Praça da Sé;São Paulo;SP
+                01001-001;Praça da Sé;São Paulo;SP
+                01001-010;Rua Direita;São Paulo;SP
+                01001-999;Rua Quinze de Novembro;São Paulo;SP
+                01002-000;Rua Posterior;São Paulo;SP
+                20040-020;Avenida Rio Branco;Rio de Janeiro;RJ
+                """);
+        new CepDatasetImporter(new ObjectMapper()).importar(csv, arquivo);
+        CepDatasetProperties datasetProperties = new CepDatasetProperties();
+        datasetProperties.setArquivo(arquivo.toString());
+        properties = new CepFaixaProperties();
+        cepFaixaService = new CepFaixaService(new CepDataset(datasetProperties), properties);
+    }
+
+    @Test
+    @DisplayName("Deve listar todos os CEPs do prefixo em ordem")
+    void deveListarCepsDoPrefixo() {
+        // When
+        PaginaEnderecos pagina = cepFaixaService.buscarPorPrefixo("01001-", null, null);
+
+        // Then
+        assertEquals(List.of("01001-000", "01001-001", "01001-010", "01001-999"), ceps(pagina));
+        assertEquals("Praça da Sé", pagina.getEnderecos().get(0).getLogradouro());
+        assertNull(pagina.getProximo());
+        assertEquals(6, cepFaixaService.buscarPorPrefixo("0", null, null).getEnderecos().size());
+        assertEquals(List.of("01001-010"), ceps(cepFaixaService.buscarPorPrefixo("01001010", null, null)));
+    }
+
+    @Test
+    @DisplayName("Deve paginar com cursor até a última página")
+    void devePaginarComCursor() {
+        // When
+        PaginaEnderecos primeira = cepFaixaService.buscarPorPrefixo("01001", null, "3");
+        PaginaEnderecos segunda = cepFaixaService.buscarPorPrefixo("01001", primeira.getProximo(), "3");
+
+        // Then
+        assertEquals(List.of("01001-000", "01001-001", "01001-010"), ceps(primeira));
+        assertEquals("01001999", primeira.getProximo());
+        assertEquals(List.of("01001-999"), ceps(segunda));
+        assertNull(segunda.getProximo());
+    }
+
+    @Test
+    @DisplayName("Deve listar a faixa inclusive nas pontas, com CEPs em qualquer formato")
+    void deveListarFaixa() {
+        // When
+        PaginaEnderecos pagina = cepFaixaService.buscarPorFaixa("01001-001", "01002.000", null, null);
+
+        // Then
+        assertEquals(List.of("01001-001", "01001-010", "01001-999", "01002-000"), ceps(pagina));
+        assertTrue(cepFaixaService.buscarPorFaixa("30000000", "39999999", null, null).getEnderecos().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar prefixo, faixa, limite e cursor inválidos")
+    void deveRejeitarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> cepFaixaService.buscarPorPrefixo("abc", null, null));
+        assertThrows(IllegalArgumentException.class, () -> cepFaixaService.buscarPorPrefixo("010010001", null, null));
+        assertThrows(IllegalArgumentException.class, () -> cepFaixaService.buscarPorFaixa("123", "01001000", null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> cepFaixaService.buscarPorFaixa("01002000", "01001000", null, null));
+        assertThrows(IllegalArgumentException.class, () -> cepFaixaService.buscarPorPrefixo("01001", null, "0"));
+        assertThrows(IllegalArgumentException.class, () -> cepFaixaService.buscarPorPrefixo("01001", null, "abc"));
+        assertThrows(IllegalArgumentException.class,
+                () -> cepFaixaService.buscarPorPrefixo("01001", null, String.valueOf(properties.getLimiteMaximo() + 1)));
+        IllegalArgumentException cursor = assertThrows(IllegalArgumentException.class,
+                () -> cepFaixaService.buscarPorPrefixo("01001", "20040020", null));
+        assertEquals("Cursor inválido para esta consulta", cursor.getMessage());
+    }
+
+    @Test
+    @DisplayName("Deve exigir a base local")
+    void deveExigirBaseLocal() {
+        // Given
+        CepFaixaService semBase = new CepFaixaService(new CepDataset(new CepDatasetProperties()), properties);
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> semBase.buscarPorPrefixo("01001", null, null));
+    }
+
+    private static List<String> ceps(PaginaEnderecos pagina) {
+        return pagina.getEnderecos().stream().map(Endereco::getCep).toList();
+    }
+}
@@ -0,0 +1,175 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.mrsalustiano.spring.camel.client.Prazo;
+import com.mrsalustiano.spring.camel.config.CepLoteProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.ResultadoConsultaCep;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CepLoteService - Testes Unitários")
+public class CepLoteServiceTest {
+
+    @Mock
+    private CepService cepService;
+
+    private CepLoteProperties properties;
+    private ExecutorService executor;
+    private CepLoteService cepLoteService;
+    private Endereco enderecoValido;
+    private Prazo prazo;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CepLoteProperties();
+        properties.setTamanhoMaximo(5);
+        properties.setParalelismo(2);
+        executor = Executors.newFixedThreadPool(properties.getParalelismo());
+        cepLoteService = new CepLoteService(cepService, properties, executor);
+
+        prazo = Prazo.em(Duration.ofSeconds(30));
+
+        enderecoValido = new Endereco();
+        enderecoValido.setCep("01001-000");
+        enderecoValido.setLogradouro("Praça da Sé");
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Deve consultar uma única vez CEPs repetidos em formatos diferentes")
+    void deveConsultarUmaVezCepsRepetidos() {
+        // Given
+        when(cepService.buscarEnderecoPorCep("01001000", prazo)).thenReturn(enderecoValido);
+
+        // When
+        Map<String, ResultadoConsultaCep> resultado =
+                cepLoteService.buscarEmLote(Arrays.asList("01001-000", "01001000", "01001-000"), prazo);
+
+        // Then
+        assertEquals(List.of("01001-000", "01001000"), new ArrayList<>(resultado.keySet()));
+        assertEquals(200, resultado.get("01001-000").getStatus());
+        assertSame(enderecoValido, resultado.get("01001000").getEndereco());
+        verify(cepService, times(1)).buscarEnderecoPorCep("01001000", prazo);
+    }
+
+    @Test
+    @DisplayName("Deve reportar erros individuais sem interromper o lote")
+    void deveReportarErrosIndividuais() {
+        // Given
+        when(cepService.buscarEnderecoPorCep("01001000", prazo)).thenReturn(enderecoValido);
+        when(cepService.buscarEnderecoPorCep("99999999", prazo))
+                .thenThrow(new RuntimeException("CEP não encontrado: 99999999"));
+        when(cepService.buscarEnderecoPorCep("20040020", prazo))
+                .thenThrow(new RuntimeException("Erro de conexão"));
+
+        // When
+        Map<String, ResultadoConsultaCep> resultado =
+                cepLoteService.buscarEmLote(Arrays.asList("01001000", "123", "99999999", "20040020", null), prazo);
+
+        // Then
+        assertEquals(200, resultado.get("01001000").getStatus());
+        assertEquals(400, resultado.get("123").getStatus());
+        assertEquals("CEP deve conter exatamente 8 dígitos", resultado.get("123").getErro());
+        assertEquals(404, resultado.get("99999999").getStatus());
+        assertEquals(500, resultado.get("20040020").getStatus());
+        assertEquals("Erro interno do servidor", resultado.get("20040020").getErro());
+        assertEquals(400, resultado.get("").getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve responder CEPs em cache sem usar o pool do lote")
+    void deveResponderCepsEmCacheSemUsarPool() {
+        // Given
+        executor.shutdownNow();
+        when(cepService.estaEmCache("01001000")).thenReturn(true);
+        when(cepService.buscarEnderecoPorCep("01001000", prazo)).thenReturn(enderecoValido);
+
+        // When
+        Map<String, ResultadoConsultaCep> resultado = cepLoteService.buscarEmLote(List.of("01001000"), prazo);
+
+        // Then
+        assertEquals(200, resultado.get("01001000").getStatus());
+    }
+
+    @Test
+    @DisplayName("Deve limitar as consultas simultâneas ao paralelismo configurado")
+    void deveLimitarConsultasSimultaneas() {
+        // Given
+        AtomicInteger simultaneas = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        when(cepService.buscarEnderecoPorCep(anyString(), eq(prazo))).thenAnswer(invocacao -> {
+            maximo.accumulateAndGet(simultaneas.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            simultaneas.decrementAndGet();
+            return enderecoValido;
+        });
+
+        // When
+        cepLoteService.buscarEmLote(List.of("01001000", "01001001", "01001002", "01001003", "01001004"), prazo);
+
+        // Then
+        assertTrue(maximo.get() <= properties.getParalelismo());
+    }
+
+    @Test
+    @DisplayName("Deve consultar todos os itens do lote com o prazo da requisição")
+    void deveCompartilharPrazoDaRequisicao() {
+        // Given
+        List<Prazo> recebidos = Collections.synchronizedList(new ArrayList<>());
+        when(cepService.buscarEnderecoPorCep(anyString(), any(Prazo.class))).thenAnswer(invocacao -> {
+            recebidos.add(invocacao.getArgument(1));
+            return enderecoValido;
+        });
+
+        // When
+        cepLoteService.buscarEmLote(List.of("01001000", "01001001", "01001002"), prazo);
+
+        // Then
+        assertEquals(3, recebidos.size());
+        recebidos.forEach(recebido -> assertSame(prazo, recebido));
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar lote vazio ou acima do tamanho máximo")
+    void deveRejeitarLoteInvalido() {
+        // When & Then
+        IllegalArgumentException vazio = assertThrows(
+                IllegalArgumentException.class,
+                () -> cepLoteService.buscarEmLote(Collections.emptyList(), prazo)
+        );
+        IllegalArgumentException grande = assertThrows(
+                IllegalArgumentException.class,
+                () -> cepLoteService.buscarEmLote(Collections.nCopies(6, "01001000"), prazo)
+        );
+
+        assertEquals("Informe ao menos um CEP", vazio.getMessage());
+        assertEquals("Lote deve conter no máximo 5 CEPs", grande.getMessage());
+        verifyNoInteractions(cepService);
+    }
+}
@@ -1,21 +1,52 @@
 package com.mrsalustiano.spring.camel.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mrsalustiano.spring.camel.busca.IndiceEnderecos;
+import com.mrsalustiano.spring.camel.cache.CepCache;
+import com.mrsalustiano.spring.camel.cache.FiltroCeps;
+import com.mrsalustiano.spring.camel.client.ViaCepAsyncClient;
 import com.mrsalustiano.spring.camel.client.ViaCepClient;
+import com.mrsalustiano.spring.camel.client.ViaCepGateway;
+import com.mrsalustiano.spring.camel.config.CepCacheProperties;
+import com.mrsalustiano.spring.camel.config.CepDatasetProperties;
+import com.mrsalustiano.spring.camel.config.EnderecoArquivoProperties;
+import com.mrsalustiano.spring.camel.config.EnderecoStoreProperties;
+import com.mrsalustiano.spring.camel.config.FiltroCepsProperties;
+import com.mrsalustiano.spring.camel.config.IndiceEnderecosProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepAsyncProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepLimiteProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepPrazoProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepResilienciaProperties;
+import com.mrsalustiano.spring.camel.config.ViaCepRetentativaProperties;
+import com.mrsalustiano.spring.camel.dataset.CepDataset;
+import com.mrsalustiano.spring.camel.dataset.CepDatasetImporter;
 import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.EnderecoObsoleto;
+import com.mrsalustiano.spring.camel.store.EnderecoArquivo;
+import com.mrsalustiano.spring.camel.store.EnderecoStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -26,7 +57,17 @@ public class CepServiceTest {
     @Mock
     private ViaCepClient viaCepClient;
 
-    @InjectMocks
+    @Mock
+    private ViaCepAsyncClient viaCepAsyncClient;
+
+    private ViaCepGateway viaCepGateway;
+    private final List<Runnable> revalidacoes = new ArrayList<>();
+    @TempDir
+    private Path dados;
+    private EnderecoStore enderecoStore;
+    private EnderecoArquivo enderecoArquivo;
+    private IndiceEnderecos indiceEnderecos;
+    private FiltroCeps filtroCeps;
     private CepService cepService;
 
     private Endereco enderecoValido;
@@ -34,6 +75,20 @@ public class CepServiceTest {
 
     @BeforeEach
     void setUp() {
+        enderecoStore = new EnderecoStore(new EnderecoStoreProperties());
+        EnderecoArquivoProperties arquivoProperties = new EnderecoArquivoProperties();
+        arquivoProperties.setHabilitado(false);
+        arquivoProperties.setCaminho(dados.resolve("enderecos.log").toString());
+        enderecoArquivo = new EnderecoArquivo(arquivoProperties);
+        indiceEnderecos = new IndiceEnderecos(new IndiceEnderecosProperties(),
+                new CepDataset(new CepDatasetProperties()));
+        filtroCeps = new FiltroCeps(new FiltroCepsProperties(), new CepDataset(new CepDatasetProperties()));
+        viaCepGateway = new ViaCepGateway(viaCepClient, viaCepAsyncClient, new ViaCepAsyncProperties(),
+                new ViaCepPrazoProperties(), new ViaCepResilienciaProperties(), new ViaCepLimiteProperties(),
+                new ViaCepRetentativaProperties(), new SimpleMeterRegistry());
+        cepService = new CepService(viaCepGateway, new CepCache(new CepCacheProperties()), enderecoStore,
+                enderecoArquivo, new CepDataset(new CepDatasetProperties()), indiceEnderecos, filtroCeps, revalidacoes::add);
+
         enderecoValido = new Endereco();
         enderecoValido.setCep("01001-000");
         enderecoValido.setLogradouro("Praça da Sé");
@@ -51,7 +106,7 @@ public class CepServiceTest {
     void deveBuscarEnderecoPorCepValidoComSucesso() {
         // Given
         String cep = "01001000";
-        when(viaCepClient.consultarCep(cep)).thenReturn(enderecoValido);
+        when(viaCepClient.consultarCep(eq(cep), any())).thenReturn(enderecoValido);
 
         // When
         Endereco resultado = cepService.buscarEnderecoPorCep(cep);
@@ -62,7 +117,7 @@ public class CepServiceTest {
         assertEquals("Praça da Sé", resultado.getLogradouro());
         assertEquals("São Paulo", resultado.getLocalidade());
         assertEquals("SP", resultado.getUf());
-        verify(viaCepClient, times(1)).consultarCep(cep);
+        verify(viaCepClient, times(1)).consultarCep(eq(cep), any());
     }
 
     @Test
@@ -71,14 +126,29 @@ public class CepServiceTest {
         // Given
         String cepFormatado = "01001-000";
         String cepLimpo = "01001000";
-        when(viaCepClient.consultarCep(cepLimpo)).thenReturn(enderecoValido);
+        when(viaCepClient.consultarCep(eq(cepLimpo), any())).thenReturn(enderecoValido);
 
         // When
         Endereco resultado = cepService.buscarEnderecoPorCep(cepFormatado);
 
         // Then
         assertNotNull(resultado);
-        verify(viaCepClient, times(1)).consultarCep(cepLimpo);
+        verify(viaCepClient, times(1)).consultarCep(eq(cepLimpo), any());
+    }
+
+    @Test
+    @DisplayName("Deve aceitar CEP com espaços e pontos")
+    void deveAceitarCepComEspacosEPontos() {
+        // Given
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenReturn(enderecoValido);
+
+        // When
+        Endereco resultado = cepService.buscarEnderecoPorCep(" 01.001-000 ");
+
+        // Then
+        assertEquals("01001-000", resultado.getCep());
+        assertSame(resultado, cepService.buscarEnderecoPorCep("01001 000"));
+        verify(viaCepClient, times(1)).consultarCep(eq("01001000"), any());
     }
 
     @Test
@@ -94,7 +164,7 @@ public class CepServiceTest {
         );
 
         assertEquals("CEP deve conter exatamente 8 dígitos", exception.getMessage());
-        verify(viaCepClient, never()).consultarCep(anyString());
+        verify(viaCepClient, never()).consultarCep(anyString(), any());
     }
 
     @Test
@@ -110,7 +180,7 @@ public class CepServiceTest {
         );
 
         assertEquals("CEP deve conter exatamente 8 dígitos", exception.getMessage());
-        verify(viaCepClient, never()).consultarCep(anyString());
+        verify(viaCepClient, never()).consultarCep(anyString(), any());
     }
 
     @Test
@@ -118,7 +188,7 @@ public class CepServiceTest {
     void deveLancarExcecaoQuandoCepNaoEncontrado() {
         // Given
         String cep = "99999999";
-        when(viaCepClient.consultarCep(cep)).thenReturn(enderecoComErro);
+        when(viaCepClient.consultarCep(eq(cep), any())).thenReturn(enderecoComErro);
 
         // When & Then
         RuntimeException exception = assertThrows(
@@ -127,7 +197,163 @@ public class CepServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("CEP não encontrado"));
-        verify(viaCepClient, times(1)).consultarCep(cep);
+        verify(viaCepClient, times(1)).consultarCep(eq(cep), any());
+    }
+
+    @Test
+    @DisplayName("Deve reutilizar o cache em consultas repetidas do mesmo CEP")
+    void deveReutilizarCacheEmConsultasRepetidas() {
+        // Given
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenReturn(enderecoValido);
+
+        // When
+        Endereco primeira = cepService.buscarEnderecoPorCep("01001000");
+        Endereco segunda = cepService.buscarEnderecoPorCep("01001-000");
+
+        // Then
+        assertSame(primeira, segunda);
+        verify(viaCepClient, times(1)).consultarCep(eq("01001000"), any());
+    }
+
+    @Test
+    @DisplayName("Deve manter CEP não encontrado no cache negativo")
+    void deveManterCepNaoEncontradoNoCacheNegativo() {
+        // Given
+        String cep = "99999999";
+        when(viaCepClient.consultarCep(eq(cep), any())).thenReturn(enderecoComErro);
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> cepService.buscarEnderecoPorCep(cep));
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> cepService.buscarEnderecoPorCep(cep)
+        );
+
+        assertTrue(exception.getMessage().contains("CEP não encontrado"));
+        verify(viaCepClient, times(1)).consultarCep(eq(cep), any());
+    }
+
+    @Test
+    @DisplayName("Deve responder pelo armazenamento compacto sem consultar o ViaCEP")
+    void deveResponderPeloArmazenamentoCompacto() {
+        // Given
+        enderecoStore.guardar(1001000, enderecoValido);
+
+        // When
+        Endereco resultado = cepService.buscarEnderecoPorCep("01001-000");
+
+        // Then
+        assertEquals("01001-000", resultado.getCep());
+        assertEquals("Praça da Sé", resultado.getLogradouro());
+        verify(viaCepClient, never()).consultarCep(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve responder apenas pela base local no modo LOCAL")
+    void deveResponderApenasPelaBaseLocal(@TempDir Path diretorio) throws Exception {
+        // Given
+        Path json = diretorio.resolve("ceps.json");
+        Path arquivo = diretorio.resolve("ceps.bin");
+        Files.writeString(json, "[{\"cep\": \"01001-000\", \"logradouro\": \"Praça da Sé\", \"uf\": \"SP\"}]");
+        new CepDatasetImporter(new ObjectMapper()).importar(json, arquivo);
+
+        CepDatasetProperties properties = new CepDatasetProperties();
+        properties.setArquivo(arquivo.toString());
+        properties.setModo(CepDatasetProperties.ModoConsulta.LOCAL);
+        cepService = new CepService(viaCepGateway, new CepCache(new CepCacheProperties()), enderecoStore,
+                enderecoArquivo, new CepDataset(properties), indiceEnderecos, filtroCeps, revalidacoes::add);
+
+        // When
+        Endereco resultado = cepService.buscarEnderecoPorCep("01001000");
+
+        // Then
+        assertEquals("Praça da Sé", resultado.getLogradouro());
+        RuntimeException exception = assertThrows(
+                RuntimeException.class,
+                () -> cepService.buscarEnderecoPorCep("99999999")
+        );
+        assertTrue(exception.getMessage().contains("CEP não encontrado"));
+        verify(viaCepClient, never()).consultarCep(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Deve responder a existência pelo filtro da base local sem consultar o ViaCEP")
+    void deveResponderExistenciaPeloFiltro(@TempDir Path diretorio) throws Exception {
+        // Given
+        Path json = diretorio.resolve("ceps.json");
+        Path arquivo = diretorio.resolve("ceps.bin");
+        Files.writeString(json, "[{\"cep\": \"01001-000\", \"logradouro\": \"Praça da Sé\", \"uf\": \"SP\"}]");
+        new CepDatasetImporter(new ObjectMapper()).importar(json, arquivo);
+        CepDatasetProperties properties = new CepDatasetProperties();
+        properties.setArquivo(arquivo.toString());
+        properties.setModo(CepDatasetProperties.ModoConsulta.LOCAL);
+        CepDataset dataset = new CepDataset(properties);
+        filtroCeps = new FiltroCeps(new FiltroCepsProperties(), dataset);
+        cepService = new CepService(viaCepGateway, new CepCache(new CepCacheProperties()), enderecoStore,
+                enderecoArquivo, dataset, indiceEnderecos, filtroCeps, revalidacoes::add);
+
+        // When
+        CompletableFuture<Boolean> existe = cepService.existeAsync("01001-000", viaCepGateway.novoPrazo());
+        CompletableFuture<Boolean> inexistente = cepService.existeAsync("99999999", viaCepGateway.novoPrazo());
+
+        // Then
+        assertTrue(existe.join());
+        assertFalse(inexistente.join());
+        assertSame(inexistente, cepService.existeAsync("88888888", viaCepGateway.novoPrazo()));
+        assertThrows(RuntimeException.class, () -> cepService.buscarEnderecoPorCep("99999999"));
+        verifyNoInteractions(viaCepClient, viaCepAsyncClient);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o ViaCEP para saber se o CEP existe quando não há base local")
+    void deveConsultarExistenciaNoViaCep() {
+        // Given
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenReturn(enderecoValido);
+        when(viaCepClient.consultarCep(eq("99999999"), any())).thenReturn(enderecoComErro);
+
+        // When
+        boolean existe = cepService.existeAsync("01001000", viaCepGateway.novoPrazo()).join();
+        boolean inexistente = cepService.existeAsync("99999999", viaCepGateway.novoPrazo()).join();
+        CompletableFuture<Boolean> invalido = cepService.existeAsync("123", viaCepGateway.novoPrazo());
+
+        // Then
+        assertTrue(existe);
+        assertFalse(inexistente);
+        CompletionException exception = assertThrows(CompletionException.class, invalido::join);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Deve buscar endereços pelo índice local nas cidades da base local, sem consultar o ViaCEP")
+    void deveBuscarEnderecosPeloIndiceLocal(@TempDir Path diretorio) throws Exception {
+        // Given
+        Path json = diretorio.resolve("ceps.json");
+        Path arquivo = diretorio.resolve("ceps.bin");
+        Files.writeString(json, """
+                [
+                  {"cep": "01001-000", "logradouro": "Praça da Sé", "localidade": "São Paulo", "uf": "SP"},
+                  {"cep": "01310-100", "logradouro": "Avenida Paulista", "localidade": "São Paulo", "uf": "SP"}
+                ]
+                """);
+        new CepDatasetImporter(new ObjectMapper()).importar(json, arquivo);
+        CepDatasetProperties properties = new CepDatasetProperties();
+        properties.setArquivo(arquivo.toString());
+        CepDataset dataset = new CepDataset(properties);
+        indiceEnderecos = new IndiceEnderecos(new IndiceEnderecosProperties(), dataset);
+        indiceEnderecos.carregarBaseLocal();
+        cepService = new CepService(viaCepGateway, new CepCache(new CepCacheProperties()), enderecoStore,
+                enderecoArquivo, dataset, indiceEnderecos, filtroCeps, revalidacoes::add);
+
+        // When
+        List<Endereco> resultado = cepService.buscarPorEndereco("sp", "sao paulo", "paulista");
+
+        // Then
+        assertEquals(1, resultado.size());
+        assertEquals("01310-100", resultado.get(0).getCep());
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> cepService.buscarPorEndereco("SP", "São Paulo", "Rua Inexistente"));
+        assertEquals("Nenhum endereço encontrado", exception.getMessage());
+        verifyNoInteractions(viaCepClient);
     }
 
     @Test
@@ -138,7 +364,7 @@ public class CepServiceTest {
         String cidade = "São Paulo";
         String logradouro = "Paulista";
         List<Endereco> enderecos = Arrays.asList(enderecoValido);
-        when(viaCepClient.consultarPorEndereco(uf, cidade, logradouro)).thenReturn(enderecos);
+        when(viaCepClient.consultarPorEndereco(eq(uf), eq(cidade), eq(logradouro), any())).thenReturn(enderecos);
 
         // When
         List<Endereco> resultado = cepService.buscarPorEndereco(uf, cidade, logradouro);
@@ -147,7 +373,7 @@ public class CepServiceTest {
         assertNotNull(resultado);
         assertFalse(resultado.isEmpty());
         assertEquals(1, resultado.size());
-        verify(viaCepClient, times(1)).consultarPorEndereco(uf, cidade, logradouro);
+        verify(viaCepClient, times(1)).consultarPorEndereco(eq(uf), eq(cidade), eq(logradouro), any());
     }
 
     @Test
@@ -165,7 +391,7 @@ public class CepServiceTest {
         );
 
         assertEquals("UF deve ter 2 caracteres", exception.getMessage());
-        verify(viaCepClient, never()).consultarPorEndereco(anyString(), anyString(), anyString());
+        verify(viaCepClient, never()).consultarPorEndereco(anyString(), anyString(), anyString(), any());
     }
 
     @Test
@@ -183,7 +409,7 @@ public class CepServiceTest {
         );
 
         assertEquals("Cidade e logradouro são obrigatórios", exception.getMessage());
-        verify(viaCepClient, never()).consultarPorEndereco(anyString(), anyString(), anyString());
+        verify(viaCepClient, never()).consultarPorEndereco(anyString(), anyString(), anyString(), any());
     }
 
     @Test
@@ -201,7 +427,7 @@ public class CepServiceTest {
         );
 
         assertEquals("Cidade e logradouro são obrigatórios", exception.getMessage());
-        verify(viaCepClient, never()).consultarPorEndereco(anyString(), anyString(), anyString());
+        verify(viaCepClient, never()).consultarPorEndereco(anyString(), anyString(), anyString(), any());
     }
 
     @Test
@@ -219,7 +445,7 @@ public class CepServiceTest {
         );
 
         assertEquals("Cidade e logradouro são obrigatórios", exception.getMessage());
-        verify(viaCepClient, never()).consultarPorEndereco(anyString(), anyString(), anyString());
+        verify(viaCepClient, never()).consultarPorEndereco(anyString(), anyString(), anyString(), any());
     }
 
     @Test
@@ -229,7 +455,7 @@ public class CepServiceTest {
         String uf = "SP";
         String cidade = "Cidade Inexistente";
         String logradouro = "Rua Inexistente";
-        when(viaCepClient.consultarPorEndereco(uf, cidade, logradouro)).thenReturn(Collections.emptyList());
+        when(viaCepClient.consultarPorEndereco(eq(uf), eq(cidade), eq(logradouro), any())).thenReturn(Collections.emptyList());
 
         // When & Then
         RuntimeException exception = assertThrows(
@@ -238,7 +464,7 @@ public class CepServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("Nenhum endereço encontrado"));
-        verify(viaCepClient, times(1)).consultarPorEndereco(uf, cidade, logradouro);
+        verify(viaCepClient, times(1)).consultarPorEndereco(eq(uf), eq(cidade), eq(logradouro), any());
     }
 
     @Test
@@ -248,7 +474,7 @@ public class CepServiceTest {
         String uf = "SP";
         String cidade = "São Paulo";
         String logradouro = "Paulista";
-        when(viaCepClient.consultarPorEndereco(uf, cidade, logradouro)).thenReturn(null);
+        when(viaCepClient.consultarPorEndereco(eq(uf), eq(cidade), eq(logradouro), any())).thenReturn(null);
 
         // When & Then
         RuntimeException exception = assertThrows(
@@ -257,6 +483,131 @@ public class CepServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("Nenhum endereço encontrado"));
-        verify(viaCepClient, times(1)).consultarPorEndereco(uf, cidade, logradouro);
+        verify(viaCepClient, times(1)).consultarPorEndereco(eq(uf), eq(cidade), eq(logradouro), any());
+    }
+
+    @Test
+    @DisplayName("Deve compartilhar a consulta assíncrona ao ViaCEP entre chamadas concorrentes")
+    void deveCompartilharConsultaAssincrona() {
+        // Given
+        ViaCepAsyncProperties properties = new ViaCepAsyncProperties();
+        properties.setHabilitado(true);
+        cepService = new CepService(
+                new ViaCepGateway(viaCepClient, viaCepAsyncClient, properties, new ViaCepPrazoProperties(),
+                        new ViaCepResilienciaProperties(), new ViaCepLimiteProperties(),
+                        new ViaCepRetentativaProperties(), new SimpleMeterRegistry()),
+                new CepCache(new CepCacheProperties()), enderecoStore, enderecoArquivo,
+                new CepDataset(new CepDatasetProperties()), indiceEnderecos, filtroCeps, revalidacoes::add);
+        CompletableFuture<Endereco> resposta = new CompletableFuture<>();
+        when(viaCepAsyncClient.consultarCep(eq("01001000"), any())).thenReturn(resposta);
+
+        // When
+        CompletableFuture<Endereco> primeira = cepService.buscarEnderecoPorCepAsync("01001000");
+        CompletableFuture<Endereco> segunda = cepService.buscarEnderecoPorCepAsync("01001-000");
+        assertFalse(primeira.isDone());
+        resposta.complete(enderecoValido);
+
+        // Then
+        assertSame(enderecoValido, primeira.join());
+        assertSame(enderecoValido, segunda.join());
+        assertSame(enderecoValido, cepService.buscarEnderecoPorCep("01001000"));
+        verify(viaCepAsyncClient, times(1)).consultarCep(eq("01001000"), any());
+        verifyNoInteractions(viaCepClient);
+    }
+
+    @Test
+    @DisplayName("Deve devolver erros da consulta assíncrona no próprio future")
+    void deveDevolverErrosNoFuture() {
+        // When
+        CompletableFuture<Endereco> invalido = cepService.buscarEnderecoPorCepAsync("123");
+        CompletableFuture<List<Endereco>> ufInvalida = cepService.buscarPorEnderecoAsync("S", "São Paulo", "Paulista");
+
+        // Then
+        CompletionException exception = assertThrows(CompletionException.class, invalido::join);
+        assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        assertEquals("CEP deve conter exatamente 8 dígitos", exception.getCause().getMessage());
+        assertTrue(ufInvalida.isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("Deve servir endereço obsoleto na hora e revalidar em segundo plano")
+    void deveServirObsoletoERevalidar() {
+        // Given
+        CepCacheProperties cacheProperties = new CepCacheProperties();
+        cacheProperties.setTtl(Duration.ofNanos(1));
+        EnderecoStoreProperties storeProperties = new EnderecoStoreProperties();
+        storeProperties.setHabilitado(false);
+        cepService = new CepService(viaCepGateway, new CepCache(cacheProperties),
+                new EnderecoStore(storeProperties), enderecoArquivo, new CepDataset(new CepDatasetProperties()),
+                indiceEnderecos, filtroCeps, revalidacoes::add);
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenReturn(enderecoValido);
+        cepService.buscarEnderecoPorCep("01001000");
+
+        // When
+        Endereco primeira = cepService.buscarEnderecoPorCep("01001000");
+        Endereco segunda = cepService.buscarEnderecoPorCep("01001000");
+
+        // Then
+        assertInstanceOf(EnderecoObsoleto.class, primeira);
+        assertEquals("Praça da Sé", primeira.getLogradouro());
+        assertInstanceOf(EnderecoObsoleto.class, segunda);
+        assertEquals(1, revalidacoes.size());
+        verify(viaCepClient, times(1)).consultarCep(eq("01001000"), any());
+
+        revalidacoes.get(0).run();
+        verify(viaCepClient, times(2)).consultarCep(eq("01001000"), any());
+    }
+
+    @Test
+    @DisplayName("Deve servir como obsoleto e revalidar o endereço que expirou do cache mas segue no armazenamento")
+    void deveRevalidarEnderecoExpiradoDoCacheQueSegueNoArmazenamento() {
+        // Given
+        enderecoStore.guardar(1001000, enderecoValido, Duration.ofDays(2));
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenReturn(enderecoValido);
+
+        // When
+        Endereco primeira = cepService.buscarEnderecoPorCep("01001000");
+        Endereco segunda = cepService.buscarEnderecoPorCep("01001-000");
+
+        // Then
+        assertInstanceOf(EnderecoObsoleto.class, primeira);
+        assertEquals("Praça da Sé", primeira.getLogradouro());
+        assertTrue(((EnderecoObsoleto) primeira).getIdade().compareTo(Duration.ofDays(2)) >= 0);
+        assertInstanceOf(EnderecoObsoleto.class, segunda);
+        assertEquals(1, revalidacoes.size());
+        verifyNoInteractions(viaCepClient);
+
+        revalidacoes.get(0).run();
+        verify(viaCepClient, times(1)).consultarCep(eq("01001000"), any());
+        assertFalse(cepService.buscarEnderecoPorCep("01001000") instanceof EnderecoObsoleto);
+    }
+
+    @Test
+    @DisplayName("Deve responder pelo cache em disco depois de um reinício sem consultar o ViaCEP")
+    void deveResponderPeloCacheEmDiscoAposReinicio(@TempDir Path diretorio) throws Exception {
+        // Given
+        EnderecoArquivoProperties arquivoProperties = new EnderecoArquivoProperties();
+        arquivoProperties.setHabilitado(true);
+        arquivoProperties.setCaminho(diretorio.resolve("enderecos.log").toString());
+        when(viaCepClient.consultarCep(eq("01001000"), any())).thenReturn(enderecoValido);
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(arquivoProperties)) {
+            new CepService(viaCepGateway, new CepCache(new CepCacheProperties()), enderecoStore, arquivo,
+                    new CepDataset(new CepDatasetProperties()), indiceEnderecos, filtroCeps, revalidacoes::add)
+                    .buscarEnderecoPorCep("01001000");
+        }
+
+        // When
+        Endereco resultado;
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(arquivoProperties)) {
+            EnderecoStore storeVazio = new EnderecoStore(new EnderecoStoreProperties());
+            resultado = new CepService(viaCepGateway, new CepCache(new CepCacheProperties()), storeVazio, arquivo,
+                    new CepDataset(new CepDatasetProperties()), indiceEnderecos, filtroCeps, revalidacoes::add)
+                    .buscarEnderecoPorCep("01001-000");
+        }
+
+        // Then
+        assertEquals("01001-000", resultado.getCep());
+        assertEquals("Praça da Sé", resultado.getLogradouro());
+        verify(viaCepClient, times(1)).consultarCep(eq("01001000"), any());
     }
 }
@@ -0,0 +1,74 @@
+package com.mrsalustiano.spring.camel.service;
+
+import com.mrsalustiano.spring.camel.model.Endereco;
+import com.mrsalustiano.spring.camel.model.ResultadoConsultaCep;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CepValidacaoService - Testes Unitários")
+public class CepValidacaoServiceTest {
+
+    @Mock
+    private CepService cepService;
+
+    private CepValidacaoService cepValidacaoService;
+    private Endereco enderecoValido;
+
+    @BeforeEach
+    void setUp() {
+        cepValidacaoService = new CepValidacaoService(cepService);
+
+        enderecoValido = new Endereco();
+        enderecoValido.setCep("01001-000");
+        enderecoValido.setLogradouro("Praça da Sé");
+    }
+
+    @Test
+    @DisplayName("Deve extrair o CEP de linhas NDJSON e CSV")
+    void deveExtrairCepDeLinhasNdjsonECsv() {
+        assertEquals("01001-000", CepValidacaoService.extrairCep("{\"cep\": \"01001-000\", \"id\": 1}"));
+        assertEquals("01001000", CepValidacaoService.extrairCep("\"01001000\""));
+        assertEquals("01001000", CepValidacaoService.extrairCep("01001000;Praça da Sé;SP\r"));
+        assertEquals("01001-000", CepValidacaoService.extrairCep("\"01001-000\",\"Sé\""));
+        assertEquals("", CepValidacaoService.extrairCep("{\"logradouro\": \"Sé\"}"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar linhas em branco e cabeçalho")
+    void deveIgnorarLinhasEmBrancoECabecalho() {
+        assertNull(cepValidacaoService.validarLinha("   "));
+        assertNull(cepValidacaoService.validarLinha("\uFEFFcep;logradouro"));
+        assertNull(cepValidacaoService.validarLinha("\"CEP\",\"logradouro\""));
+        verifyNoInteractions(cepService);
+    }
+
+    @Test
+    @DisplayName("Deve validar a linha e mapear erros para o status HTTP")
+    void deveValidarLinhaEMapearErros() {
+        // Given
+        when(cepService.buscarEnderecoPorCep("01001000")).thenReturn(enderecoValido);
+        when(cepService.buscarEnderecoPorCep("99999999"))
+                .thenThrow(new RuntimeException("CEP não encontrado: 99999999"));
+
+        // When
+        ResultadoConsultaCep encontrado = cepValidacaoService.validarLinha("{\"cep\": \"01001-000\"}");
+        ResultadoConsultaCep invalido = cepValidacaoService.validarLinha("123;Rua");
+        ResultadoConsultaCep naoEncontrado = cepValidacaoService.validarLinha("99999999");
+
+        // Then
+        assertEquals(200, encontrado.getStatus());
+        assertEquals("01001000", encontrado.getCep());
+        assertSame(enderecoValido, encontrado.getEndereco());
+        assertEquals(400, invalido.getStatus());
+        assertEquals("123", invalido.getCep());
+        assertEquals(404, naoEncontrado.getStatus());
+    }
+}
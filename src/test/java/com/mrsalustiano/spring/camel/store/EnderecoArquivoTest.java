@@ -0,0 +1,285 @@
+package com.mrsalustiano.spring.camel.store;
+
+import com.mrsalustiano.spring.camel.config.EnderecoArquivoProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EnderecoArquivo - Testes Unitários")
+public class EnderecoArquivoTest {
+
+    @TempDir
+    private Path diretorio;
+
+    private Path caminho;
+    private EnderecoArquivoProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        caminho = diretorio.resolve("cache").resolve("enderecos.log");
+        properties = new EnderecoArquivoProperties();
+        properties.setHabilitado(true);
+        properties.setCaminho(caminho.toString());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar endereços gravados antes de reabrir o arquivo")
+    void deveRecuperarEnderecosAposReabrir() throws IOException {
+        // Given
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            arquivo.guardar(1001000, enderecoSe());
+            arquivo.guardar(20040002, new Endereco("20040-002", null, null, null, "Rio de Janeiro",
+                    "RJ", null, null, "21", null, null));
+        }
+
+        // When
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            Endereco resultado = arquivo.buscar(1001000);
+
+            // Then
+            assertEquals(2, arquivo.tamanho());
+            assertEquals("01001-000", resultado.getCep());
+            assertEquals("Praça da Sé", resultado.getLogradouro());
+            assertEquals("lado ímpar", resultado.getComplemento());
+            assertEquals("Sé", resultado.getBairro());
+            assertEquals("São Paulo", resultado.getLocalidade());
+            assertEquals("SP", resultado.getUf());
+            assertEquals("3550308", resultado.getIbge());
+            assertEquals("1004", resultado.getGia());
+            assertEquals("11", resultado.getDdd());
+            assertEquals("7107", resultado.getSiafi());
+            assertNull(resultado.getErro());
+            assertNull(arquivo.buscar(20040002).getLogradouro());
+            assertNull(arquivo.buscar(1001001));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar respostas de CEP inexistente")
+    void deveIgnorarRespostasNegativas() throws IOException {
+        // Given
+        Endereco inexistente = new Endereco();
+        inexistente.setErro(true);
+
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            // When
+            arquivo.guardar(99999999, inexistente);
+            arquivo.guardar(1001000, null);
+
+            // Then
+            assertEquals(0, arquivo.tamanho());
+            assertNull(arquivo.buscar(99999999));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve ignorar registros expirados, inclusive ao reabrir")
+    void deveIgnorarRegistrosExpirados() throws IOException {
+        // Given
+        properties.setTtl(Duration.ofDays(1));
+        Instant agora = Instant.parse("2024-01-01T00:00:00Z");
+        MutableClock clock = new MutableClock(agora);
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties, clock)) {
+            arquivo.guardar(1001000, enderecoSe());
+
+            // When
+            clock.instante = agora.plus(Duration.ofDays(2));
+
+            // Then
+            assertNull(arquivo.buscar(1001000));
+        }
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties, clock)) {
+            assertEquals(0, arquivo.tamanho());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve descartar registro incompleto no fim do arquivo e manter os anteriores")
+    void deveDescartarRegistroIncompleto() throws IOException {
+        // Given
+        long tamanhoValido;
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            arquivo.guardar(1001000, enderecoSe());
+            tamanhoValido = arquivo.bytesUtilizados();
+            arquivo.guardar(1001001, enderecoSe());
+        }
+        // Queda no meio da gravação do segundo registro
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.WRITE)) {
+            canal.truncate(Files.size(caminho) - 5);
+        }
+
+        // When
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            // Then
+            assertEquals(1, arquivo.tamanho());
+            assertEquals(tamanhoValido, arquivo.bytesUtilizados());
+            assertEquals(tamanhoValido, Files.size(caminho));
+            assertNotNull(arquivo.buscar(1001000));
+            assertNull(arquivo.buscar(1001001));
+
+            arquivo.guardar(1001001, enderecoSe());
+            assertNotNull(arquivo.buscar(1001001));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve recomeçar vazio quando o arquivo não é um cache de endereços")
+    void deveRecomecarComArquivoDesconhecido() throws IOException {
+        // Given
+        Files.createDirectories(caminho.getParent());
+        Files.writeString(caminho, "não é um cache");
+
+        // When
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            arquivo.guardar(1001000, enderecoSe());
+
+            // Then
+            assertEquals(1, arquivo.tamanho());
+            assertNotNull(arquivo.buscar(1001000));
+        }
+    }
+
+    @Test
+    @DisplayName("Deve compactar mantendo apenas a versão mais recente de cada CEP")
+    void deveCompactarMantendoVersaoMaisRecente() throws IOException {
+        // Given
+        properties.setTamanhoMinimoCompactacao(DataSize.ofKilobytes(1));
+        properties.setPercentualObsoleto(50);
+
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            // When
+            for (int i = 0; i < 100; i++) {
+                Endereco endereco = enderecoSe();
+                endereco.setLogradouro("Praça da Sé " + i);
+                arquivo.guardar(1001000 + (i % 5), endereco);
+            }
+
+            // Then
+            assertEquals(5, arquivo.tamanho());
+            assertTrue(arquivo.bytesUtilizados() < DataSize.ofKilobytes(2).toBytes());
+            assertEquals(arquivo.bytesUtilizados(), Files.size(caminho));
+            assertEquals("Praça da Sé 99", arquivo.buscar(1001004).getLogradouro());
+            assertEquals("Praça da Sé 95", arquivo.buscar(1001000).getLogradouro());
+        }
+        assertFalse(Files.exists(caminho.resolveSibling("enderecos.log.compactando")));
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            assertEquals(5, arquivo.tamanho());
+            assertEquals("Praça da Sé 99", arquivo.buscar(1001004).getLogradouro());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve manter o arquivo e o índice originais quando a troca da compactação falha")
+    void deveManterOriginalQuandoCompactacaoFalha() throws IOException {
+        // Given
+        properties.setTamanhoMinimoCompactacao(DataSize.ofKilobytes(1));
+        properties.setPercentualObsoleto(50);
+
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties, Clock.systemUTC()) {
+            @Override
+            void substituir(Path compactado, Path atual) throws IOException {
+                throw new IOException("Falha simulada na troca");
+            }
+        }) {
+            // When
+            for (int i = 0; i < 100; i++) {
+                Endereco endereco = enderecoSe();
+                endereco.setLogradouro("Praça da Sé " + i);
+                arquivo.guardar(1001000 + (i % 5), endereco);
+            }
+
+            // Then
+            assertEquals(5, arquivo.tamanho());
+            assertEquals(arquivo.bytesUtilizados(), Files.size(caminho));
+            assertEquals("Praça da Sé 99", arquivo.buscar(1001004).getLogradouro());
+            assertEquals("Praça da Sé 95", arquivo.buscar(1001000).getLogradouro());
+            assertFalse(Files.exists(caminho.resolveSibling("enderecos.log.compactando")));
+        }
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            assertEquals(5, arquivo.tamanho());
+            assertEquals("Praça da Sé 99", arquivo.buscar(1001004).getLogradouro());
+        }
+    }
+
+    @Test
+    @DisplayName("Deve parar de gravar ao atingir o tamanho máximo")
+    void deveRespeitarTamanhoMaximo() throws IOException {
+        // Given
+        properties.setTamanhoMaximo(DataSize.ofBytes(300));
+
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            // When
+            for (int cep = 1001000; cep < 1001010; cep++) {
+                arquivo.guardar(cep, enderecoSe());
+            }
+
+            // Then
+            assertTrue(arquivo.tamanho() > 0);
+            assertTrue(arquivo.tamanho() < 10);
+            assertTrue(arquivo.bytesUtilizados() <= 300);
+            assertNotNull(arquivo.buscar(1001000));
+        }
+    }
+
+    @Test
+    @DisplayName("Não deve criar o arquivo quando desabilitado")
+    void naoDeveCriarArquivoQuandoDesabilitado() throws IOException {
+        // Given
+        properties.setHabilitado(false);
+
+        try (EnderecoArquivo arquivo = new EnderecoArquivo(properties)) {
+            // When
+            arquivo.guardar(1001000, enderecoSe());
+
+            // Then
+            assertNull(arquivo.buscar(1001000));
+            assertEquals(0, arquivo.tamanho());
+        }
+        assertFalse(Files.exists(caminho));
+    }
+
+    private static Endereco enderecoSe() {
+        return new Endereco("01001-000", "Praça da Sé", "lado ímpar", "Sé", "São Paulo",
+                "SP", "3550308", "1004", "11", "7107", null);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instante;
+
+        MutableClock(Instant instante) {
+            this.instante = instante;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}
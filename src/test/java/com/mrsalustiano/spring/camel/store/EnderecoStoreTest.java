@@ -0,0 +1,266 @@
+package com.mrsalustiano.spring.camel.store;
+
+import com.mrsalustiano.spring.camel.config.EnderecoStoreProperties;
+import com.mrsalustiano.spring.camel.model.Endereco;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EnderecoStore - Testes Unitários")
+public class EnderecoStoreTest {
+
+    private EnderecoStoreProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EnderecoStoreProperties();
+        properties.setCapacidadeInicial(DataSize.ofKilobytes(1));
+        properties.setCapacidadeMaxima(DataSize.ofMegabytes(8));
+    }
+
+    @Test
+    @DisplayName("Deve guardar e recuperar todos os campos do endereço")
+    void deveGuardarERecuperarTodosOsCampos() {
+        // Given
+        EnderecoStore store = new EnderecoStore(properties);
+
+        // When
+        store.guardar(1001000, enderecoSe());
+        Endereco resultado = store.buscar(1001000);
+
+        // Then
+        assertNotNull(resultado);
+        assertEquals("01001-000", resultado.getCep());
+        assertEquals("Praça da Sé", resultado.getLogradouro());
+        assertEquals("lado ímpar", resultado.getComplemento());
+        assertEquals("Sé", resultado.getBairro());
+        assertEquals("São Paulo", resultado.getLocalidade());
+        assertEquals("SP", resultado.getUf());
+        assertEquals("3550308", resultado.getIbge());
+        assertEquals("1004", resultado.getGia());
+        assertEquals("11", resultado.getDdd());
+        assertEquals("7107", resultado.getSiafi());
+        assertNull(resultado.getErro());
+    }
+
+    @Test
+    @DisplayName("Deve preservar campos nulos")
+    void devePreservarCamposNulos() {
+        // Given
+        EnderecoStore store = new EnderecoStore(properties);
+        Endereco endereco = new Endereco();
+        endereco.setUf("SP");
+
+        // When
+        store.guardar(1001000, endereco);
+        Endereco resultado = store.buscar(1001000);
+
+        // Then
+        assertEquals("SP", resultado.getUf());
+        assertNull(resultado.getLogradouro());
+        assertNull(resultado.getLocalidade());
+        assertNull(resultado.getGia());
+    }
+
+    @Test
+    @DisplayName("Não deve guardar respostas com erro")
+    void naoDeveGuardarRespostasComErro() {
+        // Given
+        EnderecoStore store = new EnderecoStore(properties);
+        Endereco erro = new Endereco();
+        erro.setErro(true);
+
+        // When
+        store.guardar(99999999, erro);
+
+        // Then
+        assertNull(store.buscar(99999999));
+        assertFalse(store.contem(99999999));
+    }
+
+    @Test
+    @DisplayName("Deve crescer o índice e a arena com muitos registros")
+    void deveCrescerComMuitosRegistros() {
+        // Given
+        EnderecoStore store = new EnderecoStore(properties);
+
+        // When
+        for (int cep = 1_000_000; cep < 1_010_000; cep++) {
+            store.guardar(cep, enderecoSe());
+        }
+
+        // Then
+        assertEquals(10_000, store.tamanho());
+        assertEquals(10_000, store.ceps().length);
+        assertEquals("01005-000", store.buscar(1_005_000).getCep());
+        assertNull(store.buscar(2_000_000));
+    }
+
+    @Test
+    @DisplayName("Deve substituir o registro ao regravar o mesmo CEP")
+    void deveSubstituirRegistroAoRegravar() {
+        // Given
+        EnderecoStore store = new EnderecoStore(properties);
+        store.guardar(1001000, enderecoSe());
+        Endereco atualizado = enderecoSe();
+        atualizado.setLogradouro("Praça da Sé (atualizado)");
+
+        // When
+        store.guardar(1001000, atualizado);
+
+        // Then
+        assertEquals(1, store.tamanho());
+        assertEquals("Praça da Sé (atualizado)", store.buscar(1001000).getLogradouro());
+    }
+
+    @Test
+    @DisplayName("Deve reaproveitar espaço obsoleto ao atingir a capacidade máxima")
+    void deveReaproveitarEspacoObsoleto() {
+        // Given
+        properties.setCapacidadeMaxima(DataSize.ofKilobytes(4));
+        EnderecoStore store = new EnderecoStore(properties);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            store.guardar(1001000 + (i % 5), enderecoSe());
+        }
+
+        // Then
+        assertEquals(5, store.tamanho());
+        assertTrue(store.bytesUtilizados() <= 4 * 1024);
+        assertNotNull(store.buscar(1001004));
+    }
+
+    @Test
+    @DisplayName("Não deve reorganizar a arena cheia quando não há espaço a recuperar")
+    void naoDeveCompactarArenaCheiaSemEspacoRecuperavel() {
+        // Given
+        properties.setCapacidadeMaxima(DataSize.ofKilobytes(4));
+        EnderecoStore store = new EnderecoStore(properties);
+        encher(store);
+        int guardados = store.tamanho();
+
+        // When
+        for (int i = 0; i < 100; i++) {
+            store.guardar(2001000 + i, enderecoSe());
+        }
+
+        // Then
+        assertEquals(guardados, store.tamanho());
+        assertNull(store.buscar(2001000));
+        assertEquals(0, store.compactacoes());
+    }
+
+    @Test
+    @DisplayName("Deve recuperar o espaço de registros expirados com a arena cheia")
+    void deveRecuperarEspacoDeRegistrosExpirados() {
+        // Given
+        properties.setCapacidadeMaxima(DataSize.ofKilobytes(4));
+        properties.setTtl(Duration.ofDays(1));
+        Instant agora = Instant.parse("2024-01-01T00:00:00Z");
+        MutableClock clock = new MutableClock(agora);
+        EnderecoStore store = new EnderecoStore(properties, clock);
+        encher(store);
+
+        // When
+        clock.instante = agora.plus(Duration.ofDays(2));
+        store.guardar(2001000, enderecoSe());
+
+        // Then
+        assertEquals(1, store.compactacoes());
+        assertEquals(1, store.tamanho());
+        assertNotNull(store.buscar(2001000));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar registros expirados")
+    void deveIgnorarRegistrosExpirados() {
+        // Given
+        properties.setTtl(Duration.ofDays(1));
+        Instant agora = Instant.parse("2024-01-01T00:00:00Z");
+        MutableClock clock = new MutableClock(agora);
+        EnderecoStore store = new EnderecoStore(properties, clock);
+        store.guardar(1001000, enderecoSe());
+
+        // When
+        clock.instante = agora.plus(Duration.ofDays(2));
+
+        // Then
+        assertNull(store.buscar(1001000));
+        assertFalse(store.contem(1001000));
+    }
+
+    @Test
+    @DisplayName("Deve converter CEP entre texto e número")
+    void deveConverterCepEntreTextoENumero() {
+        assertEquals(1001000, CepNumerico.codificar("01001000"));
+        assertEquals("01001000", CepNumerico.formatar(1001000));
+        assertEquals("01001-000", CepNumerico.formatarComHifen(1001000));
+        assertEquals("99999-999", CepNumerico.formatarComHifen(CepNumerico.MAXIMO));
+    }
+
+    @Test
+    @DisplayName("Deve interpretar CEP com ou sem separadores e rejeitar quantidade errada de dígitos")
+    void deveInterpretarCep() {
+        assertEquals(1001000, CepNumerico.interpretar("01001000"));
+        assertEquals(1001000, CepNumerico.interpretar("01001-000"));
+        assertEquals(1001000, CepNumerico.interpretar(" 01.001-000\t"));
+        assertEquals(CepNumerico.MAXIMO, CepNumerico.interpretar("99999-999"));
+        assertEquals(0, CepNumerico.interpretar("00000-000"));
+
+        assertEquals(CepNumerico.INVALIDO, CepNumerico.interpretar(null));
+        assertEquals(CepNumerico.INVALIDO, CepNumerico.interpretar(""));
+        assertEquals(CepNumerico.INVALIDO, CepNumerico.interpretar("0100-100"));
+        assertEquals(CepNumerico.INVALIDO, CepNumerico.interpretar("010010000"));
+        // Dígitos não ASCII são descartados, como no \D da expressão regular
+        assertEquals(CepNumerico.INVALIDO, CepNumerico.interpretar("0100100\u0661"));
+    }
+
+    // Guarda CEPs novos até a arena recusar o próximo
+    private static void encher(EnderecoStore store) {
+        int cep = 1001000;
+        int antes;
+        do {
+            antes = store.tamanho();
+            store.guardar(cep++, enderecoSe());
+        } while (store.tamanho() > antes);
+    }
+
+    private static Endereco enderecoSe() {
+        return new Endereco("01001-000", "Praça da Sé", "lado ímpar", "Sé", "São Paulo",
+                "SP", "3550308", "1004", "11", "7107", null);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instante;
+
+        MutableClock(Instant instante) {
+            this.instante = instante;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instante;
+        }
+    }
+}